@@ -0,0 +1,105 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.hhplus.tdd.point.PointHistoryIndex;
+import io.hhplus.tdd.point.PointHistoryProperties;
+import io.hhplus.tdd.point.PointHistoryWriter;
+import io.hhplus.tdd.point.PointIdempotencyCache;
+import io.hhplus.tdd.point.PointIdempotencyProperties;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointReadCollapser;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserLockManager;
+import io.hhplus.tdd.point.UserPointCache;
+import io.hhplus.tdd.point.UserPointCacheProperties;
+import io.hhplus.tdd.point.UserPointCombiner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테이블 호출이 블로킹될 때 실행 모드별 동시 처리 시간
+ * - 서로 다른 유저 requestCount 명의 잔액 조회(캐시 미스 > 테이블 조회)를 한 번에 요청하고 모두 끝날 때까지 측정합니다.
+ * - mode=platform : Tomcat 기본 최대 스레드 수(200) 만큼만 동시에 처리
+ * - mode=virtual : 요청마다 가상 스레드를 사용, Java 21 이상에서 실행할 때 -p mode=platform,virtual 로 지정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform"})
+    private String mode;
+
+    @Param({"2000"})
+    private int requestCount;
+
+    @Param({"50"})
+    private long tableLatencyMillis;
+
+    private PointService pointService;
+    private ExecutorService executor;
+
+    // 매 측정마다 캐시가 빈 상태에서 시작
+    @Setup(Level.Iteration)
+    public void setUp() {
+        FakeUserPointTable userPointTable = new FakeUserPointTable(tableLatencyMillis);
+        UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(requestCount, Duration.ofMinutes(1)));
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(new FakePointHistoryTable(), new PointHistoryIndex(), new PointHistoryProperties(100, 16, Duration.ofSeconds(1)), pointMetrics);
+        PointReadCollapser pointReadCollapser = new PointReadCollapser();
+        UserPointCombiner userPointCombiner = new UserPointCombiner(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, new PointWal(PointWalProperties.disabled()), pointReadCollapser, pointMetrics);
+        pointService = new PointService(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, userPointCombiner, new PointIdempotencyCache(new PointIdempotencyProperties(10000, Duration.ofMinutes(10))), pointReadCollapser, pointMetrics);
+        executor = "virtual".equals(mode)
+                ? VirtualThreads.newExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int selectAll() throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= requestCount; userId++) {
+            final long id = userId;
+            futures.add(executor.submit(() -> pointService.selectPoint(id)));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        return futures.size();
+    }
+}
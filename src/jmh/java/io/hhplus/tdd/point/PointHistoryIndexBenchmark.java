@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 내역 순회(PointHistoryTable) 와 유저별 인덱스(PointHistoryIndex) 조회 비교
+ * - rowCount : 전체 내역 건수, userCount 명에게 고르게 나눠 넣습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointHistoryIndexBenchmark {
+
+    @Param({"1000000"})
+    private int rowCount;
+
+    @Param({"1000"})
+    private int userCount;
+
+    private FakePointHistoryTable pointHistoryTable;
+    private PointHistoryIndex pointHistoryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pointHistoryTable = new FakePointHistoryTable();
+        pointHistoryIndex = new PointHistoryIndex();
+        Random random = new Random(7);
+        for (int i = 0; i < rowCount; i++) {
+            TransactionType type = random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE;
+            pointHistoryIndex.append(pointHistoryTable.insert(random.nextInt(userCount) + 1, 1000L, type, i));
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> tableScan() {
+        return pointHistoryTable.selectAllByUserId(randomUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> index() {
+        return pointHistoryIndex.selectAllByUserId(randomUserId());
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextInt(userCount) + 1;
+    }
+}
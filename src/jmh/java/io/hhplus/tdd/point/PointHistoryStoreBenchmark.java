@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내역 적재 시 힙 사용량과 GC 비교 (./gradlew jmh 에 -prof gc 를 붙여 할당량과 GC 횟수/시간을 함께 봅니다)
+ * - store=table : ArrayList<PointHistory> (PointHistoryTable 과 같은 방식), 내역마다 객체 1개
+ * - store=mapped : MappedPointHistoryStore, 내역은 힙 밖(direct ByteBuffer), 힙에는 유저별 블록 정보만 남음
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PointHistoryStoreBenchmark {
+
+    @Param({"table", "mapped"})
+    private String store;
+
+    @Param({"1000000"})
+    private int rowCount;
+
+    @Param({"1000"})
+    private int userCount;
+
+    private long[] userIds;
+    private MappedPointHistoryStore mappedStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        userIds = new long[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            userIds[i] = random.nextInt(userCount) + 1;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (mappedStore != null) {
+            mappedStore.close();
+            mappedStore = null;
+        }
+    }
+
+    @Benchmark
+    public Object load() {
+        if ("mapped".equals(store)) {
+            mappedStore = new MappedPointHistoryStore(new PointHistoryStoreProperties("mapped", "", DataSize.ofMegabytes(64)));
+            for (int i = 0; i < rowCount; i++) {
+                mappedStore.append(new PointHistory(i + 1, userIds[i], 1000L, TransactionType.CHARGE, i));
+            }
+            return mappedStore;
+        }
+        FakePointHistoryTable pointHistoryTable = new FakePointHistoryTable();
+        for (int i = 0; i < rowCount; i++) {
+            pointHistoryTable.insert(userIds[i], 1000L, TransactionType.CHARGE, i);
+        }
+        return pointHistoryTable;
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 잔액/내역 조회 벤치마크
+ * - userCount : 조회 대상 유저 수 (1 이면 한 유저에 몰림)
+ * - historySize : 유저별 내역 건수
+ * - tableLatencyMillis=0 이면 지연 없는 테이블로 포인트 처리 경로 자체의 비용만 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class PointReadBenchmark {
+
+    @Param({"1", "1000"})
+    private int userCount;
+
+    @Param({"10", "1000"})
+    private int historySize;
+
+    @Param({"0"})
+    private long tableLatencyMillis;
+
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakeUserPointTable userPointTable = new FakeUserPointTable(tableLatencyMillis);
+        UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
+        FakePointHistoryTable pointHistoryTable = new FakePointHistoryTable();
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(10_000, Duration.ofMinutes(10)));
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointHistoryIndex, new PointHistoryProperties(10_000, 256, Duration.ofSeconds(30)), pointMetrics);
+        PointReadCollapser pointReadCollapser = new PointReadCollapser();
+        UserPointCombiner userPointCombiner = new UserPointCombiner(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, new PointWal(PointWalProperties.disabled()), pointReadCollapser, pointMetrics);
+        pointService = new PointService(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, userPointCombiner, new PointIdempotencyCache(new PointIdempotencyProperties(10000, Duration.ofMinutes(10))), pointReadCollapser, pointMetrics);
+
+        for (int i = 0; i < historySize; i++) {
+            for (long userId = 1; userId <= userCount; userId++) {
+                TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+                pointHistoryIndex.append(pointHistoryTable.insert(userId, 1_000L, type, i));
+            }
+        }
+        for (long userId = 1; userId <= userCount; userId++) {
+            userPointTable.insertOrUpdate(userId, 500_000L);
+        }
+    }
+
+    @Benchmark
+    public UserPoint balance() {
+        return pointService.selectPoint(randomUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> history() {
+        return pointService.selectPointHistory(randomUserId());
+    }
+
+    @Benchmark
+    public PointHistoryPage historyPage() {
+        return pointService.selectPointHistory(randomUserId(), PointHistoryQuery.of(20, null, null, null, TransactionType.CHARGE));
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextInt(userCount) + 1;
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 충전/사용 벤치마크
+ * - userCount=1 이면 모든 스레드가 한 유저에 몰리고(경합), 1000 이면 유저가 흩어집니다.
+ * - tableLatencyMillis=0 이면 지연 없는 테이블로 포인트 처리 경로 자체의 비용만 측정합니다.
+ * - 잔액 한도를 넘지 않도록 반복(iteration)마다 잔액을 500,000 으로 되돌리고, 반복당 batchSize 만큼만 호출합니다.
+ *   (스레드 4개 x 100회 x 1,000원 = 400,000원)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = 100)
+@Measurement(iterations = 50, batchSize = 100)
+@Threads(4)
+@Fork(1)
+public class PointWriteBenchmark {
+
+    private static final long INITIAL_BALANCE = 500_000L;
+    private static final long AMOUNT = 1_000L;
+
+    @Param({"1", "1000"})
+    private int userCount;
+
+    @Param({"0"})
+    private long tableLatencyMillis;
+
+    private FakeUserPointTable userPointTable;
+    private UserPointTableGuard userPointTableGuard;
+    private UserPointCache userPointCache;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userPointTable = new FakeUserPointTable(tableLatencyMillis);
+        userPointTableGuard = new UserPointTableGuard(userPointTable);
+        userPointCache = new UserPointCache(new UserPointCacheProperties(10_000, Duration.ofMinutes(10)));
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        pointHistoryWriter = new PointHistoryWriter(new FakePointHistoryTable(), new PointHistoryIndex(), new PointHistoryProperties(10_000, 256, Duration.ofSeconds(30)), pointMetrics);
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        PointReadCollapser pointReadCollapser = new PointReadCollapser();
+        UserPointCombiner userPointCombiner = new UserPointCombiner(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, new PointWal(PointWalProperties.disabled()), pointReadCollapser, pointMetrics);
+        pointService = new PointService(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, userPointCombiner, new PointIdempotencyCache(new PointIdempotencyProperties(10000, Duration.ofMinutes(10))), pointReadCollapser, pointMetrics);
+        pointHistoryWriter.start();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBalances() {
+        for (long userId = 1; userId <= userCount; userId++) {
+            userPointCache.put(userPointTable.insertOrUpdate(userId, INITIAL_BALANCE));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pointHistoryWriter.stop();
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        return pointService.insertPoint(randomUserId(), AMOUNT);
+    }
+
+    @Benchmark
+    public UserPoint use() {
+        return pointService.updatePoint(randomUserId(), AMOUNT);
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextInt(userCount) + 1;
+    }
+}
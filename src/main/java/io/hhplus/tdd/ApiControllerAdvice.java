@@ -1,5 +1,12 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointAdmissionException;
+import io.hhplus.tdd.point.PointException;
+import io.hhplus.tdd.point.PointShardAuthException;
+import io.hhplus.tdd.point.PointShardException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -7,8 +14,38 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiControllerAdvice.class);
+
+    @ExceptionHandler(value = PointException.class)
+    public ResponseEntity<ErrorResponse> handlePointException(PointException e) {
+        return ResponseEntity.status(400).body(new ErrorResponse(e.getErrorCode().name(), e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointAdmissionException.class)
+    public ResponseEntity<ErrorResponse> handlePointAdmissionException(PointAdmissionException e) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1L, e.getRetryAfter().toSeconds())))
+                .body(new ErrorResponse("TOO_MANY_REQUESTS", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointShardException.class)
+    public ResponseEntity<ErrorResponse> handlePointShardException(PointShardException e) {
+        log.warn(e.getMessage(), e);
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("SHARD_UNAVAILABLE", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointShardAuthException.class)
+    public ResponseEntity<ErrorResponse> handlePointShardAuthException(PointShardAuthException e) {
+        log.warn(e.getMessage());
+        return ResponseEntity.status(403).body(new ErrorResponse("SHARD_FORBIDDEN", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
+        log.error("처리하지 못한 예외가 발생했습니다.", e);
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
     }
 }
@@ -0,0 +1,93 @@
+package io.hhplus.tdd;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 요청/비동기 작업 실행 모드 설정
+ * - point.execution.virtual-threads=true 이고 Java 21 이상이면 Tomcat 요청 처리와 내부 비동기 작업(pointTaskExecutor,
+ *   스트리밍 응답)을 가상 스레드로 실행합니다. Java 17 에서는 설정과 상관없이 플랫폼 스레드로 실행합니다.
+ * - 일괄 처리는 pointBatchExecutor 에서 따로 실행해, 큰 일괄 요청이 pointTaskExecutor 를 차지하지 않게 합니다.
+ *   가상 스레드를 쓰면 유저마다 가상 스레드를, 아니면 batchConcurrency 개 스레드를 사용합니다.
+ * - 리액티브 API 의 블로킹 호출은 pointScheduler 에서 실행합니다. 가상 스레드를 쓰면 pointTaskExecutor 를,
+ *   아니면 poolSize 개 스레드로 제한한 bounded elastic 스케줄러를 사용합니다.
+ *   pointTaskExecutor 는 빈으로 따로 종료하므로, 스케줄러를 dispose 해도 종료되지 않게 Executor 로만 감싸 넘깁니다.
+ * - 포인트 처리 경로의 락은 ReentrantLock 만 사용하므로, 테이블 호출 중 가상 스레드가 캐리어 스레드에 고정(pinning)되지 않습니다.
+ */
+@Configuration
+public class ExecutionConfig implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionConfig.class);
+    private static final int SCHEDULER_QUEUE_CAPACITY = 100_000;
+
+    private final boolean virtualThreads;
+    private final ExecutorService pointTaskExecutor;
+    private final ExecutorService pointBatchExecutor;
+    private final int poolSize;
+
+    public ExecutionConfig(ExecutionProperties properties) {
+        this.virtualThreads = properties.virtualThreads() && VirtualThreads.isSupported();
+        if (properties.virtualThreads() && !virtualThreads) {
+            log.warn("가상 스레드를 지원하지 않는 Java 버전({})이라 플랫폼 스레드로 실행합니다.", Runtime.version());
+        }
+        this.pointTaskExecutor = virtualThreads
+                ? VirtualThreads.newExecutor()
+                : Executors.newFixedThreadPool(properties.poolSize());
+        this.pointBatchExecutor = virtualThreads
+                ? VirtualThreads.newExecutor()
+                : Executors.newFixedThreadPool(properties.batchConcurrency());
+        this.poolSize = properties.poolSize();
+    }
+
+    // 포인트 내부 비동기 작업용 Executor
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService pointTaskExecutor() {
+        return pointTaskExecutor;
+    }
+
+    // 일괄 처리용 Executor
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService pointBatchExecutor() {
+        return pointBatchExecutor;
+    }
+
+    // 리액티브 API 에서 블로킹 테이블 호출을 실행할 Scheduler
+    @Bean(destroyMethod = "dispose")
+    public Scheduler pointScheduler() {
+        return virtualThreads
+                ? sharedScheduler(pointTaskExecutor)
+                : Schedulers.newBoundedElastic(poolSize, SCHEDULER_QUEUE_CAPACITY, "point-reactive");
+    }
+
+    // fromExecutorService 는 dispose 때 ExecutorService 를 종료하므로, execute 만 넘겨 Executor 의 종료는 맡기지 않음
+    static Scheduler sharedScheduler(ExecutorService executor) {
+        return Schedulers.fromExecutor(executor::execute);
+    }
+
+    // Tomcat 요청 처리 스레드를 가상 스레드로 교체
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (virtualThreads) {
+                protocolHandler.setExecutor(VirtualThreads.newExecutor());
+            }
+        };
+    }
+
+    // StreamingResponseBody 등 MVC 비동기 응답도 같은 Executor 로 실행
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(pointTaskExecutor));
+    }
+}
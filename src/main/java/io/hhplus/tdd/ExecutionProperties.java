@@ -0,0 +1,20 @@
+package io.hhplus.tdd;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 요청/비동기 작업 실행 설정
+ * - virtualThreads : Tomcat 요청 처리와 내부 비동기 작업을 가상 스레드로 실행 (Java 21 이상)
+ *   빌드와 테스트는 Java 17 기준이므로, 배포한 Java 17 런타임에서는 켜도 아무 효과 없이 경고만 남기고 플랫폼 스레드로 실행합니다.
+ *   Java 21 런타임에서 실행할 때만 동작하며, 이 경우는 테스트로 확인하지 않습니다.
+ * - poolSize : 가상 스레드를 쓰지 않을 때 내부 비동기 작업 스레드 수
+ * - batchConcurrency : 가상 스레드를 쓰지 않을 때 일괄 처리에서 동시에 처리하는 유저 수 (pointBatchExecutor 스레드 수)
+ */
+@ConfigurationProperties(prefix = "point.execution")
+public record ExecutionProperties(
+        @DefaultValue("false") boolean virtualThreads,
+        @DefaultValue("64") int poolSize,
+        @DefaultValue("256") int batchConcurrency
+) {
+}
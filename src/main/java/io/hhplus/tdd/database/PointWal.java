@@ -0,0 +1,593 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 포인트 잔액/내역 변경 로그(WAL)와 스냅샷
+ * - 변경은 [본문 길이(4)][CRC32(4)][본문] 형식으로 현재 세그먼트 파일 끝에 이어 씁니다.
+ * - 파일 쓰기는 전용 스레드 하나가 맡습니다. 요청 스레드가 인터럽트되어도 FileChannel 이 닫히지 않습니다.
+ * - syncInterval 이 0 이면 commit 이 fsync 까지 기다리며, 그 사이 쌓인 commit 들은 한 번의 fsync 로 함께 확정됩니다. (group commit)
+ *   0 보다 크면 기록 직후 반환하고 fsync 는 이 주기로 모아서 합니다.
+ * - 기록 중 오류가 나면 그 묶음의 commit 을 모두 실패로 돌리고, 쓰다 만 부분을 잘라낸 뒤 새 세그먼트로 넘어갑니다.
+ *   (잘린 레코드 뒤에 이어 쓰면 복구가 그 지점에서 멈춰 이후 변경을 잃기 때문입니다.)
+ * - snapshotInterval 마다 기록 스레드는 새 세그먼트로 넘어가기만 하고, 나머지는 별도 스레드가 맡습니다.
+ *   이전 세그먼트의 내역/취소 레코드를 내역 보관 파일(history.log) 끝에 옮기고, 잔액 전체와 다음 내역 id 스냅샷을 남긴 뒤 이전 세그먼트를 지웁니다.
+ *   스냅샷을 쓰는 동안 바뀐 잔액이 섞여 들어가도, 복구 때 그 이후 세그먼트의 잔액 레코드가 다시 덮어쓰므로 결과는 같습니다.
+ *   보관 파일에 옮긴 뒤 스냅샷 전에 멈추면 같은 내역을 다시 읽게 되지만, 내역은 id 로 합치므로 결과는 같습니다.
+ * - 잔액 복구는 마지막 스냅샷과 그 이후 세그먼트만 읽으므로, 전체 변경이 아니라 스냅샷 이후 변경량에 비례합니다.
+ *   내역은 힙 저장소를 다시 채워야 하므로 보관 파일 전체를 읽습니다. (잔액 레코드 없이 내역 한 건당 42 바이트를 차례로 읽음)
+ * - 끝이 잘리거나 CRC 가 맞지 않는 레코드는 마지막으로 온전한 위치까지 잘라내고 버립니다.
+ */
+@Component
+public class PointWal {
+
+    private static final Logger log = LoggerFactory.getLogger(PointWal.class);
+
+    private static final int HEADER_SIZE = 8;
+    private static final int PAYLOAD_SIZE = 34;
+    private static final int RECORD_SIZE = HEADER_SIZE + PAYLOAD_SIZE;
+    private static final int SNAPSHOT_MAGIC = 0x50545331;
+    private static final int SNAPSHOT_HEADER_SIZE = 16;
+    private static final int SNAPSHOT_BALANCE_SIZE = 24;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String HISTORY_ARCHIVE = "history.log";
+    private static final int READ_BUFFER_SIZE = 4096 * RECORD_SIZE;
+
+    private final PointWalProperties properties;
+    private final Path directory;
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+    // 잔액과 다음 내역 id 는 복구 이후 writer 스레드만 바꾸고, 스냅샷 스레드가 읽음
+    private final Map<Long, UserPoint> balances = new ConcurrentHashMap<>();
+    private volatile long nextHistoryId = 1;
+    // 아래 필드는 복구 이후 writer 스레드에서만 접근
+    private FileChannel channel;
+    private long segment;
+    private boolean dirty;
+    private boolean changedSinceSnapshot;
+    private long lastSyncNanos;
+    private long lastSnapshotNanos;
+    private CompletableFuture<Void> snapshotting = CompletableFuture.completedFuture(null);
+
+    private volatile boolean open;
+    private Thread writer;
+    private ExecutorService snapshotter;
+
+    public PointWal(PointWalProperties properties) {
+        this.properties = properties;
+        this.directory = Path.of(properties.directory());
+    }
+
+    /**
+     * 내역 보관 파일, 마지막 스냅샷과 이후 세그먼트를 읽어 복구할 잔액/내역을 반환하고, 새 세그먼트를 열어 기록을 시작합니다.
+     */
+    public Recovery recover() {
+        if (!properties.enabled()) {
+            return new Recovery(List.of(), List.of(), 1L);
+        }
+        try {
+            Files.createDirectories(directory);
+            long firstSegment = 0;
+            Path snapshot = latest(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (snapshot != null) {
+                firstSegment = sequence(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+                readSnapshot(snapshot);
+            }
+
+            // 복구 중에만 쓰는 내역, 취소 레코드로 지움
+            Map<Long, PointHistory> histories = new LinkedHashMap<>();
+            Path archive = directory.resolve(HISTORY_ARCHIVE);
+            if (Files.exists(archive)) {
+                readSegment(archive, record -> replay(record, histories));
+            }
+            long lastSegment = firstSegment - 1;
+            int replayed = 0;
+            for (Path path : list(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+                long sequence = sequence(path, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+                if (sequence < firstSegment) {
+                    continue;
+                }
+                replayed += readSegment(path, record -> replay(record, histories));
+                lastSegment = Math.max(lastSegment, sequence);
+            }
+
+            segment = lastSegment + 1;
+            channel = openSegment(segment);
+            // 읽은 세그먼트가 있으면 첫 주기에 스냅샷으로 정리
+            changedSinceSnapshot = replayed > 0;
+            lastSyncNanos = lastSnapshotNanos = System.nanoTime();
+            open = true;
+            snapshotter = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "point-wal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writer = new Thread(this::run, "point-wal");
+            writer.setDaemon(true);
+            writer.start();
+            List<PointHistory> recovered = new ArrayList<>(histories.values());
+            recovered.sort(Comparator.comparingLong(PointHistory::id));
+            return new Recovery(List.copyOf(balances.values()), recovered, nextHistoryId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 변경 로그를 복구하지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * 변경을 로그에 기록합니다.
+     * syncInterval 이 0 이면 디스크에 확정될 때까지 기다립니다.
+     */
+    public void commit(List<PointWalRecord> records) {
+        await(append(records));
+    }
+
+    /**
+     * 변경을 기록 대기열에 넣기만 하고 바로 돌아옵니다.
+     * 대기열에 넣은 순서대로 기록되며, 반환한 future 는 commit 과 같은 시점에 완료됩니다.
+     */
+    public CompletableFuture<Void> append(List<PointWalRecord> records) {
+        if (!properties.enabled() || records.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(records.size() * RECORD_SIZE);
+        records.forEach(record -> encode(buffer, record));
+        buffer.flip();
+        return enqueue(new Request(buffer, records, new CompletableFuture<>()));
+    }
+
+    // append 로 넣은 변경이 기록될 때까지 기다림
+    public void await(CompletableFuture<Void> appended) {
+        try {
+            appended.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 닫고 새 세그먼트로 넘어가면서 잔액 전체를 스냅샷으로 남기고, 스냅샷이 남을 때까지 기다립니다.
+     */
+    public void snapshot() {
+        if (!properties.enabled()) {
+            return;
+        }
+        await(enqueue(new Request(null, List.of(), new CompletableFuture<>())));
+    }
+
+    // 남은 변경을 기록/fsync 하고, 쓰고 있던 스냅샷까지 마친 뒤 닫음
+    public void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        try {
+            writer.join();
+            snapshotter.shutdown();
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Request request) {
+        if (!open) {
+            throw new IllegalStateException("포인트 변경 로그가 열려 있지 않습니다.");
+        }
+        requests.add(request);
+        return request.done();
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>();
+        while (open || !requests.isEmpty()) {
+            try {
+                Request first = requests.poll(10, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    requests.drainTo(batch);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException | RuntimeException e) {
+                log.error("포인트 변경 로그 기록에 실패했습니다.", e);
+                batch.forEach(request -> request.done().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+        requests.forEach(request -> request.done().completeExceptionally(new IllegalStateException("포인트 변경 로그가 닫혔습니다.")));
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            log.error("포인트 변경 로그를 닫지 못했습니다.", e);
+        }
+    }
+
+    private void process(List<Request> batch) throws IOException {
+        List<Request> snapshots = new ArrayList<>();
+        List<Request> commits = new ArrayList<>(batch.size());
+        for (Request request : batch) {
+            if (request.buffer() == null) {
+                snapshots.add(request);
+            } else {
+                commits.add(request);
+            }
+        }
+
+        long now = System.nanoTime();
+        if (!commits.isEmpty()) {
+            write(commits, now);
+        }
+        if (!properties.syncInterval().isZero() && now - lastSyncNanos >= properties.syncInterval().toNanos()) {
+            force(now);
+        }
+
+        if (!snapshots.isEmpty() || now - lastSnapshotNanos >= properties.snapshotInterval().toNanos()) {
+            lastSnapshotNanos = now;
+            CompletableFuture<Void> snapshot = rollAndSnapshot();
+            snapshots.forEach(request -> snapshot.whenComplete((ignored, e) -> {
+                if (e == null) {
+                    request.done().complete(null);
+                } else {
+                    request.done().completeExceptionally(e);
+                }
+            }));
+        }
+    }
+
+    // 기록에 실패하면 쓰다 만 부분을 버리고 새 세그먼트로 넘어간 뒤 예외를 던진다.
+    private void write(List<Request> commits, long now) throws IOException {
+        long validSize = channel.size();
+        try {
+            for (Request request : commits) {
+                while (request.buffer().hasRemaining()) {
+                    channel.write(request.buffer());
+                }
+            }
+            dirty = true;
+            if (properties.syncInterval().isZero()) {
+                force(now);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                rollOver(validSize);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        for (Request request : commits) {
+            request.records().forEach(this::apply);
+        }
+        changedSinceSnapshot = true;
+        commits.forEach(request -> request.done().complete(null));
+    }
+
+    // 현재 세그먼트를 validSize 로 되돌리고 새 세그먼트를 연다.
+    // 되돌리지 못해도 복구는 손상된 레코드에서 그 세그먼트 읽기를 멈추고 다음 세그먼트로 넘어간다.
+    private void rollOver(long validSize) throws IOException {
+        try {
+            channel.truncate(validSize);
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("포인트 변경 로그 {} 번 세그먼트를 {} 바이트로 되돌리지 못했습니다.", segment, validSize, e);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("포인트 변경 로그 {} 번 세그먼트를 닫지 못했습니다.", segment, e);
+        }
+        dirty = false;
+        segment++;
+        channel = openSegment(segment);
+    }
+
+    private void apply(PointWalRecord record) {
+        switch (record.kind()) {
+            case BALANCE -> balances.put(record.userId(), new UserPoint(record.userId(), record.amount(), record.updateMillis()));
+            case HISTORY -> nextHistoryId = Math.max(nextHistoryId, record.id() + 1);
+        }
+    }
+
+    // 복구 시 잔액/다음 내역 id 에 더해 내역도 모음
+    private void replay(PointWalRecord record, Map<Long, PointHistory> histories) {
+        apply(record);
+        switch (record.kind()) {
+            case HISTORY -> histories.put(record.id(), record.toHistory());
+            case CANCEL -> histories.remove(record.id());
+        }
+    }
+
+    private void force(long now) throws IOException {
+        if (dirty) {
+            channel.force(false);
+            dirty = false;
+        }
+        lastSyncNanos = now;
+    }
+
+    // 새 세그먼트로 넘어간 뒤 스냅샷은 스냅샷 스레드에 맡김, 이전 스냅샷을 쓰는 중이면 다음 주기로 미룸
+    private CompletableFuture<Void> rollAndSnapshot() throws IOException {
+        if (!changedSinceSnapshot || !snapshotting.isDone()) {
+            return snapshotting;
+        }
+        channel.force(false);
+        channel.close();
+        dirty = false;
+        segment++;
+        channel = openSegment(segment);
+        changedSinceSnapshot = false;
+        long sequence = segment;
+        snapshotting = CompletableFuture.runAsync(() -> {
+            try {
+                archiveBefore(sequence);
+                writeSnapshot(sequence);
+                deleteBefore(sequence);
+            } catch (IOException e) {
+                log.error("포인트 스냅샷 {} 번을 남기지 못했습니다.", sequence, e);
+                throw new UncheckedIOException(e);
+            }
+        }, snapshotter);
+        return snapshotting;
+    }
+
+    private void encode(ByteBuffer buffer, PointWalRecord record) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_SIZE);
+        buffer.put((byte) record.kind().ordinal());
+        buffer.putLong(record.id());
+        buffer.putLong(record.userId());
+        buffer.putLong(record.amount());
+        buffer.put(record.type() == null ? 0 : (byte) (record.type().ordinal() + 1));
+        buffer.putLong(record.updateMillis());
+        int end = buffer.position();
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), start + HEADER_SIZE, PAYLOAD_SIZE);
+        buffer.putInt(start, PAYLOAD_SIZE);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.position(end);
+    }
+
+    private PointWalRecord decode(ByteBuffer buffer) {
+        PointWalRecord.Kind kind = PointWalRecord.Kind.values()[buffer.get()];
+        long id = buffer.getLong();
+        long userId = buffer.getLong();
+        long amount = buffer.getLong();
+        byte type = buffer.get();
+        long updateMillis = buffer.getLong();
+        return new PointWalRecord(kind, id, userId, amount, type == 0 ? null : TYPES[type - 1], updateMillis);
+    }
+
+    // 세그먼트를 처음부터 읽어 온전한 레코드를 차례로 넘기고, 읽은 레코드 수를 반환
+    private int readSegment(Path path, Consumer<PointWalRecord> consumer) throws IOException {
+        int count = 0;
+        long validSize = 0;
+        long size;
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = file.size();
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            boolean corrupted = false;
+            while (!corrupted && file.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= HEADER_SIZE) {
+                    int length = buffer.getInt(buffer.position());
+                    int checksum = buffer.getInt(buffer.position() + 4);
+                    if (length != PAYLOAD_SIZE) {
+                        corrupted = true;
+                        break;
+                    }
+                    if (buffer.remaining() < HEADER_SIZE + length) {
+                        break;
+                    }
+                    CRC32 crc = new CRC32();
+                    crc.update(buffer.array(), buffer.position() + HEADER_SIZE, length);
+                    if ((int) crc.getValue() != checksum) {
+                        corrupted = true;
+                        break;
+                    }
+                    buffer.position(buffer.position() + HEADER_SIZE);
+                    consumer.accept(decode(buffer));
+                    validSize += RECORD_SIZE;
+                    count++;
+                }
+                buffer.compact();
+            }
+        }
+        if (validSize < size) {
+            truncate(path, validSize);
+        }
+        return count;
+    }
+
+    private void truncate(Path path, long size) throws IOException {
+        log.warn("포인트 변경 로그 {} 의 {} 바이트 이후 손상된 레코드를 버립니다.", path.getFileName(), size);
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            file.truncate(size);
+            file.force(false);
+        }
+    }
+
+    // sequence 보다 앞선 세그먼트의 내역/취소 레코드를 내역 보관 파일 끝에 옮김 (잔액은 이어서 남기는 스냅샷이 대신함)
+    private void archiveBefore(long sequence) throws IOException {
+        List<PointWalRecord> records = new ArrayList<>();
+        for (Path path : list(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (sequence(path, SEGMENT_PREFIX, SEGMENT_SUFFIX) < sequence) {
+                readSegment(path, record -> {
+                    if (record.kind() != PointWalRecord.Kind.BALANCE) {
+                        records.add(record);
+                    }
+                });
+            }
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(records.size() * RECORD_SIZE);
+        records.forEach(record -> encode(buffer, record));
+        buffer.flip();
+        try (FileChannel file = FileChannel.open(directory.resolve(HISTORY_ARCHIVE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                file.write(buffer);
+            }
+            file.force(false);
+        }
+    }
+
+    // [MAGIC(4)][잔액 건수(4)][다음 내역 id(8)][userId, point, updateMillis]...[CRC32(8)]
+    // 스냅샷 스레드에서 호출, sequence 세그먼트로 넘어간 뒤의 잔액이 섞일 수 있으나 복구 때 그 세그먼트가 다시 덮어씀
+    private void writeSnapshot(long sequence) throws IOException {
+        long historyId = nextHistoryId;
+        List<UserPoint> userPoints = new ArrayList<>(balances.values());
+        ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE + userPoints.size() * SNAPSHOT_BALANCE_SIZE + 8);
+        buffer.putInt(SNAPSHOT_MAGIC);
+        buffer.putInt(userPoints.size());
+        buffer.putLong(historyId);
+        for (UserPoint userPoint : userPoints) {
+            buffer.putLong(userPoint.id());
+            buffer.putLong(userPoint.point());
+            buffer.putLong(userPoint.updateMillis());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(crc.getValue());
+        buffer.flip();
+
+        Path target = directory.resolve(fileName(SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                file.write(buffer);
+            }
+            file.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void readSnapshot(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        int magic = buffer.remaining() < SNAPSHOT_HEADER_SIZE + 8 ? 0 : buffer.getInt();
+        if (magic != SNAPSHOT_MAGIC) {
+            throw new IllegalStateException("포인트 스냅샷 형식이 올바르지 않습니다. " + path);
+        }
+        int balanceCount = buffer.getInt();
+        long bodySize = SNAPSHOT_HEADER_SIZE + (long) balanceCount * SNAPSHOT_BALANCE_SIZE;
+        if (balanceCount < 0 || buffer.capacity() != bodySize + 8) {
+            throw new IllegalStateException("포인트 스냅샷 크기가 올바르지 않습니다. " + path);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, (int) bodySize);
+        if (crc.getValue() != buffer.getLong((int) bodySize)) {
+            throw new IllegalStateException("포인트 스냅샷 CRC 가 맞지 않습니다. " + path);
+        }
+        nextHistoryId = buffer.getLong();
+        for (int i = 0; i < balanceCount; i++) {
+            long userId = buffer.getLong();
+            balances.put(userId, new UserPoint(userId, buffer.getLong(), buffer.getLong()));
+        }
+    }
+
+    // sequence 보다 앞선 세그먼트와 스냅샷 삭제
+    private void deleteBefore(long sequence) throws IOException {
+        for (Path path : list(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (sequence(path, SEGMENT_PREFIX, SEGMENT_SUFFIX) < sequence) {
+                Files.deleteIfExists(path);
+            }
+        }
+        for (Path path : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (sequence(path, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < sequence) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private FileChannel openSegment(long sequence) throws IOException {
+        Path path = directory.resolve(fileName(SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path latest(String prefix, String suffix) throws IOException {
+        List<Path> paths = list(prefix, suffix);
+        return paths.isEmpty() ? null : paths.get(paths.size() - 1);
+    }
+
+    // 순번 오름차순
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String fileName(String prefix, long sequence, String suffix) {
+        return prefix + String.format("%020d", sequence) + suffix;
+    }
+
+    private static long sequence(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    /**
+     * 복구 결과
+     * - balances : 유저별 마지막 잔액
+     * - histories : 내역 보관 파일과 마지막 스냅샷 이후 세그먼트에서 취소되지 않은 내역 (id 오름차순, 기록할 때 부여된 id 그대로)
+     * - nextHistoryId : 다음에 부여할 내역 id
+     */
+    public record Recovery(
+            List<UserPoint> balances,
+            List<PointHistory> histories,
+            long nextHistoryId
+    ) {
+    }
+
+    private record Request(
+            ByteBuffer buffer,
+            List<PointWalRecord> records,
+            CompletableFuture<Void> done
+    ) {
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 변경 로그(WAL) 설정
+ * - enabled : false 이면 로그를 남기지 않고 복구도 하지 않습니다.
+ * - directory : 로그 세그먼트와 스냅샷 파일 위치
+ * - syncInterval : 0 이면 commit 마다 fsync 를 기다리고(group commit), 0 보다 크면 이 주기로 fsync 합니다.
+ * - snapshotInterval : 잔액 스냅샷을 남기고 이전 세그먼트를 정리하는 주기
+ */
+@ConfigurationProperties(prefix = "point.wal")
+public record PointWalProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("data/wal") String directory,
+        @DefaultValue("0ms") Duration syncInterval,
+        @DefaultValue("1m") Duration snapshotInterval
+) {
+
+    public static PointWalProperties disabled() {
+        return new PointWalProperties(false, "data/wal", Duration.ZERO, Duration.ofMinutes(1));
+    }
+}
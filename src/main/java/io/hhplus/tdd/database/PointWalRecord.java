@@ -0,0 +1,43 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 포인트 변경 로그 한 건
+ * - BALANCE : 저장한 잔액 (amount = 잔액, id/type 없음)
+ * - HISTORY : 충전/사용 내역 (id = PointHistoryWriter 가 부여한 내역 id)
+ * - CANCEL : 앞서 기록한 내역의 취소 (id = 취소할 내역 id), 기록한 변경을 되돌릴 때 남깁니다.
+ */
+public record PointWalRecord(
+        Kind kind,
+        long id,
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis
+) {
+
+    public enum Kind {
+        BALANCE, HISTORY, CANCEL
+    }
+
+    public static PointWalRecord balance(UserPoint userPoint) {
+        return new PointWalRecord(Kind.BALANCE, 0L, userPoint.id(), userPoint.point(), null, userPoint.updateMillis());
+    }
+
+    public static PointWalRecord history(PointHistory pointHistory) {
+        return new PointWalRecord(Kind.HISTORY, pointHistory.id(), pointHistory.userId(), pointHistory.amount(),
+                pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    public static PointWalRecord cancel(PointHistory pointHistory) {
+        return new PointWalRecord(Kind.CANCEL, pointHistory.id(), pointHistory.userId(), pointHistory.amount(),
+                pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    public PointHistory toHistory() {
+        return new PointHistory(id, userId, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,185 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * UserPointTable 호출 창구(write-behind)
+ * - UserPointTable 은 HashMap 에 저장하므로, 여러 스레드가 동시에 저장하다 resize 가 겹치면 다른 유저의 값이 사라지고
+ *   resize 중의 조회는 있던 유저를 찾지 못해 0 을 돌려줄 수 있습니다.
+ * - 테이블은 변경하지 않고, 모든 호출을 이 클래스로 모읍니다.
+ * - 저장 요청은 유저별 최신 잔액을 메모리에 남기고 바로 반환합니다.
+ *   테이블 저장은 저장 스레드 하나가 차례로 실행하므로, 요청 스레드는 다른 유저의 저장을 기다리지 않습니다.
+ *   저장이 밀린 유저는 마지막 잔액만 저장합니다.
+ * - 조회는 메모리에 남긴 잔액을 먼저 돌려주고, 처음 보는 유저만 테이블에서 읽습니다. (테이블 조회는 저장 중이 아닐 때만)
+ * - 호출하는 쪽은 PointWal 에 기록이 확정된 잔액만 넘기므로, 테이블에 저장하기 전에 멈춰도 시작 시 복구됩니다.
+ *   같은 유저의 저장은 호출하는 쪽이 유저별로 순서를 맞춥니다.
+ *   복구한 잔액은 restore 로 메모리에 한 번에 반영하고, 테이블은 저장 스레드가 뒤에서 채웁니다.
+ * - 테이블 저장에 실패하면 오류 로그를 남기고, 다음 저장 요청 때 다시 저장합니다.
+ * - 종료 시 남은 저장을 모두 마친 뒤 멈추고, 그 뒤의 저장 요청은 요청한 스레드가 직접 저장합니다.
+ */
+@Component
+public class UserPointTableGuard implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPointTableGuard.class);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final UserPointTable userPointTable;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 유저별 최신 잔액, 테이블보다 먼저 반영한다.
+    private final ConcurrentHashMap<Long, UserPoint> balances = new ConcurrentHashMap<>();
+    // 테이블에 저장할 유저별 잔액, 저장한 값과 같으면 지운다.
+    private final ConcurrentHashMap<Long, UserPoint> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final ThreadPoolExecutor flusher;
+    private volatile boolean running;
+
+    public UserPointTableGuard(UserPointTable userPointTable) {
+        this.userPointTable = userPointTable;
+        this.flusher = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "user-point-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.allowCoreThreadTimeOut(true);
+    }
+
+    public UserPoint selectById(long id) {
+        UserPoint held = balances.get(id);
+        if (held != null) {
+            return held;
+        }
+        UserPoint loaded;
+        lock.readLock().lock();
+        try {
+            loaded = userPointTable.selectById(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        // 읽는 사이 저장 요청이 들어왔으면 그 잔액이 최신
+        UserPoint raced = balances.putIfAbsent(id, loaded);
+        return raced == null ? loaded : raced;
+    }
+
+    // 잔액을 메모리에 반영하고 테이블 저장은 저장 스레드에 맡김
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        balances.compute(id, (key, previous) -> {
+            pending.put(key, userPoint);
+            return userPoint;
+        });
+        scheduleFlush();
+        return userPoint;
+    }
+
+    // 복구한 잔액을 메모리에 반영하고 테이블은 저장 스레드가 뒤에서 채움
+    public void restore(Collection<UserPoint> userPoints) {
+        for (UserPoint userPoint : userPoints) {
+            balances.compute(userPoint.id(), (key, previous) -> {
+                pending.put(key, userPoint);
+                return userPoint;
+            });
+        }
+        scheduleFlush();
+    }
+
+    // 테이블 저장을 기다리는 유저 수
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    // 저장 대기 잔액이 모두 테이블에 들어갈 때까지 기다림
+    public boolean awaitFlushed(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!pending.isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (!awaitFlushed(SHUTDOWN_TIMEOUT)) {
+            log.warn("종료 시간 내 테이블에 저장하지 못한 유저 잔액이 {}건 남았습니다.", pending.size());
+        }
+        flusher.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 잔액 엔진(DEFAULT_PHASE - 2560)이 남은 저장을 넘긴 뒤에, PointRecovery 가 로그를 닫기 전에 멈춤
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2816;
+    }
+
+    private void scheduleFlush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flusher.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            flush();
+        }
+    }
+
+    // 저장 중에 들어온 잔액은 이어서 저장, 실패했으면 다음 저장 요청 때 다시 저장
+    private void flush() {
+        while (true) {
+            boolean saved = save();
+            flushing.set(false);
+            if (!saved || pending.isEmpty() || !flushing.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private boolean save() {
+        for (Map.Entry<Long, UserPoint> entry : pending.entrySet()) {
+            UserPoint userPoint = entry.getValue();
+            lock.writeLock().lock();
+            try {
+                userPointTable.insertOrUpdate(userPoint.id(), userPoint.point());
+            } catch (RuntimeException e) {
+                log.error("유저 {} 잔액을 테이블에 저장하지 못했습니다.", userPoint.id(), e);
+                return false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            pending.remove(entry.getKey(), userPoint);
+        }
+        return true;
+    }
+}
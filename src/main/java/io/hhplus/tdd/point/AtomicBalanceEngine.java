@@ -0,0 +1,544 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalRecord;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.hhplus.tdd.point.PointMetrics.TableCall;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * 유저 락 대신 CAS 로 잔액을 갱신하는 엔진 (point.balance.engine=cas)
+ * - 유저별 잔액을 long 키 open addressing 테이블에 보관하고, 이 값을 기준 잔액으로 사용합니다.
+ *   처음 갱신하는 유저만 UserPointTable 에서 읽어 등록하고, 조회만 하는 유저는 등록하지 않습니다.
+ * - 잔액과 버전을 long 하나에 함께 담아(상위 40비트 버전, 하위 24비트 잔액) 정책 검사와 갱신을 CAS 한 번으로 끝냅니다.
+ * - 갱신 뒤 응답까지는 락 없이 끝나지 않습니다. CAS 에 성공한 요청은 앞 버전이 지나가기를 기다려(spin 후 park)
+ *   PointWal 기록 대기열에 넣고, 기록이 확정될 때까지 기다린 뒤, 다시 버전 순서대로 PointHistoryWriter 에 넘기고 응답합니다.
+ *   기록하지 못한 변경은 다음 버전으로 되돌립니다.
+ * - 요청은 유저별 StampedLock 의 읽기 락을 잡아 서로 막지 않고, 노드 간 이동(executeExclusively)만 쓰기 락으로
+ *   처리 중인 요청이 끝나기를 기다려 막습니다.
+ * - 조회는 기록과 내역 반영이 끝난 잔액만 돌려주므로, 아직 기록 중이거나 되돌릴 수 있는 CAS 잔액은 보이지 않습니다.
+ * - UserPointTable 저장은 pointTaskExecutor 에서 유저별로 한 번에 하나씩, 기록이 확정된 마지막 버전만 비동기로 합니다.
+ *   기록 중이거나 되돌릴 CAS 잔액은 저장하지 않으므로, 테이블에도 로그에 없는 잔액이 남지 않습니다.
+ *   테이블 호출은 UserPointTableGuard 를 거치므로 여러 유저의 저장도 한 번에 하나씩 실행됩니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.balance", name = "engine", havingValue = "cas")
+public class AtomicBalanceEngine implements PointBalanceEngine, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AtomicBalanceEngine.class);
+    private static final int POINT_BITS = 24;
+    private static final long POINT_MASK = (1L << POINT_BITS) - 1;
+    private static final int SEGMENT_COUNT = 16;
+    private static final int SPINS_BEFORE_PARK = 64;
+    private static final long FLUSH_TIMEOUT_MILLIS = 30_000L;
+
+    private final UserPointTableGuard userPointTable;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointWal pointWal;
+    private final PointReadCollapser pointReadCollapser;
+    private final PointMetrics pointMetrics;
+    private final ExecutorService pointTaskExecutor;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private volatile boolean running;
+
+    public AtomicBalanceEngine(UserPointTableGuard userPointTable, PointHistoryWriter pointHistoryWriter, PointWal pointWal,
+                               PointReadCollapser pointReadCollapser, PointMetrics pointMetrics,
+                               @Qualifier("pointTaskExecutor") ExecutorService pointTaskExecutor) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointWal = pointWal;
+        this.pointReadCollapser = pointReadCollapser;
+        this.pointMetrics = pointMetrics;
+        this.pointTaskExecutor = pointTaskExecutor;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    // 등록되지 않은 유저는 null 을 돌려줘 캐시/테이블에서 읽게 하고, 조회만으로는 등록하지 않음
+    @Override
+    public UserPoint select(long userId) {
+        Balance balance = segmentOf(userId).get(userId);
+        if (balance == null) {
+            return null;
+        }
+        return balance.committed.userPoint();
+    }
+
+    @Override
+    public UserPoint execute(long userId, long amount, TransactionType type) {
+        Balance balance = balanceOf(userId);
+        long stamp = balance.gate.readLock();
+        try {
+            return apply(balance, amount, type);
+        } finally {
+            balance.gate.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public List<CompletableFuture<UserPoint>> submitAll(long userId, List<PointBatchItem> items) {
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>(items.size());
+        for (PointBatchItem item : items) {
+            try {
+                results.add(CompletableFuture.completedFuture(execute(userId, item.amount(), item.type())));
+            } catch (RuntimeException e) {
+                results.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        return results;
+    }
+
+    // 처리 중인 요청이 모두 끝나기를 기다린 뒤, 끝날 때까지 새 요청을 막음
+    @Override
+    public <T> T executeExclusively(long userId, Supplier<T> action) {
+        Balance balance = balanceOf(userId);
+        long stamp = balance.gate.writeLock();
+        try {
+            return action.get();
+        } finally {
+            balance.gate.unlockWrite(stamp);
+        }
+    }
+
+    // 넘겨받은 잔액을 다음 버전으로 반영, 로그는 넘겨받는 쪽에서 이미 기록함
+    @Override
+    public void restore(UserPoint userPoint) {
+        Balance balance = balanceOf(userPoint.id());
+        long state;
+        long next;
+        do {
+            state = balance.state;
+            next = stateOf(versionOf(state) + 1, userPoint.point());
+        } while (!balance.compareAndSet(state, next));
+        long version = versionOf(next);
+        balance.sequenced.await(version);
+        balance.updateMillis = Math.max(userPoint.updateMillis(), balance.updateMillis);
+        balance.sequenced.advance(version);
+        balance.published.await(version);
+        balance.committed = new Committed(new UserPoint(balance.userId, userPoint.point(), balance.updateMillis), version);
+        balance.published.advance(version);
+        scheduleFlush(balance);
+    }
+
+    // 테이블 저장을 기다리거나 저장 중인 유저 수
+    @Override
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // 웹 서버가 멈춘 뒤 남은 잔액을 테이블에 저장
+    @Override
+    public void stop() {
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MILLIS;
+        while (pendingCount.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (pendingCount.get() > 0) {
+            log.warn("테이블에 저장하지 못한 잔액이 {}건 남았습니다.", pendingCount.get());
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버가 멈춘 뒤, PointRecovery 가 PointWal 을 닫기 전에 멈춤
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2560;
+    }
+
+    private UserPoint apply(Balance balance, long amount, TransactionType type) {
+        long state;
+        long next;
+        do {
+            state = balance.state;
+            long point;
+            try {
+                point = type == TransactionType.CHARGE
+                        ? PointPolicy.charge(pointOf(state), amount)
+                        : PointPolicy.use(pointOf(state), amount);
+            } catch (PointException e) {
+                pointMetrics.countRejection(e.getErrorCode());
+                throw e;
+            }
+            next = stateOf(versionOf(state) + 1, point);
+        } while (!balance.compareAndSet(state, next));
+
+        Recorded recorded = record(balance, versionOf(next), pointOf(next),
+                updateMillis -> pointHistoryWriter.reserve(balance.userId, amount, type, updateMillis), null);
+        if (recorded.failure() != null) {
+            return recover(balance, amount, type, recorded);
+        }
+        pointMetrics.countTransaction(type);
+        return recorded.userPoint();
+    }
+
+    /**
+     * 기록하지 못한 변경을 다음 버전으로 되돌리고, 되돌린 잔액과 내역 취소를 기록합니다.
+     * 뒤 요청이 이 변경을 바탕으로 이미 반영돼 되돌리면 잔액 범위를 벗어나는 경우에는
+     * 변경을 살려 새 내역으로 다시 기록하고, 다시 기록에 성공하면 성공으로 응답합니다.
+     */
+    private UserPoint recover(Balance balance, long amount, TransactionType type, Recorded failed) {
+        long delta = type == TransactionType.CHARGE ? -amount : amount;
+        long state;
+        long next;
+        boolean undo;
+        do {
+            state = balance.state;
+            long point = pointOf(state) + delta;
+            undo = point >= 0 && point <= PointPolicy.MAX_BALANCE;
+            next = stateOf(versionOf(state) + 1, undo ? point : pointOf(state));
+        } while (!balance.compareAndSet(state, next));
+
+        Recorded recorded = record(balance, versionOf(next), pointOf(next),
+                undo ? null : updateMillis -> pointHistoryWriter.reserve(balance.userId, amount, type, updateMillis),
+                failed.history());
+        if (recorded.failure() != null) {
+            log.error("유저 {} 의 기록하지 못한 변경을 {} 기록도 실패했습니다.", balance.userId, undo ? "되돌린" : "다시", recorded.failure());
+        }
+        if (undo || recorded.failure() != null) {
+            throw failed.failure();
+        }
+        pointMetrics.countTransaction(type);
+        return recorded.userPoint();
+    }
+
+    /**
+     * version 의 잔액을 버전 순서대로 기록 대기열에 넣고, 기록이 확정되면 버전 순서대로 내역에 넣습니다.
+     * - historyOf : 기록과 함께 남길 내역, null 이면 잔액만 기록
+     * - canceled : 함께 취소를 기록할 내역
+     * 실패는 던지지 않고 결과에 담아, 호출한 쪽에서 되돌리게 합니다.
+     */
+    private Recorded record(Balance balance, long version, long point, LongFunction<PointHistory> historyOf, PointHistory canceled) {
+        UserPoint userPoint = null;
+        PointHistory history = null;
+        CompletableFuture<Void> logged;
+        // 앞 버전이 기록 대기열에 들어간 뒤에 넣어야 로그가 버전 순서를 지킨다.
+        balance.sequenced.await(version);
+        try {
+            long updateMillis = Math.max(System.currentTimeMillis(), balance.updateMillis);
+            balance.updateMillis = updateMillis;
+            userPoint = new UserPoint(balance.userId, point, updateMillis);
+            List<PointWalRecord> records = new ArrayList<>(3);
+            records.add(PointWalRecord.balance(userPoint));
+            if (historyOf != null) {
+                history = historyOf.apply(updateMillis);
+                records.add(PointWalRecord.history(history));
+            }
+            if (canceled != null) {
+                records.add(PointWalRecord.cancel(canceled));
+            }
+            logged = pointWal.append(records);
+        } catch (RuntimeException e) {
+            logged = CompletableFuture.failedFuture(e);
+        } finally {
+            balance.sequenced.advance(version);
+        }
+
+        RuntimeException failure = null;
+        try {
+            pointWal.await(logged);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        // 내역도 버전 순서대로 넣어야 유저별 내역 id 가 오름차순을 지킨다.
+        balance.published.await(version);
+        try {
+            if (failure == null) {
+                if (history != null) {
+                    pointHistoryWriter.append(history);
+                }
+                balance.committed = new Committed(userPoint, version);
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            balance.published.advance(version);
+        }
+        scheduleFlush(balance);
+        pointReadCollapser.invalidate(balance.userId);
+        return new Recorded(userPoint, history, failure);
+    }
+
+    private Segment segmentOf(long userId) {
+        return segments[(Long.hashCode(userId) & Integer.MAX_VALUE) % SEGMENT_COUNT];
+    }
+
+    private Balance balanceOf(long userId) {
+        Segment segment = segmentOf(userId);
+        Balance balance = segment.get(userId);
+        if (balance != null) {
+            return balance;
+        }
+        // 처음 보는 유저는 테이블에서 한 번만 읽어 등록
+        UserPoint loaded = pointReadCollapser.point(userId,
+                () -> pointMetrics.recordTableCall(TableCall.USER_POINT_SELECT_BY_ID, () -> userPointTable.selectById(userId)));
+        return segment.putIfAbsent(new Balance(userId, stateOf(0L, loaded.point()), loaded.updateMillis()));
+    }
+
+    private void scheduleFlush(Balance balance) {
+        if (!balance.tryStartFlush()) {
+            return;
+        }
+        pendingCount.incrementAndGet();
+        try {
+            pointTaskExecutor.execute(() -> flush(balance));
+        } catch (RejectedExecutionException e) {
+            flush(balance);
+        }
+    }
+
+    // 유저별로 한 스레드만 저장하므로 테이블에는 확정된 버전 순서대로 반영된다.
+    private void flush(Balance balance) {
+        while (true) {
+            Committed committed = balance.committed;
+            boolean saved = true;
+            if (committed.version() > balance.persisted) {
+                try {
+                    pointMetrics.recordTableCall(TableCall.USER_POINT_INSERT_OR_UPDATE,
+                            () -> userPointTable.insertOrUpdate(balance.userId, committed.userPoint().point()));
+                    balance.persisted = committed.version();
+                } catch (RuntimeException e) {
+                    log.error("유저 {} 잔액을 테이블에 저장하지 못했습니다.", balance.userId, e);
+                    saved = false;
+                }
+            }
+            balance.endFlush();
+            pendingCount.decrementAndGet();
+            // 저장 중에 바뀐 잔액은 이어서 저장, 실패했으면 다음 갱신 때 다시 저장
+            if (!saved || balance.committed.version() <= balance.persisted || !balance.tryStartFlush()) {
+                return;
+            }
+            pendingCount.incrementAndGet();
+        }
+    }
+
+    private static long stateOf(long version, long point) {
+        return version << POINT_BITS | point;
+    }
+
+    private static long versionOf(long state) {
+        return state >>> POINT_BITS;
+    }
+
+    private static long pointOf(long state) {
+        return state & POINT_MASK;
+    }
+
+    // 확정된 잔액과 그 버전, 함께 바꿔야 저장 스레드가 다른 버전의 잔액을 저장하지 않는다.
+    private record Committed(
+            UserPoint userPoint,
+            long version
+    ) {
+    }
+
+    private record Recorded(
+            UserPoint userPoint,
+            PointHistory history,
+            RuntimeException failure
+    ) {
+    }
+
+    /**
+     * 유저 한 명의 잔액
+     * - state : 버전과 잔액, CAS 로만 바꿉니다.
+     * - sequenced : 기록 대기열에 넣은 마지막 버전, published : 내역에 넣은 마지막 버전
+     * - committed : 기록과 내역 반영까지 끝난 마지막 잔액과 버전, published 차례 안에서만 바꾸고 조회와 테이블 저장은 이 값만 읽습니다.
+     * - gate : 요청끼리는 읽기 락으로 함께 지나가고, 노드 간 이동만 쓰기 락으로 막습니다.
+     * - persisted : 테이블에 저장한 마지막 committed 버전 (저장 스레드만 씀)
+     */
+    private static final class Balance {
+
+        private static final VarHandle STATE;
+        private static final VarHandle FLUSHING;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                STATE = lookup.findVarHandle(Balance.class, "state", long.class);
+                FLUSHING = lookup.findVarHandle(Balance.class, "flushing", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final long userId;
+        private final Turn sequenced = new Turn();
+        private final Turn published = new Turn();
+        private final StampedLock gate = new StampedLock();
+        private volatile long state;
+        private volatile long updateMillis;
+        private volatile long persisted;
+        private volatile int flushing;
+        private volatile Committed committed;
+
+        private Balance(long userId, long state, long updateMillis) {
+            this.userId = userId;
+            this.state = state;
+            this.updateMillis = updateMillis;
+            this.committed = new Committed(new UserPoint(userId, pointOf(state), updateMillis), versionOf(state));
+        }
+
+        private boolean compareAndSet(long expected, long next) {
+            return STATE.compareAndSet(this, expected, next);
+        }
+
+        private boolean tryStartFlush() {
+            return FLUSHING.compareAndSet(this, 0, 1);
+        }
+
+        private void endFlush() {
+            flushing = 0;
+        }
+    }
+
+    /**
+     * 버전 순서대로 한 번에 하나씩 지나가는 구간
+     * - 바로 앞 버전이 지나가기를 잠깐 spin 하며 기다리고, 그래도 안 되면 앞 버전이 깨울 때까지 park 합니다.
+     * - 기다리는 스레드가 없으면 지나갈 때 락을 잡지 않습니다.
+     */
+    private static final class Turn {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition advanced = lock.newCondition();
+        private final AtomicInteger waiters = new AtomicInteger();
+        private volatile long last;
+
+        private void await(long version) {
+            for (int spins = 0; spins < SPINS_BEFORE_PARK; spins++) {
+                if (last == version - 1) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+            // 대기 수를 먼저 올리고 다시 확인하므로, advance 가 대기 수를 0 으로 봤다면 여기서 바뀐 last 를 본다.
+            waiters.incrementAndGet();
+            lock.lock();
+            try {
+                while (last != version - 1) {
+                    advanced.awaitUninterruptibly();
+                }
+            } finally {
+                lock.unlock();
+                waiters.decrementAndGet();
+            }
+        }
+
+        private void advance(long version) {
+            last = version;
+            if (waiters.get() == 0) {
+                return;
+            }
+            lock.lock();
+            try {
+                advanced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * userId -> Balance open addressing 테이블
+     * - 조회는 락 없이 slot 을 읽고, 등록만 세그먼트 락 안에서 합니다.
+     * - 등록된 Balance 는 지우지 않으므로, 확장 전 테이블을 읽던 조회도 이미 있던 유저는 찾습니다.
+     */
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile AtomicReferenceArray<Balance> slots = new AtomicReferenceArray<>(64);
+        private int size;
+
+        private Balance get(long userId) {
+            AtomicReferenceArray<Balance> current = slots;
+            int mask = current.length() - 1;
+            for (int i = indexOf(userId, mask); ; i = (i + 1) & mask) {
+                Balance balance = current.get(i);
+                if (balance == null || balance.userId == userId) {
+                    return balance;
+                }
+            }
+        }
+
+        private Balance putIfAbsent(Balance balance) {
+            lock.lock();
+            try {
+                Balance existing = get(balance.userId);
+                if (existing != null) {
+                    return existing;
+                }
+                if ((size + 1) * 2 > slots.length()) {
+                    slots = resize(slots);
+                }
+                insert(slots, balance);
+                size++;
+                return balance;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static AtomicReferenceArray<Balance> resize(AtomicReferenceArray<Balance> current) {
+            AtomicReferenceArray<Balance> resized = new AtomicReferenceArray<>(current.length() * 2);
+            for (int i = 0; i < current.length(); i++) {
+                Balance balance = current.get(i);
+                if (balance != null) {
+                    insert(resized, balance);
+                }
+            }
+            return resized;
+        }
+
+        private static void insert(AtomicReferenceArray<Balance> target, Balance balance) {
+            int mask = target.length() - 1;
+            int i = indexOf(balance.userId, mask);
+            while (target.get(i) != null) {
+                i = (i + 1) & mask;
+            }
+            target.set(i, balance);
+        }
+
+        private static int indexOf(long userId, int mask) {
+            long hash = userId * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
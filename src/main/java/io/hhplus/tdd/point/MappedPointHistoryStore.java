@@ -0,0 +1,249 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 힙 밖(memory-mapped 파일 또는 direct ByteBuffer)에 컬럼으로 저장하는 포인트 내역 저장소
+ * - 내역 한 건이 힙에 객체로 남지 않으므로 내역이 늘어도 GC 대상이 늘지 않습니다.
+ * - 유저별로 블록(8건부터 두 배씩, 최대 4,096건)을 할당하고, 블록 안에 id / amount / updateMillis / type(byte) 컬럼을 나란히 둡니다.
+ *   userId 는 블록 단위로 유저가 정해지므로 따로 저장하지 않습니다.
+ * - 블록은 arena(기본 64MB) 단위로 확보한 버퍼에서 순서대로 잘라 씁니다.
+ * - 조회는 버퍼의 값을 바로 읽어 visitor 에 넘기며, 조회 시에만 PointHistory 를 만듭니다.
+ * - 파일은 힙 밖 저장 공간으로만 쓰며, 재시작 시 이어서 읽지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.history.store", name = "type", havingValue = "mapped")
+public class MappedPointHistoryStore implements PointHistoryStore, AutoCloseable {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int FIRST_BLOCK_ROWS = 8;
+    private static final int MAX_BLOCK_ROWS = 4096;
+    // id, amount, updateMillis(8 x 3) + type(1)
+    private static final int ROW_BYTES = 25;
+
+    private final Path directory;
+    private final int arenaSize;
+    private final ConcurrentHashMap<Long, UserHistory> histories = new ConcurrentHashMap<>();
+    private final List<FileChannel> files = new ArrayList<>();
+    private final ReentrantLock arenaLock = new ReentrantLock();
+
+    private ByteBuffer arena;
+    private int arenaPosition;
+    private int arenaCount;
+
+    public MappedPointHistoryStore(PointHistoryStoreProperties properties) {
+        this.directory = properties.directory().isBlank() ? null : Path.of(properties.directory());
+        this.arenaSize = (int) Math.min(Integer.MAX_VALUE, properties.arenaSize().toBytes());
+        if (arenaSize < MAX_BLOCK_ROWS * ROW_BYTES) {
+            throw new IllegalArgumentException("arenaSize 는 최소 " + MAX_BLOCK_ROWS * ROW_BYTES + " 바이트 이상이어야 합니다.");
+        }
+    }
+
+    @Override
+    public void append(PointHistory pointHistory) {
+        histories.computeIfAbsent(pointHistory.userId(), UserHistory::new).append(pointHistory);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<PointHistory> result = new ArrayList<>();
+        scan(userId, PointHistoryQuery.all(), (id, ignored, amount, type, updateMillis) ->
+                result.add(new PointHistory(id, userId, amount, type, updateMillis)));
+        return result;
+    }
+
+    @Override
+    public long scan(long userId, PointHistoryQuery query, PointHistoryVisitor visitor) {
+        UserHistory history = histories.get(userId);
+        return history == null ? 0L : history.scan(query, visitor);
+    }
+
+    // 지금까지 확보한 힙 밖 저장 공간 크기
+    public long reservedBytes() {
+        arenaLock.lock();
+        try {
+            return (long) arenaCount * arenaSize;
+        } finally {
+            arenaLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        arenaLock.lock();
+        try {
+            for (FileChannel file : files) {
+                file.close();
+            }
+            files.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            arenaLock.unlock();
+        }
+    }
+
+    // 블록 하나를 잘라 줌, 현재 arena 에 자리가 없으면 새 arena 를 확보
+    private Block allocate(int rows) {
+        int bytes = rows * ROW_BYTES;
+        arenaLock.lock();
+        try {
+            if (arena == null || arenaPosition + bytes > arenaSize) {
+                arena = newArena();
+                arenaPosition = 0;
+            }
+            Block block = new Block(arena, arenaPosition, rows);
+            arenaPosition += bytes;
+            return block;
+        } finally {
+            arenaLock.unlock();
+        }
+    }
+
+    private ByteBuffer newArena() {
+        arenaCount++;
+        if (directory == null) {
+            return ByteBuffer.allocateDirect(arenaSize);
+        }
+        try {
+            Files.createDirectories(directory);
+            Path path = directory.resolve(String.format("history-%06d.col", files.size()));
+            FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DELETE_ON_CLOSE);
+            files.add(file);
+            return file.map(FileChannel.MapMode.READ_WRITE, 0, arenaSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 컬럼 파일을 만들지 못했습니다.", e);
+        }
+    }
+
+    // 유저별 블록 목록, 추가는 lock 안에서만 하고 size 를 마지막에 갱신해 조회 스레드에 공개한다.
+    private final class UserHistory {
+
+        private final long userId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Block[] blocks = new Block[0];
+        private volatile int size;
+        private int capacity;
+
+        private UserHistory(long userId) {
+            this.userId = userId;
+        }
+
+        private void append(PointHistory pointHistory) {
+            lock.lock();
+            try {
+                Block[] current = blocks;
+                if (size == capacity) {
+                    int rows = current.length == 0
+                            ? FIRST_BLOCK_ROWS
+                            : Math.min(current[current.length - 1].rows() * 2, MAX_BLOCK_ROWS);
+                    current = Arrays.copyOf(current, current.length + 1);
+                    current[current.length - 1] = allocate(rows);
+                    blocks = current;
+                    capacity += rows;
+                }
+                Block last = current[current.length - 1];
+                last.set(last.rows() - (capacity - size), pointHistory);
+                size++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long scan(PointHistoryQuery query, PointHistoryVisitor visitor) {
+            int count = size;
+            if (count == 0) {
+                return 0L;
+            }
+            Block[] current = blocks;
+            int remaining = count;
+            long lastId = 0L;
+            boolean visiting = true;
+            for (int b = 0; b < current.length && remaining > 0; b++) {
+                Block block = current[b];
+                int rows = Math.min(block.rows(), remaining);
+                remaining -= rows;
+                lastId = block.id(rows - 1);
+                // cursor 이전 블록은 건너뜀
+                if (!visiting || lastId <= query.cursor()) {
+                    continue;
+                }
+                for (int i = block.search(rows, query.cursor()); i < rows; i++) {
+                    long id = block.id(i);
+                    TransactionType type = TYPES[block.type(i)];
+                    long updateMillis = block.updateMillis(i);
+                    if (query.matches(id, type, updateMillis)
+                            && !visitor.visit(id, userId, block.amount(i), type, updateMillis)) {
+                        visiting = false;
+                        break;
+                    }
+                }
+            }
+            return lastId;
+        }
+    }
+
+    /**
+     * 버퍼 안의 블록
+     * [id x rows][amount x rows][updateMillis x rows][type x rows]
+     */
+    private record Block(
+            ByteBuffer buffer,
+            int offset,
+            int rows
+    ) {
+
+        private long id(int index) {
+            return buffer.getLong(offset + index * 8);
+        }
+
+        private long amount(int index) {
+            return buffer.getLong(offset + rows * 8 + index * 8);
+        }
+
+        private long updateMillis(int index) {
+            return buffer.getLong(offset + rows * 16 + index * 8);
+        }
+
+        private byte type(int index) {
+            return buffer.get(offset + rows * 24 + index);
+        }
+
+        private void set(int index, PointHistory pointHistory) {
+            buffer.putLong(offset + index * 8, pointHistory.id());
+            buffer.putLong(offset + rows * 8 + index * 8, pointHistory.amount());
+            buffer.putLong(offset + rows * 16 + index * 8, pointHistory.updateMillis());
+            buffer.put(offset + rows * 24 + index, (byte) pointHistory.type().ordinal());
+        }
+
+        // cursor 보다 큰 첫 id 위치 (이진 탐색)
+        private int search(int count, long cursor) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (id(mid) <= cursor) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+
+/**
+ * 동시 처리 한도를 넘어 거절한 요청
+ */
+public class PointAdmissionException extends RuntimeException {
+
+    private final PointAdmissionLimiter.Operation operation;
+    private final Duration retryAfter;
+
+    public PointAdmissionException(PointAdmissionLimiter.Operation operation, Duration retryAfter) {
+        super("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        this.operation = operation;
+        this.retryAfter = retryAfter;
+    }
+
+    public PointAdmissionLimiter.Operation getOperation() {
+        return operation;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
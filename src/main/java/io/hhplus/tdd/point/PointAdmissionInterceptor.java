@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 포인트 API 요청을 PointAdmissionLimiter 에 통과시킴
+ * - GET 과 내역 조회(/histories)는 READ, 나머지(충전/사용/일괄 처리)는 WRITE 로 구분합니다.
+ * - 스트리밍처럼 비동기로 이어지는 요청은 비동기 처리가 끝날 때 한도를 돌려줍니다.
+ * - 비동기 요청(스트리밍/리액티브)과 일괄 처리는 건수나 내보낼 양에 따라 오래 걸리므로, 응답 시간을 한도 조정에 쓰지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointAdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = PointAdmissionInterceptor.class.getName() + ".permit";
+
+    private final PointAdmissionLimiter pointAdmissionLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 재처리(dispatch)는 처음 요청에서 이미 한도를 잡았다.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        PointAdmissionLimiter.Operation operation = operationOf(request);
+        long startedAt = pointAdmissionLimiter.acquire(operation);
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(operation, startedAt, !request.getRequestURI().endsWith("/batch")));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.setAttribute(PERMIT_ATTRIBUTE, new Permit(permit.operation(), permit.startedAt(), false));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            if (permit.measured()) {
+                pointAdmissionLimiter.release(permit.operation(), permit.startedAt());
+            } else {
+                pointAdmissionLimiter.release(permit.operation());
+            }
+        }
+    }
+
+    private PointAdmissionLimiter.Operation operationOf(HttpServletRequest request) {
+        if ("GET".equals(request.getMethod()) || request.getRequestURI().contains("/histories")) {
+            return PointAdmissionLimiter.Operation.READ;
+        }
+        return PointAdmissionLimiter.Operation.WRITE;
+    }
+
+    private record Permit(
+            PointAdmissionLimiter.Operation operation,
+            long startedAt,
+            boolean measured
+    ) {
+    }
+}
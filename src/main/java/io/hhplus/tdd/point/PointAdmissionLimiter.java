@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 API 동시 처리 한도 (AIMD)
+ * - 처리 중인 요청 수가 한도에 닿으면 새 요청을 바로 거절해, 테이블이 느려져도 요청이 스레드에 쌓이지 않게 합니다.
+ * - 충전/사용(WRITE)은 처리 중인 요청 수가 한도 미만이면 받고, 조회(READ)는 한도의 readRatio 미만일 때만 받습니다.
+ *   조회가 몰려도 충전/사용 몫이 남습니다.
+ * - 응답 시간이 targetLatency 이하이면 한도를 1/한도 씩 늘리고, 넘으면 backoffRatio 를 곱해 줄입니다.
+ *   한 번 줄인 뒤 targetLatency 동안은 다시 줄이지 않습니다.
+ * - 원래 오래 걸리는 요청은 release(operation) 으로 돌려줘, 처리 중에는 한도를 차지하되 응답 시간으로 한도를 줄이지 않습니다.
+ */
+@Component
+public class PointAdmissionLimiter {
+
+    private final PointAdmissionProperties properties;
+    private final PointMetrics pointMetrics;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Operation, AtomicInteger> inFlightByOperation = new EnumMap<>(Operation.class);
+    private final ReentrantLock limitLock = new ReentrantLock();
+    private final long targetLatencyNanos;
+
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public PointAdmissionLimiter(PointAdmissionProperties properties, PointMetrics pointMetrics) {
+        this.properties = properties;
+        this.pointMetrics = pointMetrics;
+        this.targetLatencyNanos = properties.targetLatency().toNanos();
+        this.limit = properties.initialLimit();
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+        for (Operation operation : Operation.values()) {
+            inFlightByOperation.put(operation, new AtomicInteger());
+        }
+    }
+
+    /**
+     * 한도 안이면 처리 시작 시각을 돌려주고, 넘으면 PointAdmissionException
+     * 처리가 끝나면 반드시 release 를 호출해야 합니다.
+     */
+    public long acquire(Operation operation) {
+        if (!properties.enabled()) {
+            return System.nanoTime();
+        }
+        int capacity = capacity(operation);
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= capacity) {
+                pointMetrics.countAdmissionRejection(operation);
+                throw new PointAdmissionException(operation, properties.retryAfter());
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        inFlightByOperation.get(operation).incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void release(Operation operation, long startedAt) {
+        if (!properties.enabled()) {
+            return;
+        }
+        int current = inFlight.getAndDecrement();
+        inFlightByOperation.get(operation).decrementAndGet();
+        adjust(System.nanoTime() - startedAt, current);
+    }
+
+    // 응답 시간을 한도 조정에 쓰지 않고 돌려줌 (스트리밍/일괄 처리처럼 원래 오래 걸리는 요청)
+    public void release(Operation operation) {
+        if (!properties.enabled()) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        inFlightByOperation.get(operation).decrementAndGet();
+    }
+
+    // 현재 동시 처리 한도
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight(Operation operation) {
+        return inFlightByOperation.get(operation).get();
+    }
+
+    private int capacity(Operation operation) {
+        int current = (int) limit;
+        return operation == Operation.WRITE ? current : Math.max(1, (int) (current * properties.readRatio()));
+    }
+
+    private void adjust(long latencyNanos, int inFlightAtRelease) {
+        limitLock.lock();
+        try {
+            if (latencyNanos > targetLatencyNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                    lastDecreaseNanos = now;
+                    limit = Math.max(properties.minLimit(), limit * properties.backoffRatio());
+                }
+            } else if (inFlightAtRelease * 2 >= limit) {
+                // 한도를 절반 이상 쓰고 있을 때만 늘린다. 한가할 때 한도가 끝없이 커지지 않게 한다.
+                limit = Math.min(properties.maxLimit(), limit + 1.0 / limit);
+            }
+        } finally {
+            limitLock.unlock();
+        }
+    }
+
+    public enum Operation {
+        WRITE, READ
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 API 동시 처리 제한 설정
+ * - enabled : 동시 처리 제한 사용 여부
+ * - initialLimit / minLimit / maxLimit : 동시 처리 한도의 시작값과 범위
+ * - readRatio : 조회 요청이 쓸 수 있는 한도 비율, 나머지는 충전/사용 요청 몫으로 남습니다.
+ * - targetLatency : 응답 시간이 이 값을 넘으면 한도를 줄입니다.
+ * - backoffRatio : 한도를 줄일 때 곱하는 비율
+ * - retryAfter : 거절 응답의 Retry-After
+ */
+@ConfigurationProperties(prefix = "point.admission")
+public record PointAdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("64") int initialLimit,
+        @DefaultValue("8") int minLimit,
+        @DefaultValue("512") int maxLimit,
+        @DefaultValue("0.5") double readRatio,
+        @DefaultValue("1s") Duration targetLatency,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("1s") Duration retryAfter
+) {
+}
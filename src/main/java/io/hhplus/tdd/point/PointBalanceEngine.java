@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 잔액 갱신 엔진
+ * - point.balance.engine 으로 구현을 고릅니다. (combiner : UserPointCombiner, cas : AtomicBalanceEngine)
+ * - 충전/사용 정책 검사, 잔액 저장, PointWal 기록, 내역 추가까지 맡습니다.
+ */
+public interface PointBalanceEngine {
+
+    /**
+     * 잔액을 엔진이 직접 보관하는 유저면 현재 잔액을 돌려줍니다.
+     * 보관하지 않는 엔진이나 유저는 null 을 돌려주며, 이때 조회는 캐시/테이블을 사용합니다.
+     */
+    UserPoint select(long userId);
+
+    // 충전/사용 요청 후 결과를 기다림
+    UserPoint execute(long userId, long amount, TransactionType type);
+
+    // 같은 유저의 충전/사용 요청 여러 건을 순서대로 처리
+    List<CompletableFuture<UserPoint>> submitAll(long userId, List<PointBatchItem> items);
+
+    // 그 유저의 충전/사용이 끼어들지 않게 막은 채로 실행 (노드 간 이동에서 잔액과 내역을 함께 넘기고 받을 때)
+    <T> T executeExclusively(long userId, Supplier<T> action);
+
+    // 다른 노드에서 넘겨받아 테이블에 저장한 잔액을 엔진에 반영, executeExclusively 안에서 호출
+    void restore(UserPoint userPoint);
+
+    // 처리 또는 테이블 저장을 기다리는 건수
+    int pendingCount();
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 충전/사용 요청 항목
+ */
+public record PointBatchItem(
+        long userId,
+        long amount,
+        TransactionType type
+) {
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 일괄 충전/사용 응답
+ * - results 는 요청 항목과 같은 순서입니다.
+ */
+public record PointBatchResponse(
+        int successCount,
+        int failureCount,
+        List<PointBatchResult> results
+) {
+
+    public static PointBatchResponse of(List<PointBatchResult> results) {
+        int successCount = (int) results.stream().filter(PointBatchResult::success).count();
+        return new PointBatchResponse(successCount, results.size() - successCount, results);
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 충전/사용 항목별 처리 결과
+ * - 성공하면 point 에 처리 직후 잔액을, 실패하면 code/message 에 실패 사유를 담습니다.
+ */
+public record PointBatchResult(
+        long userId,
+        long amount,
+        TransactionType type,
+        boolean success,
+        Long point,
+        String code,
+        String message
+) {
+
+    public static PointBatchResult success(PointBatchItem item, UserPoint userPoint) {
+        return new PointBatchResult(item.userId(), item.amount(), item.type(), true, userPoint.point(), null, null);
+    }
+
+    public static PointBatchResult failure(PointBatchItem item, String code, String message) {
+        return new PointBatchResult(item.userId(), item.amount(), item.type(), false, null, code, message);
+    }
+}
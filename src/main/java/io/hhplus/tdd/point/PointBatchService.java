@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 여러 유저 포인트 일괄 충전/사용
+ * - 항목을 유저별로 묶어 유저마다 일괄 처리 전용 pointBatchExecutor 에서 동시에 처리합니다.
+ *   유저가 batchConcurrency 이하이면 전체 처리 시간은 가장 느린 유저에 맞춰지고, 넘으면 유저 수 / batchConcurrency 회 만큼 늘어납니다.
+ *   (point.execution.batch-concurrency, 기본 256)
+ * - 잔액의 테이블 저장은 UserPointTableGuard 의 저장 스레드가 응답 뒤에 차례로 하므로 처리 시간에 더해지지 않습니다.
+ *   저장이 밀리면 유저별 마지막 잔액만 저장하며, 테이블 반영은 유저 수만큼 늦어질 수 있습니다.
+ * - 같은 유저의 항목은 요청 순서대로 PointBalanceEngine 에 한 번에 넘깁니다.
+ *   (combiner 엔진은 병합 대기열에 한 번에 넣어, 유저당 잔액 저장이 한 번으로 끝납니다.)
+ * - 항목마다 충전/사용 정책을 검사하고, 실패한 항목이 있어도 나머지 항목은 처리합니다.
+ */
+@Service
+public class PointBatchService {
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private static final Logger log = LoggerFactory.getLogger(PointBatchService.class);
+
+    private final PointBalanceEngine pointBalanceEngine;
+    private final ExecutorService pointBatchExecutor;
+
+    public PointBatchService(PointBalanceEngine pointBalanceEngine,
+                             @Qualifier("pointBatchExecutor") ExecutorService pointBatchExecutor) {
+        this.pointBalanceEngine = pointBalanceEngine;
+        this.pointBatchExecutor = pointBatchExecutor;
+    }
+
+    public PointBatchResponse execute(List<PointBatchItem> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new PointException(PointErrorCode.BATCH_SIZE_EXCEEDED);
+        }
+
+        PointBatchResult[] results = new PointBatchResult[items.size()];
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            PointBatchItem item = items.get(i);
+            if (item.type() == null) {
+                results[i] = failure(item, new PointException(PointErrorCode.INVALID_TRANSACTION_TYPE));
+                continue;
+            }
+            indexesByUser.computeIfAbsent(item.userId(), key -> new ArrayList<>()).add(i);
+        }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(indexesByUser.size());
+        indexesByUser.forEach((userId, indexes) -> tasks.add(
+                CompletableFuture.runAsync(() -> executeUser(userId, indexes, items, results), pointBatchExecutor)));
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+        return PointBatchResponse.of(Arrays.asList(results));
+    }
+
+    // 한 유저의 항목을 요청 순서대로 처리
+    private void executeUser(long userId, List<Integer> indexes, List<PointBatchItem> items, PointBatchResult[] results) {
+        List<PointBatchItem> userItems = indexes.stream().map(items::get).toList();
+        List<CompletableFuture<UserPoint>> futures;
+        try {
+            futures = pointBalanceEngine.submitAll(userId, userItems);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = failure(userItems.get(i), e);
+            }
+            return;
+        }
+        for (int i = 0; i < indexes.size(); i++) {
+            PointBatchItem item = userItems.get(i);
+            try {
+                results[indexes.get(i)] = PointBatchResult.success(item, futures.get(i).join());
+            } catch (CompletionException e) {
+                results[indexes.get(i)] = failure(item, e.getCause());
+            }
+        }
+    }
+
+    private PointBatchResult failure(PointBatchItem item, Throwable cause) {
+        if (cause instanceof PointException e) {
+            return PointBatchResult.failure(item, e.getErrorCode().name(), e.getMessage());
+        }
+        log.error("일괄 처리 중 유저 {} 항목 처리에 실패했습니다.", item.userId(), cause);
+        return PointBatchResult.failure(item, "500", "에러가 발생했습니다.");
+    }
+}
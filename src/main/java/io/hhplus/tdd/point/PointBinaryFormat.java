@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 포인트 API 바이너리 형식 (application/x-point-binary)
+ * - 모든 값은 little-endian 고정 길이로 씁니다.
+ * - UserPoint (24 바이트) : id(8) point(8) updateMillis(8)
+ * - PointHistory (33 바이트) : id(8) userId(8) amount(8) updateMillis(8) type(1, TransactionType 순서)
+ * - 내역 응답은 PointHistory 를 헤더 없이 이어 붙인 것으로, 건수는 응답 길이 / 33 입니다.
+ */
+public final class PointBinaryFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-point-binary";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    public static final int USER_POINT_BYTES = 24;
+    public static final int HISTORY_BYTES = 33;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointBinaryFormat() {
+    }
+
+    public static void writeUserPoint(ByteBuffer buffer, UserPoint userPoint) {
+        buffer.putLong(userPoint.id());
+        buffer.putLong(userPoint.point());
+        buffer.putLong(userPoint.updateMillis());
+    }
+
+    public static UserPoint readUserPoint(ByteBuffer buffer) {
+        return new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    public static void writeHistory(ByteBuffer buffer, long id, long userId, long amount, TransactionType type, long updateMillis) {
+        buffer.putLong(id);
+        buffer.putLong(userId);
+        buffer.putLong(amount);
+        buffer.putLong(updateMillis);
+        buffer.put((byte) type.ordinal());
+    }
+
+    public static PointHistory readHistory(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        long userId = buffer.getLong();
+        long amount = buffer.getLong();
+        long updateMillis = buffer.getLong();
+        return new PointHistory(id, userId, amount, TYPES[buffer.get()], updateMillis);
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * UserPoint 바이너리 변환기
+ * - Accept 에 application/x-point-binary 가 있을 때만 쓰이고, 그 외에는 기존처럼 JSON 으로 응답합니다.
+ * - 오류 응답은 JSON 이므로 클라이언트는 Accept 에 application/json 도 함께 보내는 것을 권장합니다.
+ */
+public class PointBinaryMessageConverter extends AbstractHttpMessageConverter<UserPoint> {
+
+    public PointBinaryMessageConverter() {
+        super(PointBinaryFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserPoint.class == clazz;
+    }
+
+    @Override
+    protected UserPoint readInternal(Class<? extends UserPoint> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] bytes = inputMessage.getBody().readNBytes(PointBinaryFormat.USER_POINT_BYTES);
+        if (bytes.length != PointBinaryFormat.USER_POINT_BYTES) {
+            throw new HttpMessageNotReadableException("UserPoint 바이너리는 " + PointBinaryFormat.USER_POINT_BYTES + " 바이트여야 합니다.", inputMessage);
+        }
+        return PointBinaryFormat.readUserPoint(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    @Override
+    protected void writeInternal(UserPoint userPoint, HttpOutputMessage outputMessage) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PointBinaryFormat.USER_POINT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        PointBinaryFormat.writeUserPoint(buffer, userPoint);
+        outputMessage.getBody().write(buffer.array());
+    }
+
+    @Override
+    protected Long getContentLength(UserPoint userPoint, MediaType contentType) {
+        return (long) PointBinaryFormat.USER_POINT_BYTES;
+    }
+}
@@ -2,8 +2,12 @@ package io.hhplus.tdd.point;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @RestController
@@ -11,10 +15,20 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
     private final PointService pointService;
+    private final PointHistoryExporter pointHistoryExporter;
+    private final PointSummaryAggregator pointSummaryAggregator;
+    private final PointShardService pointShardService;
 
-    public PointController(PointService pointService) {
+    public PointController(PointService pointService, PointHistoryExporter pointHistoryExporter,
+                           PointSummaryAggregator pointSummaryAggregator, PointShardService pointShardService) {
         this.pointService = pointService;
+        this.pointHistoryExporter = pointHistoryExporter;
+        this.pointSummaryAggregator = pointSummaryAggregator;
+        this.pointShardService = pointShardService;
     }
 
     // 특정 유저 포인트 조회
@@ -23,10 +37,66 @@ public class PointController {
         return pointService.selectPoint(id);
     }
 
-    // 특정 유저 포인트 충전/이용 내역 조회
+    /**
+     * 특정 유저 포인트 충전/이용 내역 조회
+     * - limit : 최대 조회 건수 (최대 1,000건), 다음 페이지가 있으면 X-Next-Cursor 헤더로 cursor 를 내려줍니다.
+     * - cursor : 이 내역 id 이후부터 조회
+     * - from, to : updateMillis 범위 [from, to)
+     * - type : CHARGE / USE
+     */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(@PathVariable long id) {
-        return pointService.selectPointHistory(id);
+    public ResponseEntity<List<PointHistory>> history(@PathVariable long id,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) Long cursor,
+                                                      @RequestParam(required = false) Long from,
+                                                      @RequestParam(required = false) Long to,
+                                                      @RequestParam(required = false) TransactionType type) {
+        PointHistoryPage page = pointService.selectPointHistory(id, PointHistoryQuery.of(limit, cursor, from, to, type));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.histories());
+    }
+
+    // 특정 유저 포인트 충전/이용 내역 바이너리 조회 (Accept: application/x-point-binary), 조건은 JSON 조회와 같습니다.
+    @GetMapping(value = "{id}/histories", produces = PointBinaryFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<byte[]> historyBinary(@PathVariable long id,
+                                                @RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) Long cursor,
+                                                @RequestParam(required = false) Long from,
+                                                @RequestParam(required = false) Long to,
+                                                @RequestParam(required = false) TransactionType type) {
+        PointHistoryBinaryPage page = pointHistoryExporter.exportBinary(id, PointHistoryQuery.of(limit, cursor, from, to, type));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(PointBinaryFormat.MEDIA_TYPE);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.body());
+    }
+
+    // 특정 유저 누적 충전/사용 금액과 건수 조회
+    @GetMapping("{id}/summary")
+    public PointSummary summary(@PathVariable long id) {
+        return pointSummaryAggregator.select(id);
+    }
+
+    // 특정 유저 포인트 충전/이용 내역 NDJSON 스트리밍
+    @GetMapping("{id}/histories/stream")
+    public ResponseEntity<StreamingResponseBody> historyStream(@PathVariable long id) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(pointHistoryExporter.export(List.of(id)));
+    }
+
+    // 여러 유저 포인트 충전/이용 내역 NDJSON 스트리밍, 요청한 유저 순서대로 한 번씩 내보냅니다.
+    // 샤딩을 쓰면 다른 노드가 담당하는 유저의 내역은 그 노드에서 받아 내보냅니다.
+    @PostMapping("histories/stream")
+    public ResponseEntity<StreamingResponseBody> historiesStream(@RequestBody List<Long> userIds,
+                                                                 @RequestHeader(value = PointShardClient.FORWARDED_HEADER, required = false) String forwardedBy) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(pointShardService.exportHistories(new LinkedHashSet<>(userIds), forwardedBy != null));
     }
 
     /**
@@ -42,11 +112,13 @@ public class PointController {
      * 3. 최대 충전 한도 초과 > 최대 충전 가능 금액 100,000원
      * 4. 포인트 충전 시 잔액이 1,000,000원 초과 일 경우
      * 5. 시스템 에러 > DB 오류, 네트워크 에러 등
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 충전하지 않고 처음 결과를 돌려줍니다.
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(@PathVariable long id,
-                            @RequestBody long amount) {
-        return pointService.insertPoint(id, amount);
+                            @RequestBody long amount,
+                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return pointService.insertPoint(id, amount, idempotencyKey);
     }
 
     /**
@@ -63,10 +135,25 @@ public class PointController {
      * 5. 사용 한도 초과 > 1회 최대 사용 가능 금액 초과하는 경우 500,000원
      * 6. 유효하지 않은 유저 상태
      * 7. 시스템 에러 > DB 오류, 네트워크 에러 등
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 사용하지 않고 처음 결과를 돌려줍니다.
      */
     @PatchMapping("{id}/use")
     public UserPoint use(@PathVariable long id,
-                         @RequestBody long amount) {
-        return pointService.updatePoint(id, amount);
+                         @RequestBody long amount,
+                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return pointService.updatePoint(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 여러 유저 포인트 일괄 충전/사용
+     * - 항목마다 충전/사용 정책을 검사하고, 요청 항목과 같은 순서로 항목별 성공/실패 결과를 내려줍니다.
+     * - 같은 유저의 항목은 요청 순서대로 처리합니다.
+     * - 한 번에 최대 10,000건
+     * - 샤딩을 쓰면 항목을 담당 노드별로 나눠 처리합니다.
+     */
+    @PostMapping("batch")
+    public PointBatchResponse batch(@RequestBody List<PointBatchItem> items,
+                                    @RequestHeader(value = PointShardClient.FORWARDED_HEADER, required = false) String forwardedBy) {
+        return pointShardService.executeBatch(items, forwardedBy != null);
     }
 }
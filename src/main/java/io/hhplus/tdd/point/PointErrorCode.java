@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 정책 위반 사유
+ */
+public enum PointErrorCode {
+    INVALID_CHARGE_AMOUNT("충전 금액은 0보다 커야합니다."),
+    CHARGE_AMOUNT_BELOW_MIN("충전 금액은 최소 1000원 이상이어야 합니다."),
+    CHARGE_AMOUNT_ABOVE_MAX("충전 금액은 최대 100,000원 이하여야 합니다."),
+    BALANCE_LIMIT_EXCEEDED("최대 포인트 잔액은 1,000,000원입니다."),
+    INVALID_USE_AMOUNT("요청한 포인트 금액이 0보다 작습니다."),
+    USE_AMOUNT_BELOW_MIN("포인트는 1,000원 이상 사용 가능합니다."),
+    USE_AMOUNT_ABOVE_MAX("포인트는 500,000원 이하 사용 가능합니다."),
+    INSUFFICIENT_BALANCE("사용 가능한 포인트가 없습니다."),
+    INVALID_TRANSACTION_TYPE("거래 종류는 CHARGE 또는 USE 여야 합니다."),
+    BATCH_SIZE_EXCEEDED("일괄 처리는 한 번에 최대 10,000건까지 가능합니다."),
+    INVALID_IDEMPOTENCY_KEY("Idempotency-Key 는 1자 이상 100자 이하여야 합니다."),
+    IDEMPOTENCY_KEY_REUSED("이미 다른 요청에 사용한 Idempotency-Key 입니다.");
+
+    private final String message;
+
+    PointErrorCode(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+public class PointException extends RuntimeException {
+
+    private final PointErrorCode errorCode;
+
+    public PointException(PointErrorCode errorCode) {
+        super(errorCode.getMessage());
+        this.errorCode = errorCode;
+    }
+
+    public PointErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 담당 노드가 바뀐 유저의 잔액과 내역
+ */
+public record PointHandoff(
+        UserPoint userPoint,
+        List<PointHistory> histories
+) {
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 바이너리로 인코딩한 포인트 내역 조회 결과
+ * - body : PointBinaryFormat 내역 형식으로 이어 붙인 내역
+ * - nextCursor : 다음 페이지 조회에 사용할 cursor, 마지막 페이지이면 null
+ */
+public record PointHistoryBinaryPage(
+        byte[] body,
+        Long nextCursor
+) {
+}
@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 포인트 내역 NDJSON 내보내기
+ * - 내역을 List 로 모으지 않고 한 줄에 한 건씩 바로 응답 스트림에 씁니다.
+ * - PointHistory 객체도 만들지 않고 컬럼 값을 JsonGenerator 로 직접 씁니다.
+ * - 바이너리 조회도 같은 방식으로 컬럼 값을 버퍼에 바로 씁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointHistoryExporter {
+
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final int INITIAL_BINARY_ROWS = 64;
+
+    private final ObjectMapper objectMapper;
+    private final PointHistoryWriter pointHistoryWriter;
+
+    public StreamingResponseBody export(Collection<Long> userIds) {
+        return outputStream -> write(userIds, outputStream);
+    }
+
+    /**
+     * 조건에 맞는 내역을 PointBinaryFormat 으로 인코딩합니다.
+     * limit 보다 한 건 더 읽어 다음 페이지가 있으면 nextCursor 를 채웁니다.
+     */
+    public PointHistoryBinaryPage exportBinary(long userId, PointHistoryQuery query) {
+        ByteBuffer[] buffer = {newBuffer(Math.min(query.limit(), INITIAL_BINARY_ROWS))};
+        int[] count = {0};
+        Long[] nextCursor = {null};
+        long[] lastId = {0L};
+        pointHistoryWriter.scan(userId, query, (id, ignored, amount, type, updateMillis) -> {
+            if (count[0] == query.limit()) {
+                nextCursor[0] = lastId[0];
+                return false;
+            }
+            if (buffer[0].remaining() < PointBinaryFormat.HISTORY_BYTES) {
+                buffer[0] = newBuffer(buffer[0].capacity() / PointBinaryFormat.HISTORY_BYTES * 2).put(buffer[0].flip());
+            }
+            PointBinaryFormat.writeHistory(buffer[0], id, userId, amount, type, updateMillis);
+            lastId[0] = id;
+            count[0]++;
+            return true;
+        });
+        byte[] array = buffer[0].array();
+        int length = buffer[0].position();
+        return new PointHistoryBinaryPage(length == array.length ? array : Arrays.copyOf(array, length), nextCursor[0]);
+    }
+
+    private ByteBuffer newBuffer(int rows) {
+        return ByteBuffer.allocate(Math.max(1, rows) * PointBinaryFormat.HISTORY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void write(Collection<Long> userIds, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            int[] count = {0};
+            for (long userId : userIds) {
+                pointHistoryWriter.scan(userId, PointHistoryQuery.all(), (id, ignored, amount, type, updateMillis) -> {
+                    writeLine(generator, id, userId, amount, type, updateMillis);
+                    if (++count[0] % FLUSH_INTERVAL == 0) {
+                        flush(generator);
+                    }
+                    return true;
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeLine(JsonGenerator generator, long id, long userId, long amount, TransactionType type, long updateMillis) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeNumberField("userId", userId);
+            generator.writeNumberField("amount", amount);
+            generator.writeStringField("type", type.name());
+            generator.writeNumberField("updateMillis", updateMillis);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush(JsonGenerator generator) {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * 포인트 내역을 유저별로 차례로 더해 만든 값 (PointProjection 잔액, PointSummaryAggregator 집계)
+ * - 내역이 추가될 때마다 PointHistoryListener 로 해당 유저 값만 갱신합니다.
+ * - 유저별로 마지막으로 더한 내역 id 를 함께 두어, 재생성 중 추가된 내역이 빠지거나 두 번 더해지지 않게 합니다.
+ * - 재생성은 유저 목록을 나눠 fork-join 으로 병렬 처리하고, 유저별 내역은 PointHistoryWriter.scan 으로 PointHistory 객체 없이 읽습니다.
+ *   (테이블은 동시 적재 중 순회할 수 없고, 복구한 내역은 저장소에만 있습니다.)
+ */
+final class PointHistoryFold<S> {
+
+    private static final int REBUILD_THRESHOLD = 64;
+
+    private final PointHistoryWriter pointHistoryWriter;
+    private final LongFunction<S> empty;
+    private final Step<S> step;
+    private final ConcurrentHashMap<Long, Folded<S>> values = new ConcurrentHashMap<>();
+
+    PointHistoryFold(PointHistoryWriter pointHistoryWriter, LongFunction<S> empty, Step<S> step) {
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.empty = empty;
+        this.step = step;
+        pointHistoryWriter.addListener(this::add);
+    }
+
+    // 더한 내역이 없으면 null
+    S get(long userId) {
+        Folded<S> folded = values.get(userId);
+        return folded == null ? null : folded.value();
+    }
+
+    boolean contains(long userId) {
+        return values.containsKey(userId);
+    }
+
+    Set<Long> userIds() {
+        return Set.copyOf(values.keySet());
+    }
+
+    // 주어진 유저들의 값을 내역으로 다시 만들고, 다시 더한 내역 건수를 돌려줌
+    long rebuild(Collection<Long> userIds) {
+        long[] ids = userIds.stream().mapToLong(Long::longValue).toArray();
+        LongAdder events = new LongAdder();
+        ForkJoinPool.commonPool().invoke(new Rebuild(ids, 0, ids.length, events));
+        return events.sum();
+    }
+
+    // 내역 추가 시 호출, 이미 더한 내역(재생성에서 먼저 읽은 내역)은 건너뜀
+    private void add(PointHistory pointHistory) {
+        values.compute(pointHistory.userId(), (userId, folded) -> {
+            Folded<S> current = folded == null ? new Folded<>(empty.apply(userId), 0L) : folded;
+            return pointHistory.id() <= current.lastId()
+                    ? current
+                    : new Folded<>(step.add(current.value(), pointHistory.type(), pointHistory.amount()), pointHistory.id());
+        });
+    }
+
+    // 처음부터 다시 더한 뒤, 그 사이 리스너가 더 최근 내역을 반영했으면 그 이후 내역을 이어서 더함
+    private void rebuild(long userId, LongAdder events) {
+        Folded<S> rebuilt = fold(userId, new Folded<>(empty.apply(userId), 0L), events);
+        values.compute(userId, (ignored, current) ->
+                current == null || current.lastId() <= rebuilt.lastId() ? rebuilt : fold(userId, rebuilt, events));
+    }
+
+    private Folded<S> fold(long userId, Folded<S> from, LongAdder events) {
+        Accumulator<S> accumulator = new Accumulator<>(from);
+        pointHistoryWriter.scan(userId, PointHistoryQuery.of(null, from.lastId(), null, null, null), (id, ignored, amount, type, updateMillis) -> {
+            accumulator.value = step.add(accumulator.value, type, amount);
+            accumulator.lastId = id;
+            accumulator.count++;
+            return true;
+        });
+        events.add(accumulator.count);
+        return new Folded<>(accumulator.value, accumulator.lastId);
+    }
+
+    // 지금까지 더한 값에 내역 한 건을 더함
+    @FunctionalInterface
+    interface Step<S> {
+        S add(S value, TransactionType type, long amount);
+    }
+
+    private record Folded<S>(
+            S value,
+            long lastId
+    ) {
+    }
+
+    private static final class Accumulator<S> {
+
+        private S value;
+        private long lastId;
+        private long count;
+
+        private Accumulator(Folded<S> from) {
+            this.value = from.value();
+            this.lastId = from.lastId();
+        }
+    }
+
+    private final class Rebuild extends RecursiveAction {
+
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+        private final LongAdder events;
+
+        private Rebuild(long[] userIds, int from, int to, LongAdder events) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.events = events;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= REBUILD_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    rebuild(userIds[i], events);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Rebuild(userIds, from, mid, events), new Rebuild(userIds, mid, to, events));
+        }
+    }
+}
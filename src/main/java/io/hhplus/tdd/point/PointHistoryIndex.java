@@ -0,0 +1,127 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 포인트 내역 인덱스
+ * - PointHistoryTable 은 전체 내역을 순회해 유저를 거르므로, 적재가 끝난 내역을 유저별로 따로 모아 둡니다.
+ * - 내역은 객체 대신 long/byte 배열(컬럼)로 저장하고, 조회 시에만 PointHistory 로 만듭니다.
+ * - 추가만 가능하며, 조회는 락 없이 size 까지의 값만 읽습니다.
+ * - 유저별 id 는 오름차순으로 추가되므로 cursor 위치는 이진 탐색으로 찾습니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.history.store", name = "type", havingValue = "heap", matchIfMissing = true)
+public class PointHistoryIndex implements PointHistoryStore {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ConcurrentHashMap<Long, UserHistory> histories = new ConcurrentHashMap<>();
+
+    @Override
+    public void append(PointHistory pointHistory) {
+        histories.computeIfAbsent(pointHistory.userId(), UserHistory::new).append(pointHistory);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<PointHistory> result = new ArrayList<>();
+        scan(userId, PointHistoryQuery.all(), (id, ignored, amount, type, updateMillis) ->
+                result.add(new PointHistory(id, userId, amount, type, updateMillis)));
+        return result;
+    }
+
+    // cursor 위치는 이진 탐색으로 찾고, 나머지 조건은 컬럼 값으로 바로 비교합니다.
+    @Override
+    public long scan(long userId, PointHistoryQuery query, PointHistoryVisitor visitor) {
+        UserHistory history = histories.get(userId);
+        return history == null ? 0L : history.scan(query, visitor);
+    }
+
+    // 유저별 내역 컬럼, 추가는 lock 안에서만 하고 size 를 마지막에 갱신해 조회 스레드에 공개한다.
+    private static final class UserHistory {
+
+        private final long userId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Columns columns = new Columns(8);
+        private volatile int size;
+
+        private UserHistory(long userId) {
+            this.userId = userId;
+        }
+
+        private void append(PointHistory pointHistory) {
+            lock.lock();
+            try {
+                Columns current = columns;
+                if (size == current.capacity()) {
+                    current = current.grow();
+                    columns = current;
+                }
+                current.set(size, pointHistory);
+                size++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long scan(PointHistoryQuery query, PointHistoryVisitor visitor) {
+            int count = size;
+            if (count == 0) {
+                return 0L;
+            }
+            Columns current = columns;
+            long[] ids = current.ids();
+            int start = Arrays.binarySearch(ids, 0, count, query.cursor());
+            start = start >= 0 ? start + 1 : -start - 1;
+            for (int i = start; i < count; i++) {
+                TransactionType type = TYPES[current.types()[i]];
+                long updateMillis = current.updateMillis()[i];
+                if (query.matches(ids[i], type, updateMillis)
+                        && !visitor.visit(ids[i], userId, current.amounts()[i], type, updateMillis)) {
+                    break;
+                }
+            }
+            return ids[count - 1];
+        }
+    }
+
+    private record Columns(
+            long[] ids,
+            long[] amounts,
+            byte[] types,
+            long[] updateMillis
+    ) {
+
+        private Columns(int capacity) {
+            this(new long[capacity], new long[capacity], new byte[capacity], new long[capacity]);
+        }
+
+        private int capacity() {
+            return ids.length;
+        }
+
+        private Columns grow() {
+            int capacity = capacity() * 2;
+            return new Columns(
+                    Arrays.copyOf(ids, capacity),
+                    Arrays.copyOf(amounts, capacity),
+                    Arrays.copyOf(types, capacity),
+                    Arrays.copyOf(updateMillis, capacity)
+            );
+        }
+
+        private void set(int index, PointHistory pointHistory) {
+            ids[index] = pointHistory.id();
+            amounts[index] = pointHistory.amount();
+            types[index] = (byte) pointHistory.type().ordinal();
+            updateMillis[index] = pointHistory.updateMillis();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 추가 알림
+ * - PointHistoryWriter 가 내역에 id 를 부여한 직후, 내역을 추가한 스레드에서 호출합니다.
+ * - 같은 유저의 내역은 잔액 엔진이 한 번에 하나씩 추가하므로 유저별로는 id 순서대로 호출됩니다.
+ *   다른 유저의 내역은 동시에 호출될 수 있습니다.
+ * - 요청 스레드에서 호출되므로 짧게 끝나야 합니다.
+ */
+@FunctionalInterface
+public interface PointHistoryListener {
+
+    void onAppend(PointHistory pointHistory);
+}
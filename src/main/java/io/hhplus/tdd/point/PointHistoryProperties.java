@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 내역 비동기 적재 설정
+ * - queueCapacity : 적재 대기 큐 크기, 가득 차면 요청 스레드가 대기합니다.
+ * - drainBatchSize : 워커가 한 번에 꺼내는 최대 건수
+ * - shutdownTimeout : 종료 시 남은 내역을 적재하며 기다리는 최대 시간
+ */
+@ConfigurationProperties(prefix = "point.history")
+public record PointHistoryProperties(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("256") int drainBatchSize,
+        @DefaultValue("30s") Duration shutdownTimeout
+) {
+}
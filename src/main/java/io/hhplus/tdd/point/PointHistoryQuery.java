@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 조회 조건
+ * - cursor : 이 id 보다 큰 내역부터 조회 (0 이면 처음부터)
+ * - from, to : updateMillis 범위 [from, to)
+ * - type : 거래 종류 (null 이면 전체)
+ * - limit : 최대 조회 건수
+ */
+public record PointHistoryQuery(
+        long cursor,
+        long from,
+        long to,
+        TransactionType type,
+        int limit
+) {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final PointHistoryQuery ALL = new PointHistoryQuery(0L, Long.MIN_VALUE, Long.MAX_VALUE, null, Integer.MAX_VALUE);
+
+    public static PointHistoryQuery all() {
+        return ALL;
+    }
+
+    // 요청 파라미터로 조회 조건 생성, limit 은 1 ~ MAX_LIMIT 로 맞춘다.
+    public static PointHistoryQuery of(Integer limit, Long cursor, Long from, Long to, TransactionType type) {
+        return new PointHistoryQuery(
+                cursor == null ? 0L : cursor,
+                from == null ? Long.MIN_VALUE : from,
+                to == null ? Long.MAX_VALUE : to,
+                type,
+                limit == null ? Integer.MAX_VALUE : Math.max(1, Math.min(limit, MAX_LIMIT))
+        );
+    }
+
+    public boolean matches(long id, TransactionType type, long updateMillis) {
+        return id > cursor
+                && updateMillis >= from
+                && updateMillis < to
+                && (this.type == null || this.type == type);
+    }
+}
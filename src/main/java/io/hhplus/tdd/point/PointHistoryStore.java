@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 적재가 끝난 포인트 내역의 유저별 조회 저장소
+ * - point.history.store.type 으로 구현을 고릅니다. (heap : PointHistoryIndex, mapped : MappedPointHistoryStore)
+ * - 유저별 id 는 오름차순으로 추가됩니다.
+ */
+public interface PointHistoryStore {
+
+    void append(PointHistory pointHistory);
+
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * 조건에 맞는 내역을 id 오름차순으로 방문합니다.
+     * @return 순회 시작 시점에 저장소에 있던 마지막 내역 id (없으면 0)
+     */
+    long scan(long userId, PointHistoryQuery query, PointHistoryVisitor visitor);
+}
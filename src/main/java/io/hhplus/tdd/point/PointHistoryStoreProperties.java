@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 포인트 내역 저장소 설정
+ * - type : heap (힙 배열 컬럼) / mapped (힙 밖 컬럼)
+ * - directory : mapped 일 때 컬럼 파일 위치, 비어 있으면 파일 없이 direct ByteBuffer 를 사용합니다.
+ * - arenaSize : 한 번에 확보하는 파일/버퍼 크기
+ */
+@ConfigurationProperties(prefix = "point.history.store")
+public record PointHistoryStoreProperties(
+        @DefaultValue("heap") String type,
+        @DefaultValue("") String directory,
+        @DefaultValue("64MB") DataSize arenaSize
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 컬럼을 PointHistory 객체 없이 순회하기 위한 콜백
+ * - false 를 반환하면 순회를 멈춥니다.
+ */
+@FunctionalInterface
+public interface PointHistoryVisitor {
+
+    boolean visit(long id, long userId, long amount, TransactionType type, long updateMillis);
+}
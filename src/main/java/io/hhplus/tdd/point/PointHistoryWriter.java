@@ -0,0 +1,335 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointMetrics.TableCall;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역 비동기 적재(write-behind)
+ * - 요청 스레드는 큐에 내역을 넣고 바로 반환하며, 워커 스레드가 PointHistoryTable 에 순서대로 적재합니다.
+ * - 큐가 가득 차면 요청 스레드가 빈자리가 날 때까지 대기합니다. (backpressure)
+ *   대기는 id 부여 락 밖에서 하므로, 한 요청이 기다리는 동안 다른 요청의 id 부여를 막지 않습니다.
+ * - 종료 시 큐에 남은 내역을 모두 적재한 뒤 멈춥니다.
+ *   종료가 시작된 뒤 들어온 내역은 추가한 스레드가 큐에 남은 내역과 함께 순서대로 직접 적재합니다.
+ * - 내역 id 는 이 클래스가 1 부터 순서대로 부여하며, 테이블이 발급한 id 와 관계없이 저장소와 조회에 이 id 를 씁니다.
+ *   적재 전 내역도 조회 결과에 포함할 수 있고, 적재 후 중복은 id 로 제거합니다.
+ * - PointWal 에 id 와 함께 기록하려면 reserve 로 id 를 먼저 받고, 기록이 끝난 뒤 append(PointHistory) 로 넘깁니다.
+ *   같은 유저의 reserve 와 append 는 호출하는 쪽이 유저별로 순서를 맞춥니다. (기록에 실패한 id 는 건너뜁니다.)
+ * - 시작 시 PointWal 에서 복구한 내역은 restore 로 원래 id 그대로 저장소에 넣고, 다음 id 를 이어서 부여합니다.
+ *   복구한 내역은 PointHistoryListener 대신 addRestoreListener 로 등록한 리스너에만 알리고, 복구한 유저 목록을 남깁니다.
+ *   (유저별 집계는 이 목록으로 시작 시 다시 만듭니다.)
+ * - 테이블 적재에 실패하면 잠시 뒤 다시 시도하고, 끝내 실패하면 오류 로그와 point.history.insert.failures 를 남깁니다.
+ *   (이미 id 를 부여하고 알린 내역이므로 저장소에는 그대로 추가합니다.)
+ * - 적재가 끝난 내역은 PointHistoryStore 에 추가하고, 조회는 테이블 대신 저장소를 사용합니다.
+ * - id 를 부여한 내역은 PointHistoryListener 에 알립니다.
+ */
+@Component
+public class PointHistoryWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+    private static final int INSERT_ATTEMPTS = 3;
+    private static final long INSERT_RETRY_MILLIS = 50L;
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointHistoryProperties properties;
+    private final PointMetrics pointMetrics;
+    private final BlockingQueue<PointHistory> queue;
+    // 큐 빈자리, id 부여 전에 얻고 워커가 큐에서 꺼낼 때 돌려준다.
+    private final Semaphore capacity;
+    private final ConcurrentHashMap<Long, Queue<PointHistory>> pendingByUser = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // 테이블 적재는 한 번에 한 스레드만 (워커, 또는 워커가 멈춘 뒤 남은 내역을 적재하는 스레드)
+    private final ReentrantLock insertLock = new ReentrantLock();
+    private final List<PointHistoryListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<PointHistoryListener> restoreListeners = new CopyOnWriteArrayList<>();
+    private final Set<Long> restoredUserIds = ConcurrentHashMap.newKeySet();
+
+    private long nextId = 1;
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread worker;
+
+    public PointHistoryWriter(PointHistoryTable pointHistoryTable, PointHistoryStore pointHistoryStore,
+                              PointHistoryProperties properties, PointMetrics pointMetrics) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointHistoryStore = pointHistoryStore;
+        this.properties = properties;
+        this.pointMetrics = pointMetrics;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.capacity = new Semaphore(properties.queueCapacity());
+    }
+
+    // 내역 적재 요청, 적재 예정 id 가 부여된 내역을 반환
+    public PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        return append(reserve(userId, amount, type, updateMillis));
+    }
+
+    // 적재 예정 id 만 부여, 적재는 append(PointHistory) 로 요청
+    public PointHistory reserve(long userId, long amount, TransactionType type, long updateMillis) {
+        appendLock.lock();
+        try {
+            return new PointHistory(nextId++, userId, amount, type, updateMillis);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // reserve 로 id 를 받은 내역 적재 요청
+    public PointHistory append(PointHistory pointHistory) {
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 내역 적재 대기 중 인터럽트가 발생했습니다.", e);
+        }
+        enqueue(pointHistory);
+        if (stopped) {
+            drainRemaining();
+        }
+        listeners.forEach(listener -> listener.onAppend(pointHistory));
+        return pointHistory;
+    }
+
+    /**
+     * PointWal 에서 복구한 내역을 원래 id 그대로 저장소에 넣고, 이후 부여할 id 를 nextId 이상으로 맞춥니다.
+     * 테이블은 메모리에만 있어 다시 채워도 조회에 쓰이지 않으므로 적재하지 않습니다.
+     */
+    public void restore(List<PointHistory> histories, long nextId) {
+        appendLock.lock();
+        try {
+            for (PointHistory pointHistory : histories) {
+                pointHistoryStore.append(pointHistory);
+                restoredUserIds.add(pointHistory.userId());
+                this.nextId = Math.max(this.nextId, pointHistory.id() + 1);
+            }
+            this.nextId = Math.max(this.nextId, nextId);
+        } finally {
+            appendLock.unlock();
+        }
+        histories.forEach(pointHistory -> restoreListeners.forEach(listener -> listener.onAppend(pointHistory)));
+    }
+
+    // restore 로 내역을 복구한 유저
+    public Set<Long> restoredUserIds() {
+        return Set.copyOf(restoredUserIds);
+    }
+
+    // 적재 완료 내역과 적재 대기 내역을 합쳐 조회
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return select(userId, PointHistoryQuery.all()).histories();
+    }
+
+    /**
+     * 적재 완료 내역(저장소)과 적재 대기 내역을 합쳐 조건에 맞는 내역을 id 오름차순으로 조회합니다.
+     * limit 보다 한 건 더 읽어 다음 페이지가 있으면 nextCursor 를 채웁니다.
+     */
+    public PointHistoryPage select(long userId, PointHistoryQuery query) {
+        int fetchSize = query.limit() == Integer.MAX_VALUE ? Integer.MAX_VALUE : query.limit() + 1;
+        List<PointHistory> histories = new ArrayList<>();
+        scan(userId, query, (id, ignored, amount, type, updateMillis) -> {
+            histories.add(new PointHistory(id, userId, amount, type, updateMillis));
+            return histories.size() < fetchSize;
+        });
+
+        if (histories.size() > query.limit()) {
+            List<PointHistory> page = histories.subList(0, query.limit());
+            return new PointHistoryPage(List.copyOf(page), page.get(page.size() - 1).id());
+        }
+        return new PointHistoryPage(histories, null);
+    }
+
+    // 적재 완료 내역(저장소)과 적재 대기 내역을 이어서 조건에 맞는 내역을 id 오름차순으로 방문
+    public void scan(long userId, PointHistoryQuery query, PointHistoryVisitor visitor) {
+        // 대기 내역을 먼저 읽어야 그 사이 적재된 내역이 누락되지 않는다.
+        Queue<PointHistory> pending = pendingByUser.get(userId);
+        List<PointHistory> pendingSnapshot = pending == null ? List.of() : new ArrayList<>(pending);
+
+        boolean[] done = {false};
+        long lastSavedId = pointHistoryStore.scan(userId, query, (id, ignored, amount, type, updateMillis) -> {
+            done[0] = !visitor.visit(id, userId, amount, type, updateMillis);
+            return !done[0];
+        });
+        // 저장소에 이미 들어간 대기 내역은 id 로 걸러낸다.
+        for (PointHistory pointHistory : pendingSnapshot) {
+            if (done[0]) {
+                return;
+            }
+            if (pointHistory.id() > lastSavedId
+                    && query.matches(pointHistory.id(), pointHistory.type(), pointHistory.updateMillis())) {
+                done[0] = !visitor.visit(pointHistory.id(), userId, pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+            }
+        }
+    }
+
+    public void addListener(PointHistoryListener listener) {
+        listeners.add(listener);
+    }
+
+    // restore 로 복구한 내역을 받을 리스너
+    public void addRestoreListener(PointHistoryListener listener) {
+        restoreListeners.add(listener);
+    }
+
+    // 적재 대기 내역이 모두 테이블에 들어갈 때까지 기다림
+    public boolean awaitDrained(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!pendingByUser.isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 적재 대기 건수
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drain, "point-history-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stopped = true;
+        try {
+            worker.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("종료 시간 내 적재하지 못한 포인트 내역이 {}건 남았습니다.", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버가 요청을 더 받지 않게 된 뒤에 멈추도록 웹 서버보다 낮은 phase 를 사용
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // 꺼내기와 적재를 insertLock 안에서 해야 종료 중 다른 스레드의 적재와 순서가 섞이지 않는다.
+    private void drain() {
+        List<PointHistory> batch = new ArrayList<>(properties.drainBatchSize());
+        while (running || !queue.isEmpty()) {
+            insertLock.lock();
+            try {
+                PointHistory first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.drainBatchSize() - 1);
+                capacity.release(batch.size());
+                batch.forEach(this::save);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                insertLock.unlock();
+            }
+        }
+    }
+
+    // 종료 중 추가된 내역은 추가한 스레드가 큐에 남은 내역과 함께 순서대로 적재한다.
+    private void drainRemaining() {
+        insertLock.lock();
+        try {
+            PointHistory pending;
+            while ((pending = queue.poll()) != null) {
+                capacity.release();
+                save(pending);
+            }
+        } finally {
+            insertLock.unlock();
+        }
+    }
+
+    private void enqueue(PointHistory pointHistory) {
+        pendingByUser.compute(pointHistory.userId(), (key, pending) -> {
+            Queue<PointHistory> target = pending == null ? new ConcurrentLinkedQueue<>() : pending;
+            target.add(pointHistory);
+            return target;
+        });
+        // 빈자리를 먼저 얻었으므로 항상 들어간다.
+        queue.add(pointHistory);
+    }
+
+    private void save(PointHistory pending) {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    insert(pending.userId(), pending.amount(), pending.type(), pending.updateMillis());
+                    break;
+                } catch (RuntimeException e) {
+                    if (attempt == INSERT_ATTEMPTS) {
+                        pointMetrics.countHistoryInsertFailure();
+                        log.error("포인트 내역 적재에 {}번 실패했습니다. {}", INSERT_ATTEMPTS, pending, e);
+                        break;
+                    }
+                    log.warn("포인트 내역 적재에 실패해 다시 시도합니다. ({}/{}) {}", attempt, INSERT_ATTEMPTS, pending, e);
+                    sleepBeforeRetry(attempt);
+                }
+            }
+            pointHistoryStore.append(pending);
+        } finally {
+            removePending(pending);
+        }
+    }
+
+    private void sleepBeforeRetry(int attempt) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(INSERT_RETRY_MILLIS * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return pointMetrics.recordTableCall(TableCall.POINT_HISTORY_INSERT,
+                () -> pointHistoryTable.insert(userId, amount, type, updateMillis));
+    }
+
+    private void removePending(PointHistory target) {
+        pendingByUser.computeIfPresent(target.userId(), (key, pending) -> {
+            pending.remove(target);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+}
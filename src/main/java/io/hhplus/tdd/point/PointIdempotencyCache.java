@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청 멱등 처리
+ * - 같은 유저, 같은 Idempotency-Key 로 다시 요청하면 처음 요청의 결과를 그대로 돌려줍니다.
+ * - 처음 요청이 아직 처리 중이면 다시 처리하지 않고 그 결과를 기다립니다.
+ * - 정책 위반(PointException)도 결과로 보관하고, 그 밖의 실패는 보관하지 않아 재시도할 수 있습니다.
+ * - 같은 키로 금액이나 거래 종류가 다른 요청이 오면 거절합니다.
+ * - 결과는 완료 후 ttl 동안 보관하며, maxSize 를 넘으면 먼저 들어온 완료된 키부터 제거합니다.
+ *   처리 중인 키는 건너뛰고 그 다음 키를 제거합니다.
+ * - 제거 순서는 키와 그때 넣은 결과를 함께 기억해, 지워졌다가 다시 들어온 키를 이전 순서로 제거하지 않습니다.
+ */
+@Component
+public class PointIdempotencyCache {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final PointIdempotencyProperties properties;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    // 키가 들어온 순서
+    private final Queue<Queued> order = new ConcurrentLinkedQueue<>();
+
+    public PointIdempotencyCache(PointIdempotencyProperties properties) {
+        this.properties = properties;
+    }
+
+    public UserPoint execute(long userId, String idempotencyKey, TransactionType type, long amount, Supplier<UserPoint> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new PointException(PointErrorCode.INVALID_IDEMPOTENCY_KEY);
+        }
+        Key key = new Key(userId, idempotencyKey);
+        Entry created = new Entry(type, amount, new CompletableFuture<>());
+        long now = System.nanoTime();
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, created);
+            if (existing == null) {
+                break;
+            }
+            if (existing.isExpired(now, properties.ttl().toNanos())) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (existing.type() != type || existing.amount() != amount) {
+                throw new PointException(PointErrorCode.IDEMPOTENCY_KEY_REUSED);
+            }
+            return join(existing.result());
+        }
+        order.add(new Queued(key, created));
+        evict(now);
+
+        try {
+            UserPoint result = action.get();
+            created.result().complete(result);
+            return result;
+        } catch (PointException e) {
+            created.result().completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 보관 중인 키 수
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        long ttl = properties.ttl().toNanos();
+        Iterator<Queued> iterator = order.iterator();
+        while (iterator.hasNext()) {
+            Queued eldest = iterator.next();
+            // 이미 지워졌거나 다시 들어온 키의 이전 순서
+            if (entries.get(eldest.key()) != eldest.entry()) {
+                iterator.remove();
+                continue;
+            }
+            if (entries.size() <= properties.maxSize() && !eldest.entry().isExpired(now, ttl)) {
+                return;
+            }
+            // 처리 중인 키는 건너뛴다.
+            if (!eldest.entry().result().isDone()) {
+                continue;
+            }
+            iterator.remove();
+            entries.remove(eldest.key(), eldest.entry());
+        }
+    }
+
+    private UserPoint join(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(
+            long userId,
+            String idempotencyKey
+    ) {
+    }
+
+    private record Queued(
+            Key key,
+            Entry entry
+    ) {
+    }
+
+    private static final class Entry {
+
+        private final TransactionType type;
+        private final long amount;
+        private final CompletableFuture<UserPoint> result;
+        private volatile long completedAt;
+
+        private Entry(TransactionType type, long amount, CompletableFuture<UserPoint> result) {
+            this.type = type;
+            this.amount = amount;
+            this.result = result;
+            result.whenComplete((ignored, error) -> completedAt = System.nanoTime());
+        }
+
+        private TransactionType type() {
+            return type;
+        }
+
+        private long amount() {
+            return amount;
+        }
+
+        private CompletableFuture<UserPoint> result() {
+            return result;
+        }
+
+        // 완료 시각이 기록되기 전이면 아직 만료되지 않은 것으로 본다.
+        private boolean isExpired(long now, long ttl) {
+            long at = completedAt;
+            return at != 0 && now - at > ttl;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 멱등 키(Idempotency-Key) 설정
+ * - maxSize : 보관할 최대 키 수, 초과 시 먼저 들어온 완료된 키부터 제거합니다.
+ * - ttl : 처리 완료 후 결과를 보관하는 시간
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record PointIdempotencyProperties(
+        @DefaultValue("100000") int maxSize,
+        @DefaultValue("10m") Duration ttl
+) {
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 처리 대기열/캐시 상태 지표
+ * - point.history.queue.size : 테이블 적재를 기다리는 내역 수
+ * - point.combiner.queue.size : 병합 처리를 기다리는 충전/사용 요청 수 (cas 엔진은 테이블 저장을 기다리는 유저 수)
+ * - point.lock.entries : 락을 잡고 있거나 기다리는 유저 수
+ * - point.cache.* : 잔액 캐시 적중/미적중/제거 건수와 크기
+ * - point.admission.limit / point.admission.in.flight : 동시 처리 한도와 처리 중인 요청 수
+ */
+@Component
+@RequiredArgsConstructor
+public class PointMeterBinder implements MeterBinder {
+
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointBalanceEngine pointBalanceEngine;
+    private final UserLockManager userLockManager;
+    private final UserPointCache userPointCache;
+    private final PointAdmissionLimiter pointAdmissionLimiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.history.queue.size", pointHistoryWriter, PointHistoryWriter::pendingCount)
+                .register(registry);
+        Gauge.builder("point.combiner.queue.size", pointBalanceEngine, PointBalanceEngine::pendingCount)
+                .register(registry);
+        Gauge.builder("point.lock.entries", userLockManager, UserLockManager::size)
+                .register(registry);
+        Gauge.builder("point.cache.size", userPointCache, cache -> cache.stats().size())
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().hits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", userPointCache, cache -> cache.stats().evictions())
+                .register(registry);
+        Gauge.builder("point.admission.limit", pointAdmissionLimiter, PointAdmissionLimiter::limit)
+                .register(registry);
+        for (PointAdmissionLimiter.Operation operation : PointAdmissionLimiter.Operation.values()) {
+            Gauge.builder("point.admission.in.flight", pointAdmissionLimiter, limiter -> limiter.inFlight(operation))
+                    .tag("operation", operation.name())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 처리 지표
+ * - point.table.calls : 테이블 호출 시간 (table, method 태그, 백분위/히스토그램)
+ *   user_point insertOrUpdate 는 UserPointTableGuard 에 저장을 넘기는 시간이며, 테이블 저장은 저장 스레드가 따로 합니다.
+ * - point.lock.wait : 유저 락 대기 시간
+ * - point.transactions : 거래 종류별 처리 건수
+ * - point.rejections : 정책 위반 사유별 거절 건수
+ * - point.admission.rejections : 동시 처리 한도 초과로 거절한 요청 수 (operation 태그)
+ * - point.history.insert.failures : 다시 시도해도 테이블에 적재하지 못한 내역 수
+ */
+@Component
+public class PointMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final Map<TableCall, Timer> tableTimers = new EnumMap<>(TableCall.class);
+    private final Map<TransactionType, Counter> transactionCounters = new EnumMap<>(TransactionType.class);
+    private final Map<PointErrorCode, Counter> rejectionCounters = new EnumMap<>(PointErrorCode.class);
+    private final Map<PointAdmissionLimiter.Operation, Counter> admissionRejectionCounters = new EnumMap<>(PointAdmissionLimiter.Operation.class);
+    private final Counter historyInsertFailureCounter;
+    private final Timer lockWaitTimer;
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        for (TableCall call : TableCall.values()) {
+            tableTimers.put(call, Timer.builder("point.table.calls")
+                    .tag("table", call.table)
+                    .tag("method", call.method)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (TransactionType type : TransactionType.values()) {
+            transactionCounters.put(type, Counter.builder("point.transactions")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+        for (PointErrorCode errorCode : PointErrorCode.values()) {
+            rejectionCounters.put(errorCode, Counter.builder("point.rejections")
+                    .tag("reason", errorCode.name())
+                    .register(meterRegistry));
+        }
+        for (PointAdmissionLimiter.Operation operation : PointAdmissionLimiter.Operation.values()) {
+            admissionRejectionCounters.put(operation, Counter.builder("point.admission.rejections")
+                    .tag("operation", operation.name())
+                    .register(meterRegistry));
+        }
+        this.historyInsertFailureCounter = Counter.builder("point.history.insert.failures")
+                .register(meterRegistry);
+        this.lockWaitTimer = Timer.builder("point.lock.wait")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public <T> T recordTableCall(TableCall call, Supplier<T> supplier) {
+        return tableTimers.get(call).record(supplier);
+    }
+
+    public void recordLockWait(long nanos) {
+        lockWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countTransaction(TransactionType type) {
+        transactionCounters.get(type).increment();
+    }
+
+    public void countRejection(PointErrorCode errorCode) {
+        rejectionCounters.get(errorCode).increment();
+    }
+
+    public void countAdmissionRejection(PointAdmissionLimiter.Operation operation) {
+        admissionRejectionCounters.get(operation).increment();
+    }
+
+    public void countHistoryInsertFailure() {
+        historyInsertFailureCounter.increment();
+    }
+
+    public enum TableCall {
+        USER_POINT_SELECT_BY_ID("user_point", "selectById"),
+        USER_POINT_INSERT_OR_UPDATE("user_point", "insertOrUpdate"),
+        POINT_HISTORY_INSERT("point_history", "insert");
+
+        private final String table;
+        private final String method;
+
+        TableCall(String table, String method) {
+            this.table = table;
+            this.method = method;
+        }
+    }
+}
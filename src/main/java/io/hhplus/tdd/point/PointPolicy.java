@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용 정책
+ * 잔액 : 최소 0원 부터 최대 1,000,000원
+ * 충전 금액 : 최소 1,000원, 최대 100,000원
+ * 사용 금액 : 최소 1,000원, 최대 500,000원
+ */
+public final class PointPolicy {
+
+    public static final long MAX_BALANCE = 1_000_000L;
+    public static final long MIN_CHARGE_AMOUNT = 1_000L;
+    public static final long MAX_CHARGE_AMOUNT = 100_000L;
+    public static final long MIN_USE_AMOUNT = 1_000L;
+    public static final long MAX_USE_AMOUNT = 500_000L;
+
+    private PointPolicy() {
+    }
+
+    // 충전 후 잔액 계산, 정책 위반 시 PointException
+    public static long charge(long balance, long amount) {
+        if (amount <= 0) {
+            throw new PointException(PointErrorCode.INVALID_CHARGE_AMOUNT);
+        }
+        if (amount < MIN_CHARGE_AMOUNT) {
+            throw new PointException(PointErrorCode.CHARGE_AMOUNT_BELOW_MIN);
+        }
+        if (amount > MAX_CHARGE_AMOUNT) {
+            throw new PointException(PointErrorCode.CHARGE_AMOUNT_ABOVE_MAX);
+        }
+        if (balance + amount > MAX_BALANCE) {
+            throw new PointException(PointErrorCode.BALANCE_LIMIT_EXCEEDED);
+        }
+        return balance + amount;
+    }
+
+    // 사용 후 잔액 계산, 정책 위반 시 PointException
+    public static long use(long balance, long amount) {
+        if (amount < 0) {
+            throw new PointException(PointErrorCode.INVALID_USE_AMOUNT);
+        }
+        if (amount < MIN_USE_AMOUNT) {
+            throw new PointException(PointErrorCode.USE_AMOUNT_BELOW_MIN);
+        }
+        if (amount > MAX_USE_AMOUNT) {
+            throw new PointException(PointErrorCode.USE_AMOUNT_ABOVE_MAX);
+        }
+        if (balance < amount) {
+            throw new PointException(PointErrorCode.INSUFFICIENT_BALANCE);
+        }
+        return balance - amount;
+    }
+}
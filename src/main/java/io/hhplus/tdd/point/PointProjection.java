@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTableGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내역(CHARGE / USE)을 더해 만든 유저별 잔액 프로젝션
+ * - 내역을 기준으로 잔액을 계산하므로, UserPointTable 잔액과 비교해 어긋난 유저를 찾을 수 있습니다.
+ * - 내역 추가 시 갱신과 재생성은 PointHistoryFold 로 합니다. 시작 시(또는 요청 시) 주어진 유저를 다시 만듭니다.
+ * - 재시작 시에는 PointRecovery 가 내역을 복구한 유저를 다시 만듭니다. (복구 내역은 리스너를 거치지 않음)
+ *   PointWal 은 스냅샷 이전 내역도 내역 보관 파일로 복구하므로, 스냅샷에서 읽은 잔액과 같은 내역 전체로 다시 만듭니다.
+ * - 검증은 PointService 조회와 같은 순서(잔액 엔진, 캐시, 테이블)로 잔액을 읽어, 캐시에 있는 유저는 테이블을 호출하지 않습니다.
+ *   내역이 하나도 없는 유저는 비교할 수 없으므로 건너뜁니다.
+ */
+@Component
+public class PointProjection implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointProjection.class);
+
+    private final UserPointTableGuard userPointTable;
+    private final UserPointCache userPointCache;
+    private final PointBalanceEngine pointBalanceEngine;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final ExecutorService pointTaskExecutor;
+    private final PointHistoryFold<Long> balances;
+
+    private volatile boolean running;
+
+    public PointProjection(UserPointTableGuard userPointTable, UserPointCache userPointCache, PointBalanceEngine pointBalanceEngine,
+                           PointHistoryWriter pointHistoryWriter, @Qualifier("pointTaskExecutor") ExecutorService pointTaskExecutor) {
+        this.userPointTable = userPointTable;
+        this.userPointCache = userPointCache;
+        this.pointBalanceEngine = pointBalanceEngine;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointTaskExecutor = pointTaskExecutor;
+        this.balances = new PointHistoryFold<>(pointHistoryWriter, userId -> 0L,
+                (point, type, amount) -> type == TransactionType.CHARGE ? point + amount : point - amount);
+    }
+
+    // 내역 기준 잔액, 내역이 없으면 0
+    public long balance(long userId) {
+        Long balance = balances.get(userId);
+        return balance == null ? 0L : balance;
+    }
+
+    public Set<Long> userIds() {
+        return balances.userIds();
+    }
+
+    // 주어진 유저들의 잔액을 내역으로 다시 만듦
+    public PointProjectionRebuild rebuild(Collection<Long> userIds) {
+        long startedAt = System.nanoTime();
+        long events = balances.rebuild(userIds);
+        return new PointProjectionRebuild(userIds.size(), events, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    // 주어진 유저들의 프로젝션 잔액을 저장된 잔액과 비교해 다른 유저를 돌려줌
+    public List<PointProjectionMismatch> verify(Collection<Long> userIds) {
+        List<CompletableFuture<PointProjectionMismatch>> futures = new ArrayList<>(userIds.size());
+        for (long userId : userIds) {
+            futures.add(CompletableFuture.supplyAsync(() -> compare(userId), pointTaskExecutor));
+        }
+        List<PointProjectionMismatch> mismatches = new ArrayList<>();
+        for (CompletableFuture<PointProjectionMismatch> future : futures) {
+            PointProjectionMismatch mismatch = future.join();
+            if (mismatch != null) {
+                mismatches.add(mismatch);
+            }
+        }
+        if (!mismatches.isEmpty()) {
+            log.warn("내역과 잔액이 다른 유저 {}명 : {}", mismatches.size(), mismatches);
+        }
+        return mismatches;
+    }
+
+    // 복구한 유저와 시작 전에 내역이 추가된 유저를 다시 만듦
+    @Override
+    public void start() {
+        Set<Long> userIds = new HashSet<>(pointHistoryWriter.restoredUserIds());
+        userIds.addAll(balances.userIds());
+        if (!userIds.isEmpty()) {
+            PointProjectionRebuild result = rebuild(userIds);
+            log.info("잔액 프로젝션 재생성 완료 : 유저 {}명, 내역 {}건, {}ms", result.users(), result.events(), result.elapsedMillis());
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // PointRecovery 이후, 웹 서버 시작 전
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2560;
+    }
+
+    private PointProjectionMismatch compare(long userId) {
+        if (!balances.contains(userId)) {
+            return null;
+        }
+        PointProjectionMismatch mismatch = mismatch(userId);
+        // 잔액 저장과 내역 추가 사이에 읽었을 수 있으므로 한 번 더 확인
+        return mismatch == null ? null : mismatch(userId);
+    }
+
+    private PointProjectionMismatch mismatch(long userId) {
+        long stored = stored(userId);
+        long projected = balance(userId);
+        return projected == stored ? null : new PointProjectionMismatch(userId, projected, stored);
+    }
+
+    private long stored(long userId) {
+        UserPoint held = pointBalanceEngine.select(userId);
+        if (held == null) {
+            held = userPointCache.getIfPresent(userId);
+        }
+        if (held == null) {
+            held = userPointTable.selectById(userId);
+        }
+        return held.point();
+    }
+}
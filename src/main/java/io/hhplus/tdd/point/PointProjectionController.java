@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 내역 기준 잔액 프로젝션 관리 API
+ * - userIds 를 주지 않으면 이 노드가 내역을 가진 모든 유저를 대상으로 합니다.
+ */
+@RestController
+@RequestMapping("/internal/projection")
+public class PointProjectionController {
+
+    private final PointProjection pointProjection;
+
+    public PointProjectionController(PointProjection pointProjection) {
+        this.pointProjection = pointProjection;
+    }
+
+    // 내역으로 잔액 다시 만들기
+    @PostMapping("rebuild")
+    public PointProjectionRebuild rebuild(@RequestParam(required = false) List<Long> userIds) {
+        return pointProjection.rebuild(target(userIds));
+    }
+
+    // 내역 기준 잔액과 UserPointTable 잔액이 다른 유저 조회
+    @GetMapping("verify")
+    public List<PointProjectionMismatch> verify(@RequestParam(required = false) List<Long> userIds) {
+        return pointProjection.verify(target(userIds));
+    }
+
+    private Collection<Long> target(List<Long> userIds) {
+        return userIds == null || userIds.isEmpty() ? pointProjection.userIds() : userIds;
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 내역으로 계산한 잔액과 UserPointTable 잔액이 다른 유저
+ * - projected : 내역을 처음부터 더한 잔액
+ * - stored : UserPointTable 잔액
+ */
+public record PointProjectionMismatch(
+        long userId,
+        long projected,
+        long stored
+) {
+}
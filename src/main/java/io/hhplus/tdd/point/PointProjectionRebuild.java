@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 잔액 프로젝션 재생성 결과
+ * - users : 다시 만든 유저 수
+ * - events : 다시 읽은 내역 건수
+ * - elapsedMillis : 걸린 시간 (ms)
+ */
+public record PointProjectionRebuild(
+        int users,
+        long events,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 유저별 잔액/내역 동시 조회 합치기
+ * - 같은 유저의 잔액 조회(UserPointTable.selectById)와 같은 조건의 내역 조회를 각각 한 번만 실행하고 결과를 함께 받습니다.
+ * - 충전/사용이 저장되면 invalidate 로 그 유저의 처리 중인 조회를 모두 떼어 내, 이후 조회는 저장 이후 값을 새로 읽습니다.
+ *   처리 중인 내역 조회는 유저별로 묶어 두어, 떼어 낼 때 다른 유저의 조회를 살펴보지 않고 그 유저 항목 하나만 지웁니다.
+ * - 내역 목록은 여러 요청이 함께 받으므로 수정할 수 없는 목록으로 돌려줍니다.
+ */
+@Component
+public class PointReadCollapser {
+
+    private final SingleFlight<Long, UserPoint> points = new SingleFlight<>();
+    private final ConcurrentHashMap<Long, SingleFlight<PointHistoryQuery, PointHistoryPage>> histories = new ConcurrentHashMap<>();
+
+    public UserPoint point(long userId, Supplier<UserPoint> loader) {
+        return points.execute(userId, loader);
+    }
+
+    public PointHistoryPage histories(long userId, PointHistoryQuery query, Supplier<PointHistoryPage> loader) {
+        SingleFlight<PointHistoryQuery, PointHistoryPage> calls = histories.computeIfAbsent(userId, ignored -> new SingleFlight<>());
+        try {
+            return calls.execute(query, () -> {
+                PointHistoryPage page = loader.get();
+                return new PointHistoryPage(Collections.unmodifiableList(page.histories()), page.nextCursor());
+            });
+        } finally {
+            // 처리 중인 조회가 없으면 유저 항목을 지워, 조회한 적 있는 유저 수만큼 쌓이지 않게 한다.
+            // 그 사이 합류한 조회는 떼어 낸 항목에서 끝나며, 이후 조회는 새 항목에서 시작한다.
+            if (calls.size() == 0) {
+                histories.remove(userId, calls);
+            }
+        }
+    }
+
+    public void invalidate(long userId) {
+        points.invalidate(userId);
+        histories.remove(userId);
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 시 PointWal 의 스냅샷과 이후 변경을 다시 반영
+ * - 잔액은 유저별 마지막 값을 UserPointTableGuard.restore 로 메모리에 반영합니다.
+ *   조회와 충전/사용은 바로 이 값을 쓰고, 테이블 저장은 저장 스레드가 뒤에서 하므로 시작 시간이 유저 수 x 테이블 지연에 묶이지 않습니다.
+ * - 내역은 기록할 때 부여한 id 그대로 PointHistoryWriter 에 복구하고, 다음 내역 id 를 이어서 부여하게 합니다.
+ * - 웹 서버가 요청을 받기 전에 끝나도록 웹 서버보다 낮고 PointHistoryWriter 보다 높은 phase 를 사용합니다.
+ *   멈출 때는 웹 서버가 요청을 더 받지 않게 된 뒤에 PointWal 을 닫습니다.
+ */
+@Component
+public class PointRecovery implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointRecovery.class);
+
+    private final PointWal pointWal;
+    private final UserPointTableGuard userPointTable;
+    private final PointHistoryWriter pointHistoryWriter;
+
+    private volatile boolean running;
+
+    public PointRecovery(PointWal pointWal, UserPointTableGuard userPointTable, PointHistoryWriter pointHistoryWriter) {
+        this.pointWal = pointWal;
+        this.userPointTable = userPointTable;
+        this.pointHistoryWriter = pointHistoryWriter;
+    }
+
+    @Override
+    public void start() {
+        long startedAt = System.nanoTime();
+        PointWal.Recovery recovery = pointWal.recover();
+
+        userPointTable.restore(recovery.balances());
+        pointHistoryWriter.restore(recovery.histories(), recovery.nextHistoryId());
+
+        running = true;
+        if (!recovery.balances().isEmpty() || !recovery.histories().isEmpty()) {
+            log.info("포인트 복구 완료 : 잔액 {}건, 내역 {}건, {}ms", recovery.balances().size(), recovery.histories().size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+    }
+
+    @Override
+    public void stop() {
+        pointWal.close();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버(DEFAULT_PHASE - 2048)보다 낮은 phase
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 3072;
+    }
+}
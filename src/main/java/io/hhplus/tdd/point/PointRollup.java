@@ -0,0 +1,243 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 시간 구간별 포인트 거래 집계와 상위 N 명 조회
+ * - 내역이 추가될 때마다(시작 시 복구한 내역 포함) 내역 시각(updateMillis)이 속한 분/시간 구간에 더합니다.
+ *   PointWal 은 스냅샷 이전 내역도 내역 보관 파일로 복구하므로, 재시작 후에도 버퍼 기간 안의 구간과 상위 N 명이 그대로 채워집니다.
+ * - 구간은 단위별 원형 버퍼에 두고, 구간이 바뀌면 가장 오래된 칸을 새 구간으로 덮어씁니다.
+ *   버퍼보다 오래된 내역은 집계하지 않습니다. (분 : 최근 24시간, 시간 : 최근 7일)
+ * - 구간마다 유저별 합계도 두어, 상위 N 명은 기간 안의 구간만 합친 뒤 크기 N 의 최소 힙으로 고릅니다.
+ *   조회 비용은 전체 내역 수가 아니라 기간 안의 구간 수와 거래한 유저 수에 비례합니다.
+ * - 유저별 합계는 상위 N 명 조회에 쓰는 최근 구간(PointRollupUnit.userSlots)에만 두고, 더 오래된 분 단위 구간은 전체 합계만 남깁니다.
+ * - 이 노드에 추가된 내역만 집계합니다.
+ */
+@Component
+public class PointRollup {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Map<PointRollupUnit, Ring> rings = Map.of(
+            PointRollupUnit.MINUTE, new Ring(PointRollupUnit.MINUTE),
+            PointRollupUnit.HOUR, new Ring(PointRollupUnit.HOUR));
+
+    public PointRollup(PointHistoryWriter pointHistoryWriter) {
+        pointHistoryWriter.addListener(this::add);
+        pointHistoryWriter.addRestoreListener(this::add);
+    }
+
+    // 최근 count 개 구간의 거래 금액/건수, 오래된 구간부터
+    public List<PointRollupBucket> buckets(TransactionType type, PointRollupUnit unit, int count) {
+        return buckets(type, unit, count, System.currentTimeMillis());
+    }
+
+    // 최근 window 동안 거래 금액이 큰 유저 limit 명, 금액 내림차순
+    public List<PointRollupRank> top(TransactionType type, Duration window, int limit) {
+        return top(type, window, limit, System.currentTimeMillis());
+    }
+
+    // 최근 window 동안 거래한 유저 최대 limit 명, 최근 구간의 유저부터
+    public Set<Long> recentUsers(Duration window, int limit) {
+        return recentUsers(window, limit, System.currentTimeMillis());
+    }
+
+    List<PointRollupBucket> buckets(TransactionType type, PointRollupUnit unit, int count, long nowMillis) {
+        Ring ring = rings.get(unit);
+        long current = nowMillis / unit.millis();
+        int size = Math.max(1, Math.min(count, unit.slots()));
+        List<PointRollupBucket> buckets = new ArrayList<>(size);
+        for (long epoch = current - size + 1; epoch <= current; epoch++) {
+            Slot slot = ring.slot(epoch);
+            buckets.add(slot == null
+                    ? new PointRollupBucket(epoch * unit.millis(), type, 0L, 0L)
+                    : new PointRollupBucket(epoch * unit.millis(), type, slot.amount(type), slot.count(type)));
+        }
+        return buckets;
+    }
+
+    // 한 시간 이하는 분 단위, 그보다 길면 시간 단위 구간을 합친다.
+    List<PointRollupRank> top(TransactionType type, Duration window, int limit, long nowMillis) {
+        PointRollupUnit unit = unitOf(window);
+        Ring ring = rings.get(unit);
+        long current = nowMillis / unit.millis();
+        long size = slotCount(window, unit);
+
+        Map<Long, long[]> totals = new HashMap<>();
+        for (long epoch = current - size + 1; epoch <= current; epoch++) {
+            Slot slot = ring.slot(epoch);
+            Map<Long, AtomicLongArray> users = slot == null ? null : slot.users;
+            if (users == null) {
+                continue;
+            }
+            users.forEach((userId, activity) -> {
+                long count = activity.get(2 * type.ordinal() + 1);
+                if (count > 0) {
+                    long[] total = totals.computeIfAbsent(userId, key -> new long[2]);
+                    total[0] += activity.get(2 * type.ordinal());
+                    total[1] += count;
+                }
+            });
+        }
+
+        Comparator<PointRollupRank> byAmount = Comparator.comparingLong(PointRollupRank::amount).thenComparingLong(rank -> -rank.userId());
+        PriorityQueue<PointRollupRank> heap = new PriorityQueue<>(byAmount);
+        for (Map.Entry<Long, long[]> entry : totals.entrySet()) {
+            PointRollupRank rank = new PointRollupRank(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            if (heap.size() < limit) {
+                heap.add(rank);
+            } else if (limit > 0 && byAmount.compare(rank, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(rank);
+            }
+        }
+        List<PointRollupRank> ranks = new ArrayList<>(heap);
+        ranks.sort(byAmount.reversed());
+        return ranks;
+    }
+
+    Set<Long> recentUsers(Duration window, int limit, long nowMillis) {
+        PointRollupUnit unit = unitOf(window);
+        Ring ring = rings.get(unit);
+        long current = nowMillis / unit.millis();
+        long size = slotCount(window, unit);
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (long epoch = current; epoch > current - size && userIds.size() < limit; epoch--) {
+            Slot slot = ring.slot(epoch);
+            Map<Long, AtomicLongArray> users = slot == null ? null : slot.users;
+            if (users == null) {
+                continue;
+            }
+            for (Long userId : users.keySet()) {
+                if (userIds.size() >= limit) {
+                    break;
+                }
+                userIds.add(userId);
+            }
+        }
+        return userIds;
+    }
+
+    private PointRollupUnit unitOf(Duration window) {
+        return window.toMillis() <= PointRollupUnit.HOUR.millis() ? PointRollupUnit.MINUTE : PointRollupUnit.HOUR;
+    }
+
+    private long slotCount(Duration window, PointRollupUnit unit) {
+        return Math.max(1, Math.min((window.toMillis() + unit.millis() - 1) / unit.millis(), unit.slots()));
+    }
+
+    private void add(PointHistory pointHistory) {
+        for (Ring ring : rings.values()) {
+            ring.add(pointHistory);
+        }
+    }
+
+    // 단위별 원형 버퍼, 칸마다 어느 구간(epoch)인지 함께 둔다.
+    private static final class Ring {
+
+        private final PointRollupUnit unit;
+        private final AtomicReferenceArray<Slot> slots;
+        // 지금까지 본 가장 최근 구간, 유저별 합계를 둘 구간의 기준
+        private final AtomicLong latest = new AtomicLong(Long.MIN_VALUE);
+
+        private Ring(PointRollupUnit unit) {
+            this.unit = unit;
+            this.slots = new AtomicReferenceArray<>(unit.slots());
+        }
+
+        private Slot slot(long epoch) {
+            Slot slot = slots.get(index(epoch));
+            return slot != null && slot.epoch == epoch ? slot : null;
+        }
+
+        private void add(PointHistory pointHistory) {
+            long epoch = pointHistory.updateMillis() / unit.millis();
+            long newest = latest.accumulateAndGet(epoch, Math::max);
+            boolean withUsers = epoch > newest - unit.userSlots();
+            int index = index(epoch);
+            while (true) {
+                Slot slot = slots.get(index);
+                if (slot != null && slot.epoch == epoch) {
+                    slot.add(pointHistory, withUsers);
+                    return;
+                }
+                // 버퍼보다 오래된 내역은 버린다.
+                if (slot != null && slot.epoch > epoch) {
+                    return;
+                }
+                if (slots.compareAndSet(index, slot, new Slot(epoch, withUsers)) && epoch == newest) {
+                    dropUsersBefore(epoch - unit.userSlots() + 1);
+                }
+            }
+        }
+
+        // 새 구간이 시작될 때, 유저별 합계를 둘 범위를 벗어난 구간의 유저별 합계를 버림
+        private void dropUsersBefore(long epoch) {
+            if (unit.userSlots() >= unit.slots()) {
+                return;
+            }
+            for (int i = 0; i < slots.length(); i++) {
+                Slot slot = slots.get(i);
+                if (slot != null && slot.epoch < epoch) {
+                    slot.users = null;
+                }
+            }
+        }
+
+        private int index(long epoch) {
+            return (int) Math.floorMod(epoch, (long) unit.slots());
+        }
+    }
+
+    /**
+     * 구간 하나의 집계
+     * - totals : [type * 2] 금액, [type * 2 + 1] 건수
+     * - users : 유저별 같은 배열, 유저별 합계를 두지 않는 구간은 null
+     */
+    private static final class Slot {
+
+        private final long epoch;
+        private final AtomicLongArray totals = new AtomicLongArray(TYPES.length * 2);
+        private volatile ConcurrentHashMap<Long, AtomicLongArray> users;
+
+        private Slot(long epoch, boolean withUsers) {
+            this.epoch = epoch;
+            this.users = withUsers ? new ConcurrentHashMap<>() : null;
+        }
+
+        private void add(PointHistory pointHistory, boolean withUsers) {
+            int offset = pointHistory.type().ordinal() * 2;
+            totals.addAndGet(offset, pointHistory.amount());
+            totals.incrementAndGet(offset + 1);
+            ConcurrentHashMap<Long, AtomicLongArray> current = users;
+            if (!withUsers || current == null) {
+                return;
+            }
+            AtomicLongArray activity = current.computeIfAbsent(pointHistory.userId(), key -> new AtomicLongArray(TYPES.length * 2));
+            activity.addAndGet(offset, pointHistory.amount());
+            activity.incrementAndGet(offset + 1);
+        }
+
+        private long amount(TransactionType type) {
+            return totals.get(type.ordinal() * 2);
+        }
+
+        private long count(TransactionType type) {
+            return totals.get(type.ordinal() * 2 + 1);
+        }
+    }
+}
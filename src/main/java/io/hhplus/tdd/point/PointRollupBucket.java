@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 시간 구간별 포인트 거래 집계
+ * - startMillis : 구간 시작 시각, 구간은 [startMillis, startMillis + 단위)
+ * - amount / count : 구간 안의 거래 금액 합 / 건수
+ */
+public record PointRollupBucket(
+        long startMillis,
+        TransactionType type,
+        long amount,
+        long count
+) {
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 포인트 거래 집계 조회 API
+ * - 이 노드에 추가된 내역만 집계하므로, 샤딩을 쓰면 노드별 결과를 합쳐야 합니다.
+ */
+@RestController
+@RequestMapping("/internal/rollups")
+public class PointRollupController {
+
+    private static final int MAX_TOP_LIMIT = 1000;
+
+    private final PointRollup pointRollup;
+
+    public PointRollupController(PointRollup pointRollup) {
+        this.pointRollup = pointRollup;
+    }
+
+    /**
+     * 최근 구간별 거래 금액/건수 (오래된 구간부터)
+     * - unit : MINUTE(최대 1,440개) / HOUR(최대 168개)
+     * - count : 구간 수
+     */
+    @GetMapping("buckets")
+    public List<PointRollupBucket> buckets(@RequestParam TransactionType type,
+                                           @RequestParam(defaultValue = "MINUTE") PointRollupUnit unit,
+                                           @RequestParam(defaultValue = "60") int count) {
+        return pointRollup.buckets(type, unit, count);
+    }
+
+    /**
+     * 최근 window 동안 거래 금액 상위 유저 (예: window=PT1H, limit=100)
+     * - window : 최대 7일, 한 시간보다 길면 시간 단위 구간으로 계산합니다.
+     * - limit : 최대 1,000명
+     */
+    @GetMapping("top")
+    public List<PointRollupRank> top(@RequestParam TransactionType type,
+                                     @RequestParam(defaultValue = "PT1H") Duration window,
+                                     @RequestParam(defaultValue = "100") int limit) {
+        return pointRollup.top(type, window, Math.max(1, Math.min(limit, MAX_TOP_LIMIT)));
+    }
+}
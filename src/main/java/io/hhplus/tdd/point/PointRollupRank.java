@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 기간 내 거래 금액 순위
+ * - amount / count : 기간 안의 유저 거래 금액 합 / 건수
+ */
+public record PointRollupRank(
+        long userId,
+        long amount,
+        long count
+) {
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 집계 시간 단위
+ * - MINUTE : 1분 단위, 최근 24시간(1,440개), 유저별 합계는 최근 1시간(60개)만
+ * - HOUR : 1시간 단위, 최근 7일(168개), 유저별 합계도 7일 모두
+ */
+public enum PointRollupUnit {
+
+    MINUTE(60_000L, 1440, 60),
+    HOUR(3_600_000L, 168, 168);
+
+    private final long millis;
+    private final int slots;
+    private final int userSlots;
+
+    PointRollupUnit(long millis, int slots, int userSlots) {
+        this.millis = millis;
+        this.slots = slots;
+        this.userSlots = userSlots;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    public int slots() {
+        return slots;
+    }
+
+    // 유저별 합계를 두는 최근 구간 수, 그보다 오래된 구간은 전체 합계만 둡니다.
+    public int userSlots() {
+        return userSlots;
+    }
+}
@@ -1,7 +1,7 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.hhplus.tdd.point.PointMetrics.TableCall;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,26 +11,71 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PointService {
 
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
+    private final UserPointTableGuard userPointTable;
+    private final UserLockManager userLockManager;
+    private final UserPointCache userPointCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointBalanceEngine pointBalanceEngine;
+    private final PointIdempotencyCache pointIdempotencyCache;
+    private final PointReadCollapser pointReadCollapser;
+    private final PointMetrics pointMetrics;
 
      // 특정 유저의 포인트 조회
     public UserPoint selectPoint(long id) {
-        return userPointTable.selectById(id);
+        UserPoint held = pointBalanceEngine.select(id);
+        if (held != null) {
+            return held;
+        }
+        UserPoint cached = userPointCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        // 같은 유저의 동시 조회는 한 번만 테이블을 읽는다.
+        // 저장과 같은 유저 락 안에서 적재해야 오래된 잔액이 캐시에 들어가지 않는다.
+        return pointReadCollapser.point(id, () -> userLockManager.executeWithLock(id, () -> {
+            UserPoint loaded = userPointCache.getIfPresent(id);
+            if (loaded != null) {
+                return loaded;
+            }
+            UserPoint userPoint = pointMetrics.recordTableCall(TableCall.USER_POINT_SELECT_BY_ID, () -> userPointTable.selectById(id));
+            userPointCache.put(userPoint);
+            return userPoint;
+        }));
     }
 
     // 특정 유저의 포인트 충전/이용 내역 조회
     public List<PointHistory> selectPointHistory(long id) {
-        return pointHistoryTable.selectAllByUserId(id);
+        return selectPointHistory(id, PointHistoryQuery.all()).histories();
+    }
+
+    // 특정 유저의 포인트 충전/이용 내역 조건 조회, 같은 유저의 같은 조건 동시 조회는 한 번만 읽는다.
+    public PointHistoryPage selectPointHistory(long id, PointHistoryQuery query) {
+        return pointReadCollapser.histories(id, query, () -> pointHistoryWriter.select(id, query));
     }
 
     // 특정 유저의 포인트 충전
     public UserPoint insertPoint(long id, long amount){
-        return userPointTable.insertOrUpdate(id, amount);
+        return pointBalanceEngine.execute(id, amount, TransactionType.CHARGE);
     }
 
     // 특정 유저의 포인트 사용
     public UserPoint updatePoint(long id, long amount){
-        return userPointTable.insertOrUpdate(id, amount);
+        return pointBalanceEngine.execute(id, amount, TransactionType.USE);
+    }
+
+    // 특정 유저의 포인트 충전, 같은 멱등 키로 다시 요청하면 처음 결과를 돌려준다.
+    public UserPoint insertPoint(long id, long amount, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return insertPoint(id, amount);
+        }
+        return pointIdempotencyCache.execute(id, idempotencyKey, TransactionType.CHARGE, amount, () -> insertPoint(id, amount));
+    }
+
+    // 특정 유저의 포인트 사용, 같은 멱등 키로 다시 요청하면 처음 결과를 돌려준다.
+    public UserPoint updatePoint(long id, long amount, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return updatePoint(id, amount);
+        }
+        return pointIdempotencyCache.execute(id, idempotencyKey, TransactionType.USE, amount, () -> updatePoint(id, amount));
     }
 }
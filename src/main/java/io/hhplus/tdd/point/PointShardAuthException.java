@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 다른 노드의 호출로 확인되지 않은 노드 간 요청
+ * 공유 비밀값이 없거나 다르므로 다시 시도해도 처리되지 않습니다.
+ */
+public class PointShardAuthException extends RuntimeException {
+
+    public PointShardAuthException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 노드 간 호출 확인
+ * - /internal/shard/** (구성 변경, 유저 넘겨주기)와 다른 노드가 넘긴(FORWARDED_HEADER) 요청은
+ *   SECRET_HEADER 가 설정한 공유 비밀값과 같을 때만 처리합니다.
+ * - 넘겨받을 노드(FORWARDED_HEADER)는 비밀값을 확인한 요청에서만 믿습니다.
+ * - 비밀값은 길이와 내용에 상관없이 같은 시간에 비교합니다.
+ * - 샤딩을 쓰지 않으면 확인하지 않고, 쓰는데 비밀값이 비어 있으면 시작하지 않습니다.
+ */
+@Component
+public class PointShardAuthInterceptor implements AsyncHandlerInterceptor {
+
+    private final boolean enabled;
+    private final byte[] secret;
+
+    public PointShardAuthInterceptor(PointShardProperties properties) {
+        if (properties.enabled() && properties.secret().isBlank()) {
+            throw new IllegalStateException("point.shard.secret 을 설정해야 샤딩을 쓸 수 있습니다.");
+        }
+        this.enabled = properties.enabled();
+        this.secret = properties.secret().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        boolean internal = request.getRequestURI().startsWith(request.getContextPath() + "/internal/shard/");
+        if (!internal && request.getHeader(PointShardClient.FORWARDED_HEADER) == null) {
+            return true;
+        }
+        String presented = request.getHeader(PointShardClient.SECRET_HEADER);
+        if (presented == null || !MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new PointShardAuthException("노드 간 호출로 확인되지 않은 요청입니다.");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,144 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * 다른 노드 호출 (java.net.http)
+ * - 넘기는 요청에는 FORWARDED_HEADER 를 붙여, 받은 노드가 다시 넘기지 않게 합니다.
+ * - 모든 호출에 SECRET_HEADER 로 공유 비밀값을 붙여, 받은 노드가 다른 노드의 호출인지 확인하게 합니다. (PointShardAuthInterceptor)
+ */
+@Component
+public class PointShardClient {
+
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded";
+    public static final String SECRET_HEADER = "X-Point-Shard-Secret";
+
+    private static final List<String> REQUEST_HEADERS = List.of("Content-Type", "Accept", "Idempotency-Key");
+    private static final List<String> RESPONSE_HEADERS = List.of("Content-Type", "Retry-After", "X-Next-Cursor");
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final PointShardProperties properties;
+
+    public PointShardClient(ObjectMapper objectMapper, PointShardProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.timeout())
+                .build();
+    }
+
+    // 받은 요청을 그대로 담당 노드로 보내고 응답을 그대로 돌려줌, 스트리밍 응답도 받는 대로 흘려보낸다.
+    public void forward(String node, String self, HttpServletRequest request, HttpServletResponse response) {
+        String query = request.getQueryString();
+        URI uri = URI.create(node + request.getRequestURI() + (query == null ? "" : "?" + query));
+        try {
+            byte[] body = request.getInputStream().readAllBytes();
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .timeout(properties.timeout())
+                    .header(FORWARDED_HEADER, self == null ? "unknown" : self)
+                    .header(SECRET_HEADER, properties.secret())
+                    .method(request.getMethod(), body.length == 0
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofByteArray(body));
+            for (String header : REQUEST_HEADERS) {
+                String value = request.getHeader(header);
+                if (value != null) {
+                    builder.header(header, value);
+                }
+            }
+            HttpResponse<InputStream> forwarded = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+            response.setStatus(forwarded.statusCode());
+            for (String header : RESPONSE_HEADERS) {
+                forwarded.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+            }
+            try (InputStream in = forwarded.body(); OutputStream out = response.getOutputStream()) {
+                in.transferTo(out);
+            }
+        } catch (IOException e) {
+            throw new PointShardException("담당 노드(" + node + ")로 요청을 넘기지 못했습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointShardException("담당 노드(" + node + ") 응답을 기다리다 중단되었습니다.", e);
+        }
+    }
+
+    // 이전 담당 노드에서 유저 잔액과 내역을 넘겨받음
+    public PointHandoff handoff(String node, String self, long userId) {
+        return send(HttpRequest.newBuilder(URI.create(node + "/internal/shard/users/" + userId + "/handoff"))
+                .header(FORWARDED_HEADER, self)
+                .header(SECRET_HEADER, properties.secret())
+                .POST(HttpRequest.BodyPublishers.noBody()), new TypeReference<>() {
+        });
+    }
+
+    // 담당 노드에서 여러 유저 내역 NDJSON 을 받아 받는 대로 out 에 흘려보냄
+    public void exportHistories(String node, String self, List<Long> userIds, OutputStream out) {
+        URI uri = URI.create(node + "/point/histories/stream");
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(properties.timeout())
+                    .header(FORWARDED_HEADER, self)
+                    .header(SECRET_HEADER, properties.secret())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(userIds)))
+                    .build();
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream in = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new PointShardException(uri + " 응답 코드 " + response.statusCode());
+                }
+                in.transferTo(out);
+            }
+        } catch (IOException e) {
+            throw new PointShardException(uri + " 에서 내역을 받아오지 못했습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointShardException(uri + " 응답을 기다리다 중단되었습니다.", e);
+        }
+    }
+
+    // 담당 노드에 일괄 충전/사용 요청
+    public PointBatchResponse batch(String node, String self, List<PointBatchItem> items) {
+        try {
+            return send(HttpRequest.newBuilder(URI.create(node + "/point/batch"))
+                    .header(FORWARDED_HEADER, self)
+                    .header(SECRET_HEADER, properties.secret())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(items))), new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new PointShardException("일괄 처리 요청을 만들지 못했습니다.", e);
+        }
+    }
+
+    private <T> T send(HttpRequest.Builder builder, TypeReference<T> type) {
+        HttpRequest request = builder.timeout(properties.timeout()).build();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new PointShardException(request.uri() + " 응답 코드 " + response.statusCode());
+            }
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new PointShardException(request.uri() + " 호출에 실패했습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointShardException(request.uri() + " 응답을 기다리다 중단되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+/**
+ * 노드 구성 관리와 노드 간 유저 이동 API
+ * - 구성 변경은 모든 노드에 같은 순서로 호출해야 합니다.
+ * - 노드를 뺄 때는 빠지는 노드의 유저가 모두 넘어갈 때까지 그 노드를 띄워 둡니다.
+ * - 모든 호출은 PointShardAuthInterceptor 가 공유 비밀값(point.shard.secret)을 확인한 뒤에만 처리합니다.
+ * - 샤딩을 쓸 때만 등록합니다.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "point.shard", name = "enabled", havingValue = "true")
+@RequestMapping("/internal/shard")
+public class PointShardController {
+
+    private final PointShardRouter pointShardRouter;
+    private final PointShardService pointShardService;
+
+    public PointShardController(PointShardRouter pointShardRouter, PointShardService pointShardService) {
+        this.pointShardRouter = pointShardRouter;
+        this.pointShardService = pointShardService;
+    }
+
+    @GetMapping("nodes")
+    public Set<String> nodes() {
+        return pointShardRouter.nodes();
+    }
+
+    // 노드 추가
+    @PostMapping("nodes")
+    public Set<String> join(@RequestParam String node) {
+        pointShardRouter.join(node);
+        return pointShardRouter.nodes();
+    }
+
+    // 노드 제거
+    @DeleteMapping("nodes")
+    public Set<String> leave(@RequestParam String node) {
+        pointShardRouter.leave(node);
+        return pointShardRouter.nodes();
+    }
+
+    // 이 노드가 담당하던 유저를 새 담당 노드(요청한 노드)에 넘겨줌, 요청한 노드가 현재 구성의 담당 노드가 아니면 거절
+    @PostMapping("users/{userId}/handoff")
+    public PointHandoff handoff(@PathVariable long userId,
+                                @RequestHeader(value = PointShardClient.FORWARDED_HEADER, required = false) String to) {
+        return pointShardService.handoff(userId, to);
+    }
+}
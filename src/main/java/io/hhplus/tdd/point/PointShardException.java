@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 담당 노드로 요청을 넘기지 못했거나, 이 노드가 담당하지 않는 유저의 요청을 다시 넘겨받은 경우
+ * 구성 변경 중에 잠깐 일어날 수 있으므로 다시 시도하면 처리됩니다.
+ */
+public class PointShardException extends RuntimeException {
+
+    public PointShardException(String message) {
+        super(message);
+    }
+
+    public PointShardException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
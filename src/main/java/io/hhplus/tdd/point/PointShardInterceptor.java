@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 유저별 포인트 API 요청을 담당 노드로 보냄
+ * - 경로의 {id} 유저를 이 노드가 담당하지 않으면 담당 노드로 요청을 넘기고 그 응답을 그대로 돌려줍니다.
+ * - 이 노드가 담당하면 필요한 경우 이전 담당 노드에서 유저를 넘겨받은 뒤 처리합니다.
+ * - 이미 넘겨받은 요청을 담당하지 않으면(구성 변경 중) 다시 넘기지 않고 거절합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointShardInterceptor implements AsyncHandlerInterceptor {
+
+    private final PointShardRouter pointShardRouter;
+    private final PointShardClient pointShardClient;
+    private final PointShardService pointShardService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!pointShardRouter.enabled() || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Long userId = userIdOf(request);
+        if (userId == null) {
+            return true;
+        }
+        if (pointShardRouter.isLocal(userId)) {
+            pointShardService.adoptIfNeeded(userId);
+            return true;
+        }
+        if (request.getHeader(PointShardClient.FORWARDED_HEADER) != null) {
+            throw new PointShardException("유저 " + userId + " 의 담당 노드가 아닙니다.");
+        }
+        pointShardClient.forward(pointShardRouter.ownerOf(userId), pointShardRouter.self(), request, response);
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long userIdOf(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!(variables instanceof Map<?, ?> map) || !(map.get("id") instanceof String id)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 유저 샤딩 설정
+ * - enabled : 여러 노드에 유저를 나눠 처리할지 여부
+ * - self : 이 노드의 주소 (예: http://10.0.0.1:8080), 비우면 http://localhost:{서버 포트}
+ * - nodes : 시작 시 함께 구성할 다른 노드 주소
+ * - virtualNodes : 노드당 해시 링에 올리는 가상 노드 수
+ * - timeout : 다른 노드로 넘기는 요청의 응답 제한 시간
+ * - secret : 노드 간 호출에 붙이는 공유 비밀값, 모든 노드에 같은 값을 넣어야 하며 샤딩을 쓰면 비울 수 없음
+ */
+@ConfigurationProperties(prefix = "point.shard")
+public record PointShardProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String self,
+        @DefaultValue List<String> nodes,
+        @DefaultValue("160") int virtualNodes,
+        @DefaultValue("5s") Duration timeout,
+        @DefaultValue("") String secret
+) {
+}
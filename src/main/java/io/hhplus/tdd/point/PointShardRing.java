@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * userId -> 노드 consistent hash 링 (불변)
+ * - 노드마다 virtualNodes 개의 점을 링에 올리고, userId 해시 다음에 오는 점의 노드가 담당합니다.
+ * - 노드가 추가/제거되어도 그 노드와 맞닿은 구간의 유저만 담당 노드가 바뀝니다.
+ */
+public final class PointShardRing {
+
+    private final Set<String> nodes;
+    private final int virtualNodes;
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    private PointShardRing(Collection<String> nodes, int virtualNodes) {
+        this.nodes = Collections.unmodifiableSet(new TreeSet<>(nodes));
+        this.virtualNodes = virtualNodes;
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    public static PointShardRing of(Collection<String> nodes, int virtualNodes) {
+        return new PointShardRing(nodes, virtualNodes);
+    }
+
+    // 담당 노드, 노드가 없으면 null
+    public String ownerOf(long userId) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = points.ceilingEntry(mix(userId));
+        return (entry == null ? points.firstEntry() : entry).getValue();
+    }
+
+    public PointShardRing with(String node) {
+        Set<String> changed = new TreeSet<>(nodes);
+        changed.add(node);
+        return new PointShardRing(changed, virtualNodes);
+    }
+
+    public PointShardRing without(String node) {
+        Set<String> changed = new TreeSet<>(nodes);
+        changed.remove(node);
+        return new PointShardRing(changed, virtualNodes);
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    // FNV-1a 64 후 mix
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
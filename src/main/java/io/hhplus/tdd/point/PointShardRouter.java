@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * 유저 담당 노드 결정과 노드 구성 변경
+ * - 현재 구성의 PointShardRing 으로 담당 노드를 정합니다. 샤딩을 쓰지 않으면 모든 유저를 이 노드가 담당합니다.
+ * - 구성이 바뀌면 바로 이전 구성을 함께 기억해, 새로 담당하게 된 유저를 이전 담당 노드에서 넘겨받을 수 있게 합니다.
+ *   유저별로 한 번만 넘겨받으며, 구성 변경은 한 번에 한 노드씩 모든 노드에 같은 순서로 반영해야 합니다.
+ * - 새로 합류하는 노드는 nodes 에 기존 노드를 넣고 시작합니다. 기존 구성을 이전 구성으로 삼아 자기 몫의 유저를 넘겨받습니다.
+ * - 다른 노드에 넘겨준 유저는 이 노드의 구성이 바뀔 때까지 처리하지 않습니다. (넘겨준 뒤 들어온 변경이 사라지지 않게)
+ *   구성이 바뀌어 다시 담당하게 되면 이전 구성의 담당 노드, 없으면 넘겨받아 간 노드에서 되찾습니다.
+ */
+@Component
+public class PointShardRouter implements ApplicationListener<WebServerInitializedEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(PointShardRouter.class);
+
+    private final PointShardProperties properties;
+    private final ReentrantLock membershipLock = new ReentrantLock();
+    private final Set<Long> adopted = ConcurrentHashMap.newKeySet();
+    private final Map<Long, HandedOff> handedOff = new ConcurrentHashMap<>();
+
+    private volatile String self;
+    private volatile PointShardRing ring;
+    private volatile PointShardRing previousRing;
+
+    public PointShardRouter(PointShardProperties properties) {
+        this.properties = properties;
+        this.self = properties.self().isBlank() ? null : normalize(properties.self());
+        this.ring = PointShardRing.of(properties.nodes().stream().map(PointShardRouter::normalize).toList(), properties.virtualNodes());
+        if (self != null) {
+            changeMembership(current -> current.with(self));
+        }
+    }
+
+    // self 를 정하지 않았으면 서버 포트로 정하고 링에 올림
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (!properties.enabled() || self != null || event.getApplicationContext().getServerNamespace() != null) {
+            return;
+        }
+        self = "http://localhost:" + event.getWebServer().getPort();
+        changeMembership(current -> current.with(self));
+        log.info("샤드 노드 시작 : {}, 구성 {}", self, ring.nodes());
+    }
+
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public Set<String> nodes() {
+        return ring.nodes();
+    }
+
+    public String ownerOf(long userId) {
+        return ring.ownerOf(userId);
+    }
+
+    public boolean isLocal(long userId) {
+        if (!properties.enabled()) {
+            return true;
+        }
+        String owner = ring.ownerOf(userId);
+        return owner == null || owner.equals(self);
+    }
+
+    // 이전 구성에서 다른 노드가 담당했거나 이 노드가 넘겨준 유저를 아직 넘겨받지 않았으면 그 노드, 아니면 null
+    public String previousOwnerToAdopt(long userId) {
+        if (adopted.contains(userId) || !isLocal(userId) || isFenced(userId)) {
+            return null;
+        }
+        PointShardRing previous = previousRing;
+        String owner = previous == null ? null : previous.ownerOf(userId);
+        if (owner == null || owner.equals(self)) {
+            HandedOff handed = handedOff.get(userId);
+            owner = handed == null ? null : handed.to();
+        }
+        return owner == null || owner.equals(self) ? null : owner;
+    }
+
+    public void markAdopted(long userId) {
+        adopted.add(userId);
+        handedOff.remove(userId);
+    }
+
+    // to 노드에 넘겨준 유저, 이 노드의 구성이 바뀔 때까지 처리하지 않음
+    public void markHandedOff(long userId, String to) {
+        handedOff.put(userId, new HandedOff(normalize(to), ring));
+        adopted.remove(userId);
+    }
+
+    // 넘겨준 뒤 구성이 바뀌지 않아 이 노드에서 처리하면 안 되는 유저인지
+    public boolean isFenced(long userId) {
+        HandedOff handed = handedOff.get(userId);
+        return handed != null && handed.ring() == ring;
+    }
+
+    // 현재 구성에서 node 가 이 노드가 아닌 다른 구성원이고 유저의 담당 노드인지
+    public boolean isOwnedBy(long userId, String node) {
+        if (node == null) {
+            return false;
+        }
+        PointShardRing current = ring;
+        String normalized = normalize(node);
+        return !normalized.equals(self) && current.nodes().contains(normalized) && normalized.equals(current.ownerOf(userId));
+    }
+
+    public void join(String node) {
+        changeMembership(ring -> ring.with(normalize(node)));
+    }
+
+    public void leave(String node) {
+        changeMembership(ring -> ring.without(normalize(node)));
+    }
+
+    private void changeMembership(UnaryOperator<PointShardRing> change) {
+        membershipLock.lock();
+        try {
+            PointShardRing changed = change.apply(ring);
+            if (changed.nodes().equals(ring.nodes())) {
+                return;
+            }
+            previousRing = ring.nodes().isEmpty() ? null : ring;
+            adopted.clear();
+            ring = changed;
+            log.info("샤드 구성 변경 : {}", ring.nodes());
+        } finally {
+            membershipLock.unlock();
+        }
+    }
+
+    private static String normalize(String node) {
+        return node.endsWith("/") ? node.substring(0, node.length() - 1) : node;
+    }
+
+    // 넘겨받아 간 노드와 넘겨줄 때의 구성
+    private record HandedOff(
+            String to,
+            PointShardRing ring
+    ) {
+    }
+}
@@ -0,0 +1,253 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalRecord;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 노드 간 유저 이동과 일괄 처리 분배
+ * - 담당 노드가 바뀐 유저는 새 담당 노드가 처음 요청을 받을 때 이전 담당 노드에서 잔액과 내역을 넘겨받습니다.
+ *   양쪽 모두 PointBalanceEngine.executeExclusively 안에서 처리해, 넘기는 동안 어느 노드에서도 그 유저의 잔액이 바뀌지 않게 합니다.
+ *   넘겨주는 잔액과 내역은 그 안에서 엔진, 테이블 창구, PointHistoryWriter 로 바로 읽습니다. (먼저 시작한 조회 결과를 나눠 받지 않게)
+ * - 넘겨준 노드는 그 유저를 구성이 바뀔 때까지 처리하지 않습니다. (PointShardRouter.isFenced)
+ *   넘겨달라는 노드가 현재 구성에서 그 유저의 담당 노드가 아니면 넘겨주지 않고, 넘겨받은 값도 그 유저의 것인지 확인합니다.
+ * - 이전 담당 노드가 응답하지 않으면 구성에서 빠진 노드라도 넘겨받지 않고 503 으로 거절합니다.
+ *   넘겨받지 못한 잔액은 알 수 없으므로, 그 노드가 다시 응답할 때까지 이 노드의 값으로 처리하지 않습니다.
+ * - 넘겨받는 내역 중 이 노드에 이미 있는 앞부분(예전에 이 노드가 담당하다 넘긴 내역)은 다시 넣지 않습니다.
+ * - 일괄 처리는 항목을 담당 노드별로 나눠, 다른 노드 몫은 그 노드에 한 번에 넘깁니다.
+ * - 여러 유저 내역 내보내기는 요청한 유저 순서를 지키며, 담당 노드가 같은 연속된 유저끼리 묶어 그 노드에서 받아 흘려보냅니다.
+ */
+@Service
+public class PointShardService {
+
+    private static final Logger log = LoggerFactory.getLogger(PointShardService.class);
+
+    private final PointShardRouter pointShardRouter;
+    private final PointShardClient pointShardClient;
+    private final PointBatchService pointBatchService;
+    private final UserPointTableGuard userPointTable;
+    private final PointBalanceEngine pointBalanceEngine;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointReadCollapser pointReadCollapser;
+    private final PointWal pointWal;
+    private final PointHistoryExporter pointHistoryExporter;
+
+    public PointShardService(PointShardRouter pointShardRouter, PointShardClient pointShardClient,
+                             PointBatchService pointBatchService, UserPointTableGuard userPointTable,
+                             PointBalanceEngine pointBalanceEngine, PointHistoryWriter pointHistoryWriter,
+                             PointReadCollapser pointReadCollapser, PointWal pointWal, PointHistoryExporter pointHistoryExporter) {
+        this.pointShardRouter = pointShardRouter;
+        this.pointShardClient = pointShardClient;
+        this.pointBatchService = pointBatchService;
+        this.userPointTable = userPointTable;
+        this.pointBalanceEngine = pointBalanceEngine;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointReadCollapser = pointReadCollapser;
+        this.pointWal = pointWal;
+        this.pointHistoryExporter = pointHistoryExporter;
+    }
+
+    // 새로 담당하게 된 유저이면 이전 담당 노드에서 넘겨받음, 넘겨준 뒤 구성이 바뀌지 않은 유저는 거절
+    public void adoptIfNeeded(long userId) {
+        if (pointShardRouter.isFenced(userId)) {
+            throw new PointShardException("유저 " + userId + " 는 다른 노드로 넘겼습니다. 구성 변경이 끝난 뒤 다시 시도해 주세요.");
+        }
+        if (pointShardRouter.previousOwnerToAdopt(userId) == null) {
+            return;
+        }
+        pointBalanceEngine.executeExclusively(userId, () -> {
+            String previousOwner = pointShardRouter.previousOwnerToAdopt(userId);
+            if (previousOwner != null) {
+                adopt(userId, previousOwner);
+            }
+            return null;
+        });
+    }
+
+    // 이전 담당 노드 쪽 : 잔액이 바뀌지 않게 막은 채로 현재 잔액과 내역을 넘겨주고, 이후 요청은 거절
+    public PointHandoff handoff(long userId, String to) {
+        requireOwner(userId, to);
+        return pointBalanceEngine.executeExclusively(userId, () -> {
+            requireOwner(userId, to);
+            PointHandoff handoff = new PointHandoff(currentPoint(userId), pointHistoryWriter.selectAllByUserId(userId));
+            pointShardRouter.markHandedOff(userId, to);
+            return handoff;
+        });
+    }
+
+    // 넘겨줄 잔액은 캐시나 합쳐 읽기(PointReadCollapser)를 거치지 않고 엔진, 테이블 창구에서 바로 읽음
+    private UserPoint currentPoint(long userId) {
+        UserPoint held = pointBalanceEngine.select(userId);
+        return held != null ? held : userPointTable.selectById(userId);
+    }
+
+    // 넘겨달라는 노드가 현재 구성에서 유저의 담당 노드인지
+    private void requireOwner(long userId, String to) {
+        if (!pointShardRouter.isOwnedBy(userId, to)) {
+            throw new PointShardException("유저 " + userId + " 를 넘겨받을 노드가 아닙니다. (" + to + ")");
+        }
+    }
+
+    // 담당 노드별로 나눠 처리하고 요청 순서대로 결과를 합침
+    public PointBatchResponse executeBatch(List<PointBatchItem> items, boolean forwarded) {
+        if (!pointShardRouter.enabled()) {
+            return pointBatchService.execute(items);
+        }
+        if (items.size() > PointBatchService.MAX_BATCH_SIZE) {
+            throw new PointException(PointErrorCode.BATCH_SIZE_EXCEEDED);
+        }
+        Map<String, List<Integer>> indexesByNode = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            indexesByNode.computeIfAbsent(nodeOf(items.get(i).userId()), key -> new ArrayList<>()).add(i);
+        }
+
+        PointBatchResult[] results = new PointBatchResult[items.size()];
+        indexesByNode.forEach((node, indexes) -> {
+            List<PointBatchItem> nodeItems = indexes.stream().map(items::get).toList();
+            List<PointBatchResult> nodeResults;
+            if (node == null || node.equals(pointShardRouter.self())) {
+                nodeItems.stream().map(PointBatchItem::userId).distinct().forEach(this::adoptIfNeeded);
+                nodeResults = pointBatchService.execute(nodeItems).results();
+            } else if (forwarded) {
+                nodeResults = failures(nodeItems, "담당 노드가 아닙니다.");
+            } else {
+                nodeResults = forwardBatch(node, nodeItems);
+            }
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = nodeResults.get(i);
+            }
+        });
+        return PointBatchResponse.of(Arrays.asList(results));
+    }
+
+    // 요청한 유저 순서대로 내보내고, 다른 노드 몫은 담당 노드가 같은 연속된 유저끼리 그 노드에서 받아 흘려보냄
+    public StreamingResponseBody exportHistories(Collection<Long> userIds, boolean forwarded) {
+        if (!pointShardRouter.enabled()) {
+            return pointHistoryExporter.export(userIds);
+        }
+        List<ExportRun> runs = new ArrayList<>();
+        for (long userId : userIds) {
+            String node = nodeOf(userId);
+            boolean local = Objects.equals(node, pointShardRouter.self());
+            if (!local && forwarded) {
+                throw new PointShardException("유저 " + userId + " 의 담당 노드가 아닙니다.");
+            }
+            if (runs.isEmpty() || !Objects.equals(runs.get(runs.size() - 1).node(), node)) {
+                runs.add(new ExportRun(node, local, new ArrayList<>()));
+            }
+            runs.get(runs.size() - 1).userIds().add(userId);
+        }
+        // 응답을 쓰기 전에 넘겨받아, 넘겨받지 못하면 스트림 도중이 아니라 503 으로 응답
+        runs.stream().filter(ExportRun::local).flatMap(run -> run.userIds().stream()).forEach(this::adoptIfNeeded);
+        return outputStream -> {
+            for (ExportRun run : runs) {
+                if (run.local()) {
+                    pointHistoryExporter.export(run.userIds()).writeTo(outputStream);
+                } else {
+                    pointShardClient.exportHistories(run.node(), pointShardRouter.self(), run.userIds(), outputStream);
+                }
+            }
+        };
+    }
+
+    private String nodeOf(long userId) {
+        return pointShardRouter.isLocal(userId) ? pointShardRouter.self() : pointShardRouter.ownerOf(userId);
+    }
+
+    private List<PointBatchResult> forwardBatch(String node, List<PointBatchItem> items) {
+        try {
+            return pointShardClient.batch(node, pointShardRouter.self(), items).results();
+        } catch (PointShardException e) {
+            log.warn("담당 노드 {} 로 일괄 처리 {}건을 넘기지 못했습니다.", node, items.size(), e);
+            return failures(items, e.getMessage());
+        }
+    }
+
+    private List<PointBatchResult> failures(List<PointBatchItem> items, String message) {
+        return items.stream().map(item -> PointBatchResult.failure(item, "503", message)).toList();
+    }
+
+    // executeExclusively 안에서 호출
+    private void adopt(long userId, String previousOwner) {
+        PointHandoff handoff;
+        try {
+            handoff = pointShardClient.handoff(previousOwner, pointShardRouter.self(), userId);
+        } catch (PointShardException e) {
+            // 모르는 잔액으로 이어서 처리하면 잔액이 초기화되므로, 구성에서 빠진 노드라도 응답할 때까지 거절
+            throw new PointShardException("유저 " + userId + " 를 이전 담당 노드 " + previousOwner
+                    + " 에서 넘겨받지 못했습니다. 그 노드가 응답하거나 그 노드의 변경 로그로 다시 시작한 뒤 다시 시도해 주세요.", e);
+        }
+
+        requireHandoffOf(userId, previousOwner, handoff);
+        UserPoint adopted = new UserPoint(userId, handoff.userPoint().point(), System.currentTimeMillis());
+        List<PointHistory> received = handoff.histories();
+        received = received.subList(commonPrefix(pointHistoryWriter.selectAllByUserId(userId), received), received.size());
+        List<PointHistory> histories = new ArrayList<>(received.size());
+        List<PointWalRecord> records = new ArrayList<>(received.size() + 1);
+        records.add(PointWalRecord.balance(adopted));
+        for (PointHistory history : received) {
+            PointHistory reserved = pointHistoryWriter.reserve(userId, history.amount(), history.type(), history.updateMillis());
+            histories.add(reserved);
+            records.add(PointWalRecord.history(reserved));
+        }
+        pointWal.commit(records);
+        UserPoint saved = userPointTable.insertOrUpdate(userId, adopted.point());
+        pointBalanceEngine.restore(saved);
+        histories.forEach(pointHistoryWriter::append);
+        pointReadCollapser.invalidate(userId);
+        pointShardRouter.markAdopted(userId);
+        log.info("유저 {} 를 {} 에서 넘겨받았습니다. (잔액 {}, 내역 {}건 중 새 내역 {}건)",
+                userId, previousOwner, saved.point(), handoff.histories().size(), histories.size());
+    }
+
+    // 넘겨받은 잔액과 내역이 그 유저의 것이고 잔액이 정책 범위 안인지
+    private static void requireHandoffOf(long userId, String previousOwner, PointHandoff handoff) {
+        UserPoint userPoint = handoff.userPoint();
+        boolean valid = userPoint != null && userPoint.id() == userId
+                && userPoint.point() >= 0 && userPoint.point() <= PointPolicy.MAX_BALANCE
+                && handoff.histories() != null
+                && handoff.histories().stream().allMatch(history -> history.userId() == userId);
+        if (!valid) {
+            throw new PointShardException(previousOwner + " 에서 넘겨받은 유저 " + userId + " 의 값이 올바르지 않습니다.");
+        }
+    }
+
+    /**
+     * 넘겨받은 내역 앞부분 중 이 노드에 이미 있는 건수
+     * 넘겨준 노드는 그 뒤로 내역을 남기지 않으므로, 예전에 이 노드가 담당하던 내역은 넘겨받은 내역의 앞부분과 같습니다.
+     * 넘겨받을 때 id 는 새로 부여하므로 금액/종류/시각으로 비교합니다.
+     */
+    private static int commonPrefix(List<PointHistory> local, List<PointHistory> received) {
+        int count = 0;
+        while (count < local.size() && count < received.size() && sameEntry(local.get(count), received.get(count))) {
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean sameEntry(PointHistory local, PointHistory received) {
+        return local.amount() == received.amount()
+                && local.type() == received.type()
+                && local.updateMillis() == received.updateMillis();
+    }
+
+    // 내보내기에서 같은 노드가 이어서 담당하는 유저 묶음
+    private record ExportRun(
+            String node,
+            boolean local,
+            List<Long> userIds
+    ) {
+    }
+}
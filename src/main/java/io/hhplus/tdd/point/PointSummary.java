@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 유저별 포인트 누적 집계
+ * - totalCharged / chargeCount : 누적 충전 금액 / 건수
+ * - totalUsed / useCount : 누적 사용 금액 / 건수
+ */
+public record PointSummary(
+        long userId,
+        long totalCharged,
+        long chargeCount,
+        long totalUsed,
+        long useCount
+) {
+
+    public static PointSummary empty(long userId) {
+        return new PointSummary(userId, 0L, 0L, 0L, 0L);
+    }
+
+    public PointSummary add(TransactionType type, long amount) {
+        return type == TransactionType.CHARGE
+                ? new PointSummary(userId, totalCharged + amount, chargeCount + 1, totalUsed, useCount)
+                : new PointSummary(userId, totalCharged, chargeCount, totalUsed + amount, useCount + 1);
+    }
+}
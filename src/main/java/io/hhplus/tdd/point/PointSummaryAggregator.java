@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저별 누적 충전/사용 집계
+ * - 내역이 추가될 때마다 해당 유저 집계만 갱신하므로 조회는 O(1) 입니다. 갱신과 재생성은 PointHistoryFold 로 합니다.
+ * - 시작 시 PointWal 에서 복구한 유저의 집계를 내역으로 다시 만듭니다. (복구한 내역은 리스너로 들어오지 않습니다.)
+ *   PointWal 은 스냅샷 이전 내역도 내역 보관 파일로 복구하므로, 재시작 후에도 누적 값이 처음부터 이어집니다.
+ */
+@Component
+public class PointSummaryAggregator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSummaryAggregator.class);
+
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointHistoryFold<PointSummary> summaries;
+
+    private volatile boolean running;
+
+    public PointSummaryAggregator(PointHistoryWriter pointHistoryWriter) {
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.summaries = new PointHistoryFold<>(pointHistoryWriter, PointSummary::empty, PointSummary::add);
+    }
+
+    public PointSummary select(long userId) {
+        PointSummary summary = summaries.get(userId);
+        return summary == null ? PointSummary.empty(userId) : summary;
+    }
+
+    // 주어진 유저들의 집계를 내역으로 다시 만듦
+    public void rebuild(Collection<Long> userIds) {
+        summaries.rebuild(userIds);
+    }
+
+    @Override
+    public void start() {
+        Set<Long> restored = pointHistoryWriter.restoredUserIds();
+        if (!restored.isEmpty()) {
+            long startedAt = System.nanoTime();
+            rebuild(restored);
+            log.info("누적 집계 재생성 완료 : 유저 {}명, {}ms", restored.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // PointRecovery(DEFAULT_PHASE - 3072) 이후, 웹 서버(DEFAULT_PHASE - 2048) 시작 전
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2560;
+    }
+}
@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 시작 시 워밍업과 잔액 미리 읽기
+ * - 애플리케이션 준비가 끝나면 pointTaskExecutor 에서 다음을 동시에 실행합니다.
+ *   1. 워밍업 유저(음수 id)로 충전 > 잔액 조회 > 내역 조회 > 사용을 반복해 PointService 경로를 JIT 컴파일되게 합니다.
+ *      워밍업 전용 PointService(같은 잔액 엔진 종류, 새 테이블/캐시/내역/지표, 꺼진 WAL)로 보내고 끝나면 버려,
+ *      워밍업 거래가 PointWal, 내역 저장소, 집계, 프로젝션, 지표에 남지 않습니다.
+ *      결과를 반영하기 전에 워밍업 잔액 엔진을 멈춰, pointTaskExecutor 에 넘긴 테이블 저장이 남지 않게 합니다.
+ *   2. 최근 거래한 유저(PointRollup)의 잔액을 미리 읽어 UserPointCache 를 채웁니다.
+ * - readiness 헬스 그룹에 포함되어, budget 안에 워밍업이 끝나야 UP 이 됩니다.
+ *   진행 중이거나 budget 을 넘기면 OUT_OF_SERVICE 입니다.
+ *   budget 을 넘기면 남은 작업을 멈추고, 실행 중인 호출이 끝난 뒤 결과를 반영합니다.
+ */
+@Component
+public class PointWarmup implements ApplicationListener<ApplicationReadyEvent>, HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(PointWarmup.class);
+
+    private final PointWarmupProperties properties;
+    private final PointService pointService;
+    private final PointRollup pointRollup;
+    private final PointBalanceEngine pointBalanceEngine;
+    private final ExecutorService pointTaskExecutor;
+
+    private volatile Health health = Health.outOfService().withDetail("state", "PENDING").build();
+    private volatile boolean stopped;
+
+    public PointWarmup(PointWarmupProperties properties, PointService pointService, PointRollup pointRollup,
+                       PointBalanceEngine pointBalanceEngine, @Qualifier("pointTaskExecutor") ExecutorService pointTaskExecutor) {
+        this.properties = properties;
+        this.pointService = pointService;
+        this.pointRollup = pointRollup;
+        this.pointBalanceEngine = pointBalanceEngine;
+        this.pointTaskExecutor = pointTaskExecutor;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!properties.enabled()) {
+            health = Health.up().withDetail("state", "DISABLED").build();
+            return;
+        }
+        health = Health.outOfService().withDetail("state", "RUNNING").build();
+        Thread thread = new Thread(this::run, "point-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    // 워밍업을 실행하고 결과를 health 에 반영
+    void run() {
+        long startedAt = System.nanoTime();
+        Set<Long> preloadUserIds = pointRollup.recentUsers(properties.preloadWindow(), properties.preloadUsers());
+        Scratch scratch = scratch();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (long userId = -1; userId >= -properties.scratchUsers(); userId--) {
+            final long scratchUserId = userId;
+            tasks.add(CompletableFuture.runAsync(() -> exercise(scratch.service(), scratchUserId), pointTaskExecutor));
+        }
+        for (long userId : preloadUserIds) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                if (!stopped) {
+                    pointService.selectPoint(userId);
+                }
+            }, pointTaskExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).get(properties.budget().toMillis(), TimeUnit.MILLISECONDS);
+            stopScratch(scratch);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            health = Health.up()
+                    .withDetail("state", "COMPLETED")
+                    .withDetail("elapsedMillis", elapsedMillis)
+                    .withDetail("preloadedUsers", preloadUserIds.size())
+                    .build();
+            log.info("워밍업 완료 : 워밍업 유저 {}명 x {}회, 미리 읽은 유저 {}명, {}ms",
+                    properties.scratchUsers(), properties.rounds(), preloadUserIds.size(), elapsedMillis);
+        } catch (TimeoutException e) {
+            // cancel 로는 실행 중인 작업이 멈추지 않으므로, 멈추라고 알린 뒤 실행 중인 호출이 끝나기를 기다린다.
+            stopped = true;
+            awaitStopped(tasks);
+            stopScratch(scratch);
+            health = Health.outOfService().withDetail("state", "TIMED_OUT").withDetail("budget", properties.budget().toString()).build();
+            log.warn("워밍업이 {} 안에 끝나지 않아 readiness 를 OUT_OF_SERVICE 로 둡니다.", properties.budget());
+        } catch (Exception e) {
+            stopped = true;
+            awaitStopped(tasks);
+            stopScratch(scratch);
+            health = Health.outOfService().withDetail("state", "FAILED").withException(e).build();
+            log.warn("워밍업 실패", e);
+        }
+    }
+
+    private void exercise(PointService scratchService, long userId) {
+        PointHistoryQuery query = PointHistoryQuery.of(10, null, null, null, null);
+        for (int round = 0; round < properties.rounds() && !stopped; round++) {
+            scratchService.insertPoint(userId, PointPolicy.MIN_CHARGE_AMOUNT);
+            scratchService.selectPoint(userId);
+            scratchService.selectPointHistory(userId, query);
+            scratchService.updatePoint(userId, PointPolicy.MIN_USE_AMOUNT);
+        }
+    }
+
+    private void awaitStopped(List<CompletableFuture<Void>> tasks) {
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        } catch (CancellationException e) {
+            log.warn("워밍업 작업을 기다리지 못했습니다.", e);
+        }
+    }
+
+    // 워밍업 잔액 엔진이 pointTaskExecutor 에 넘긴 테이블 저장이 모두 끝나기를 기다린다.
+    private void stopScratch(Scratch scratch) {
+        if (scratch.engine() instanceof SmartLifecycle lifecycle) {
+            lifecycle.stop();
+        }
+    }
+
+    /**
+     * 워밍업 전용 PointService 와 잔액 엔진
+     * 운영과 같은 잔액 엔진 종류를 쓰되, 테이블/캐시/내역/WAL/지표는 새로 만들어 워밍업이 끝나면 버립니다.
+     * 내역 적재 워커는 띄우지 않으므로, 적재 대기 큐는 워밍업 내역이 모두 들어갈 크기로 잡습니다.
+     */
+    private Scratch scratch() {
+        PointMetrics metrics = new PointMetrics(new SimpleMeterRegistry());
+        UserPointTableGuard table = new UserPointTableGuard(new UserPointTable());
+        UserLockManager lockManager = new UserLockManager(metrics);
+        UserPointCache cache = new UserPointCache(new UserPointCacheProperties(Math.max(1, properties.scratchUsers()), Duration.ofHours(1)));
+        int historyCount = Math.max(1, properties.scratchUsers() * properties.rounds() * 2);
+        PointHistoryWriter writer = new PointHistoryWriter(new PointHistoryTable(), new PointHistoryIndex(),
+                new PointHistoryProperties(historyCount, historyCount, Duration.ZERO), metrics);
+        PointWal wal = new PointWal(PointWalProperties.disabled());
+        PointReadCollapser collapser = new PointReadCollapser();
+        PointBalanceEngine engine = pointBalanceEngine instanceof AtomicBalanceEngine
+                ? new AtomicBalanceEngine(table, writer, wal, collapser, metrics, pointTaskExecutor)
+                : new UserPointCombiner(table, lockManager, cache, writer, wal, collapser, metrics);
+        PointService service = new PointService(table, lockManager, cache, writer, engine,
+                new PointIdempotencyCache(new PointIdempotencyProperties(1, Duration.ofMinutes(1))), collapser, metrics);
+        return new Scratch(service, engine);
+    }
+
+    private record Scratch(PointService service, PointBalanceEngine engine) {
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 시작 시 워밍업 설정
+ * - enabled : 워밍업 사용 여부, 끄면 바로 준비 완료로 알립니다.
+ * - scratchUsers : 워밍업에 쓸 유저 수, id 는 -1 부터 -scratchUsers 까지의 음수를 씁니다.
+ * - rounds : 워밍업 유저마다 반복할 충전 > 조회 > 사용 횟수
+ * - preloadUsers / preloadWindow : 최근 preloadWindow 동안 거래한 유저 중 잔액을 미리 읽어 둘 최대 유저 수
+ * - budget : 워밍업 허용 시간, 이 안에 끝나지 않으면 readiness 를 OUT_OF_SERVICE 로 둡니다.
+ */
+@ConfigurationProperties(prefix = "point.warmup")
+public record PointWarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("16") int scratchUsers,
+        @DefaultValue("20") int rounds,
+        @DefaultValue("1000") int preloadUsers,
+        @DefaultValue("1h") Duration preloadWindow,
+        @DefaultValue("60s") Duration budget
+) {
+}
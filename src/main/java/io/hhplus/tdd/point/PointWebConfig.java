@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 포인트 API 인터셉터와 바이너리 변환기 등록
+ */
+@Configuration
+@RequiredArgsConstructor
+public class PointWebConfig implements WebMvcConfigurer {
+
+    private final PointShardAuthInterceptor pointShardAuthInterceptor;
+    private final PointAdmissionInterceptor pointAdmissionInterceptor;
+    private final PointShardInterceptor pointShardInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(pointShardAuthInterceptor).addPathPatterns("/internal/shard/**", "/point/**", "/reactive/point/**");
+        registry.addInterceptor(pointAdmissionInterceptor).addPathPatterns("/point/**", "/reactive/point/**");
+        registry.addInterceptor(pointShardInterceptor).addPathPatterns("/point/**", "/reactive/point/**");
+    }
+
+    // 기본 변환기 뒤에 두어 Accept 가 없거나 */* 이면 JSON 으로 응답한다.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PointBinaryMessageConverter());
+    }
+}
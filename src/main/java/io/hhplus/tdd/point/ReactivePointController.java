@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 포인트 API 의 리액티브 버전
+ * - PointController 와 같은 기능을 Mono / Flux 로 돌려주며, 요청 스레드는 결과를 기다리지 않고 바로 반환됩니다.
+ * - 내역은 NDJSON 으로 한 건씩 흘려보냅니다.
+ */
+@RestController
+@RequestMapping("/reactive/point")
+public class ReactivePointController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ReactivePointService reactivePointService;
+
+    public ReactivePointController(ReactivePointService reactivePointService) {
+        this.reactivePointService = reactivePointService;
+    }
+
+    // 특정 유저 포인트 조회
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(@PathVariable long id) {
+        return reactivePointService.selectPoint(id);
+    }
+
+    // 특정 유저 포인트 충전/이용 내역 스트리밍, type 이 있으면 해당 거래 종류만
+    @GetMapping(value = "{id}/histories", produces = NDJSON)
+    public Flux<PointHistory> history(@PathVariable long id,
+                                      @RequestParam(required = false) TransactionType type) {
+        return reactivePointService.selectPointHistory(id, type);
+    }
+
+    // 특정 유저 포인트 충전
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(@PathVariable long id,
+                                  @RequestBody long amount,
+                                  @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return reactivePointService.insertPoint(id, amount, idempotencyKey);
+    }
+
+    // 특정 유저 포인트 사용
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(@PathVariable long id,
+                               @RequestBody long amount,
+                               @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return reactivePointService.updatePoint(id, amount, idempotencyKey);
+    }
+}
@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * PointService 의 논블로킹 창구
+ * - 테이블 호출이 있는 PointService 작업을 pointScheduler 로 넘겨, 요청 스레드가 테이블 응답을 기다리지 않게 합니다.
+ * - 내역은 페이지 단위로 읽어 Flux 로 흘려보내며, 구독자가 요청한 만큼만 다음 페이지를 읽습니다. (미리 읽는 것은 한 페이지까지)
+ */
+@Service
+public class ReactivePointService {
+
+    private static final int HISTORY_PAGE_SIZE = 256;
+
+    private final PointService pointService;
+    private final Scheduler pointScheduler;
+
+    public ReactivePointService(PointService pointService, @Qualifier("pointScheduler") Scheduler pointScheduler) {
+        this.pointService = pointService;
+        this.pointScheduler = pointScheduler;
+    }
+
+    public Mono<UserPoint> selectPoint(long id) {
+        return Mono.fromCallable(() -> pointService.selectPoint(id))
+                .subscribeOn(pointScheduler);
+    }
+
+    // cursor 이후 내역을 id 오름차순으로 끝까지 흘려보냄
+    public Flux<PointHistory> selectPointHistory(long id, TransactionType type) {
+        return page(id, 0L, type)
+                .expand(page -> page.nextCursor() == null ? Mono.empty() : page(id, page.nextCursor(), type))
+                .concatMapIterable(PointHistoryPage::histories, 1);
+    }
+
+    public Mono<UserPoint> insertPoint(long id, long amount, String idempotencyKey) {
+        return Mono.fromCallable(() -> pointService.insertPoint(id, amount, idempotencyKey))
+                .subscribeOn(pointScheduler);
+    }
+
+    public Mono<UserPoint> updatePoint(long id, long amount, String idempotencyKey) {
+        return Mono.fromCallable(() -> pointService.updatePoint(id, amount, idempotencyKey))
+                .subscribeOn(pointScheduler);
+    }
+
+    private Mono<PointHistoryPage> page(long id, long cursor, TransactionType type) {
+        return Mono.fromCallable(() -> pointService.selectPointHistory(id, PointHistoryQuery.of(HISTORY_PAGE_SIZE, cursor, null, null, type)))
+                .subscribeOn(pointScheduler);
+    }
+}
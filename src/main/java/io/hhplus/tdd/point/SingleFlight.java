@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 조회를 하나로 합침 (single-flight)
+ * - 처리 중인 조회가 있으면 새로 조회하지 않고 그 결과를 함께 받습니다.
+ * - 조회가 끝나면 바로 제거하므로 결과를 보관하지 않습니다.
+ * - invalidate 이후 들어온 조회는 처리 중인 조회에 합류하지 않고 새로 조회합니다.
+ * - 조회가 Error 로 끝나도 합류한 조회에 같은 예외를 넘겨, 합류한 조회가 영원히 기다리지 않게 합니다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = calls.putIfAbsent(key, created);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (Throwable e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, created);
+        }
+    }
+
+    public void invalidate(K key) {
+        calls.remove(key);
+    }
+
+    // 처리 중인 조회 수
+    public int size() {
+        return calls.size();
+    }
+
+    private V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 유저 단위 락 관리
+ * - 같은 유저의 요청만 직렬화하고, 서로 다른 유저는 병렬로 처리합니다.
+ * - 공정(fair) 락을 사용해 요청 순서대로 락을 획득합니다.
+ * - 참조 카운트가 0 이 되면 엔트리를 제거하므로 맵 크기는 처리 중인 유저 수를 넘지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserLockManager {
+
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<Long, LockEntry> locks = new ConcurrentHashMap<>();
+
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        LockEntry entry = acquire(userId);
+        long waitStartedAt = System.nanoTime();
+        entry.lock.lock();
+        pointMetrics.recordLockWait(System.nanoTime() - waitStartedAt);
+        try {
+            return action.get();
+        } finally {
+            entry.lock.unlock();
+            release(userId);
+        }
+    }
+
+    // 현재 관리 중인 락 엔트리 수
+    int size() {
+        return locks.size();
+    }
+
+    private LockEntry acquire(long userId) {
+        return locks.compute(userId, (key, entry) -> {
+            LockEntry target = entry == null ? new LockEntry() : entry;
+            target.refCount++;
+            return target;
+        });
+    }
+
+    private void release(long userId) {
+        locks.computeIfPresent(userId, (key, entry) -> --entry.refCount == 0 ? null : entry);
+    }
+
+    // refCount 는 ConcurrentHashMap 의 compute 안에서만 변경됩니다.
+    private static final class LockEntry {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int refCount;
+    }
+}
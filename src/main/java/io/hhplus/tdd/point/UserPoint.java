@@ -9,4 +9,14 @@ public record UserPoint(
     public static UserPoint empty(long id) {
         return new UserPoint(id, 0, System.currentTimeMillis());
     }
+
+    // 충전 후 잔액
+    public long charge(long amount) {
+        return PointPolicy.charge(point, amount);
+    }
+
+    // 사용 후 잔액
+    public long use(long amount) {
+        return PointPolicy.use(point, amount);
+    }
 }
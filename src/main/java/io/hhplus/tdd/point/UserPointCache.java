@@ -0,0 +1,143 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 포인트 캐시 (LRU + TTL)
+ * - UserPointTable 에 저장이 끝난 값만 넣고, 저장/적재는 항상 유저 락 안에서 합니다.
+ *   그래서 캐시에 있는 값은 마지막으로 응답한 저장 결과보다 오래되지 않습니다.
+ * - 락 경합을 줄이기 위해 유저 id 기준으로 나눈 세그먼트마다 LRU 를 관리합니다.
+ */
+@Component
+public class UserPointCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserPointCache(UserPointCacheProperties properties) {
+        int segmentSize = Math.max(1, (properties.maxSize() + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+        this.ttlNanos = properties.ttl().toNanos();
+    }
+
+    // 캐시된 값이 없거나 만료되었으면 null
+    public UserPoint getIfPresent(long id) {
+        UserPoint userPoint = segmentFor(id).get(id, System.nanoTime());
+        if (userPoint == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return userPoint;
+    }
+
+    public void put(UserPoint userPoint) {
+        segmentFor(userPoint.id()).put(userPoint, System.nanoTime() + ttlNanos);
+    }
+
+    public void invalidate(long id) {
+        segmentFor(id).remove(id);
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment segmentFor(long id) {
+        return segments[(Long.hashCode(id) & Integer.MAX_VALUE) % SEGMENT_COUNT];
+    }
+
+    public record Stats(
+            long hits,
+            long misses,
+            long evictions,
+            long size
+    ) {
+    }
+
+    private record Entry(
+            UserPoint userPoint,
+            long expiresAtNanos
+    ) {
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, Entry> entries;
+
+        private Segment(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    boolean evict = size() > maxSize;
+                    if (evict) {
+                        evictions.increment();
+                    }
+                    return evict;
+                }
+            };
+        }
+
+        private UserPoint get(long id, long now) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(id);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.expiresAtNanos() - now <= 0) {
+                    entries.remove(id);
+                    evictions.increment();
+                    return null;
+                }
+                return entry.userPoint();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(UserPoint userPoint, long expiresAtNanos) {
+            lock.lock();
+            try {
+                entries.put(userPoint.id(), new Entry(userPoint, expiresAtNanos));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(long id) {
+            lock.lock();
+            try {
+                entries.remove(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 유저 포인트 캐시 설정
+ * - maxSize : 최대 캐시 건수, 초과 시 가장 오래 사용하지 않은 유저부터 제거합니다.
+ * - ttl : 저장 후 만료 시간
+ */
+@ConfigurationProperties(prefix = "point.cache")
+public record UserPointCacheProperties(
+        @DefaultValue("10000") int maxSize,
+        @DefaultValue("10m") Duration ttl
+) {
+}
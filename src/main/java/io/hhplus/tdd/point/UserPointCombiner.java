@@ -0,0 +1,213 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalRecord;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.hhplus.tdd.point.PointMetrics.TableCall;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 유저 단위 충전/사용 병합 처리(group commit)
+ * - 요청은 유저별 대기열에 쌓이고, 유저 락을 잡은 스레드가 쌓인 요청을 순서대로 한 번에 처리합니다.
+ * - 요청마다 충전/사용 정책을 검사하고, 최종 잔액만 UserPointTable 에 한 번 저장합니다.
+ *   저장은 UserPointTableGuard 에 넘기고 바로 돌아오므로, 다른 유저의 테이블 저장을 기다리지 않습니다.
+ * - 각 요청은 자기 차례의 잔액 또는 정책 위반 예외를 결과로 받습니다.
+ * - 현재 잔액은 캐시에 있으면 캐시에서 읽고, 저장한 잔액은 캐시에도 반영합니다.
+ * - 최종 잔액과 내역은 PointWal 에 먼저 기록하고, 기록이 확정된 뒤에 테이블/캐시에 반영합니다.
+ *   기록에 실패하면 아무것도 반영하지 않습니다.
+ * - 저장 후 처리 중인 같은 유저의 조회 합치기를 무효화해, 응답 이후의 조회가 저장 전 값을 받지 않게 합니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.balance", name = "engine", havingValue = "combiner", matchIfMissing = true)
+@RequiredArgsConstructor
+public class UserPointCombiner implements PointBalanceEngine {
+
+    private final UserPointTableGuard userPointTable;
+    private final UserLockManager userLockManager;
+    private final UserPointCache userPointCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointWal pointWal;
+    private final PointReadCollapser pointReadCollapser;
+    private final PointMetrics pointMetrics;
+
+    private final ConcurrentHashMap<Long, Queue<PointCommand>> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    // 잔액은 캐시/테이블에 있으므로 보관하지 않음
+    @Override
+    public UserPoint select(long userId) {
+        return null;
+    }
+
+    @Override
+    public UserPoint execute(long userId, long amount, TransactionType type) {
+        try {
+            return submit(userId, amount, type).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 충전/사용 요청을 대기열에 넣고, 처리한 스레드가 없으면 직접 처리
+    public CompletableFuture<UserPoint> submit(long userId, long amount, TransactionType type) {
+        PointCommand command = new PointCommand(amount, type, new CompletableFuture<>());
+        queues.compute(userId, (key, queue) -> {
+            Queue<PointCommand> target = queue == null ? new ConcurrentLinkedQueue<>() : queue;
+            target.add(command);
+            return target;
+        });
+        pendingCount.incrementAndGet();
+        userLockManager.executeWithLock(userId, () -> {
+            if (!command.result().isDone()) {
+                combine(userId);
+            }
+            return null;
+        });
+        return command.result();
+    }
+
+    // 같은 유저의 충전/사용 요청 여러 건을 순서대로 대기열에 넣고 한 번에 처리
+    @Override
+    public List<CompletableFuture<UserPoint>> submitAll(long userId, List<PointBatchItem> items) {
+        List<PointCommand> commands = items.stream()
+                .map(item -> new PointCommand(item.amount(), item.type(), new CompletableFuture<>()))
+                .toList();
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+        queues.compute(userId, (key, queue) -> {
+            Queue<PointCommand> target = queue == null ? new ConcurrentLinkedQueue<>() : queue;
+            target.addAll(commands);
+            return target;
+        });
+        pendingCount.addAndGet(commands.size());
+        PointCommand last = commands.get(commands.size() - 1);
+        userLockManager.executeWithLock(userId, () -> {
+            if (!last.result().isDone()) {
+                combine(userId);
+            }
+            return null;
+        });
+        return commands.stream().map(PointCommand::result).toList();
+    }
+
+    // 충전/사용과 같은 유저 락 안에서 실행
+    @Override
+    public <T> T executeExclusively(long userId, Supplier<T> action) {
+        return userLockManager.executeWithLock(userId, action);
+    }
+
+    @Override
+    public void restore(UserPoint userPoint) {
+        userPointCache.put(userPoint);
+    }
+
+    // 병합 처리를 기다리는 요청 수
+    @Override
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    // 유저 락을 잡은 상태에서 호출
+    private void combine(long userId) {
+        List<PointCommand> commands = drain(userId);
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        UserPoint current = userPointCache.getIfPresent(userId);
+        try {
+            if (current == null) {
+                current = pointMetrics.recordTableCall(TableCall.USER_POINT_SELECT_BY_ID, () -> userPointTable.selectById(userId));
+            }
+        } catch (RuntimeException e) {
+            commands.forEach(command -> command.result().completeExceptionally(e));
+            return;
+        }
+
+        long balance = current.point();
+        List<PointCommand> accepted = new ArrayList<>(commands.size());
+        List<Long> balances = new ArrayList<>(commands.size());
+        for (PointCommand command : commands) {
+            try {
+                balance = command.type() == TransactionType.CHARGE
+                        ? PointPolicy.charge(balance, command.amount())
+                        : PointPolicy.use(balance, command.amount());
+                accepted.add(command);
+                balances.add(balance);
+            } catch (PointException e) {
+                pointMetrics.countRejection(e.getErrorCode());
+                command.result().completeExceptionally(e);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        long updateMillis = System.currentTimeMillis();
+        UserPoint committed = new UserPoint(userId, balance, updateMillis);
+        List<PointHistory> histories = new ArrayList<>(accepted.size());
+        for (PointCommand command : accepted) {
+            histories.add(pointHistoryWriter.reserve(userId, command.amount(), command.type(), updateMillis));
+        }
+        try {
+            pointWal.commit(walRecords(committed, histories));
+        } catch (RuntimeException e) {
+            accepted.forEach(command -> command.result().completeExceptionally(e));
+            return;
+        }
+
+        pointMetrics.recordTableCall(TableCall.USER_POINT_INSERT_OR_UPDATE, () -> userPointTable.insertOrUpdate(userId, committed.point()));
+        userPointCache.put(committed);
+
+        histories.forEach(pointHistoryWriter::append);
+        pointReadCollapser.invalidate(userId);
+        for (int i = 0; i < accepted.size(); i++) {
+            PointCommand command = accepted.get(i);
+            pointMetrics.countTransaction(command.type());
+            command.result().complete(new UserPoint(userId, balances.get(i), updateMillis));
+        }
+    }
+
+    private List<PointWalRecord> walRecords(UserPoint committed, List<PointHistory> histories) {
+        List<PointWalRecord> records = new ArrayList<>(histories.size() + 1);
+        records.add(PointWalRecord.balance(committed));
+        histories.forEach(history -> records.add(PointWalRecord.history(history)));
+        return records;
+    }
+
+    private List<PointCommand> drain(long userId) {
+        List<PointCommand> commands = new ArrayList<>();
+        queues.computeIfPresent(userId, (key, queue) -> {
+            PointCommand command;
+            while ((command = queue.poll()) != null) {
+                commands.add(command);
+            }
+            return null;
+        });
+        pendingCount.addAndGet(-commands.size());
+        return commands;
+    }
+
+    private record PointCommand(
+            long amount,
+            TransactionType type,
+            CompletableFuture<UserPoint> result
+    ) {
+    }
+}
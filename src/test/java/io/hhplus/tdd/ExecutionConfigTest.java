@@ -0,0 +1,81 @@
+package io.hhplus.tdd;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionConfigTest {
+
+    private ExecutionConfig executionConfig;
+
+    @AfterEach
+    void tearDown() {
+        if (executionConfig != null) {
+            executionConfig.pointTaskExecutor().shutdownNow();
+            executionConfig.pointBatchExecutor().shutdownNow();
+        }
+    }
+
+    @Test
+    void 가상_스레드를_끄면_설정한_크기의_스레드_풀로_실행한다() {
+        // given
+        executionConfig = new ExecutionConfig(new ExecutionProperties(false, 4, 8));
+
+        // when
+        ExecutorService pointTaskExecutor = executionConfig.pointTaskExecutor();
+        ExecutorService pointBatchExecutor = executionConfig.pointBatchExecutor();
+
+        // then
+        assertThat(pointTaskExecutor).isInstanceOfSatisfying(ThreadPoolExecutor.class,
+                executor -> assertThat(executor.getMaximumPoolSize()).isEqualTo(4));
+        assertThat(pointBatchExecutor).isInstanceOfSatisfying(ThreadPoolExecutor.class,
+                executor -> assertThat(executor.getMaximumPoolSize()).isEqualTo(8));
+    }
+
+    @Test
+    void 가상_스레드를_지원하지_않는_Java_에서는_켜도_스레드_풀로_실행한다() {
+        // given
+        executionConfig = new ExecutionConfig(new ExecutionProperties(true, 4, 8));
+
+        // when
+        ExecutorService pointTaskExecutor = executionConfig.pointTaskExecutor();
+
+        // then : Java 21 이상이면 가상 스레드 Executor, 아니면 poolSize 개 스레드 풀
+        assertThat(pointTaskExecutor instanceof ThreadPoolExecutor).isEqualTo(!VirtualThreads.isSupported());
+    }
+
+    @Test
+    void 스케줄러를_dispose_해도_pointTaskExecutor_는_종료되지_않는다() {
+        // given : 가상 스레드 모드처럼 pointTaskExecutor 를 함께 쓰는 스케줄러
+        ExecutorService pointTaskExecutor = Executors.newFixedThreadPool(2, task -> new Thread(task, "point-task"));
+        Scheduler scheduler = ExecutionConfig.sharedScheduler(pointTaskExecutor);
+        String threadName = Mono.fromCallable(() -> Thread.currentThread().getName()).subscribeOn(scheduler).block();
+
+        // when
+        scheduler.dispose();
+
+        // then : 블로킹 호출은 pointTaskExecutor 에서 실행했고, dispose 뒤에도 종료되지 않는다.
+        assertThat(threadName).isEqualTo("point-task");
+        assertThat(pointTaskExecutor.isShutdown()).isFalse();
+        pointTaskExecutor.shutdownNow();
+    }
+
+    @Test
+    void 가상_스레드_설정과_상관없이_pointScheduler_를_dispose_해도_pointTaskExecutor_는_종료되지_않는다() {
+        // given
+        executionConfig = new ExecutionConfig(new ExecutionProperties(true, 4, 8));
+
+        // when
+        executionConfig.pointScheduler().dispose();
+
+        // then
+        assertThat(executionConfig.pointTaskExecutor().isShutdown()).isFalse();
+    }
+}
@@ -0,0 +1,240 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 Spring 컨텍스트와 테이블로 충전/사용 부하를 주고 결과를 검증
+ * - 여러 유저에게 충전/사용 요청을 동시에 보내고, 요청 종류별 응답 시간 백분위와 처리량을 기록합니다.
+ * - 유저별로 내역 순서대로 잔액을 다시 계산해 다음을 확인합니다.
+ *   1. 성공한 요청은 모두 내역에 한 번씩 남고, 실패한 요청은 남지 않는다. (유실/중복 없음)
+ *   2. 잔액은 항상 0 이상 1,000,000 이하이고, 최종 잔액은 내역을 다시 계산한 값과 같다.
+ *   3. 각 요청이 받은 잔액은 내역 순서상 그 요청 직후 잔액과 같다.
+ *   4. 먼저 끝난 요청은 나중에 시작한 요청보다 내역에서 앞선다. (실시간 순서)
+ * - 규모는 시스템 프로퍼티로 바꿀 수 있습니다. (point.load.users, point.load.operations, point.load.threads)
+ * - 응답 시간과 처리량은 실행 환경에 따라 달라지므로 기본으로는 기록만 하고,
+ *   point.load.max-p99-millis, point.load.min-throughput 을 지정했을 때만 성능 기준으로 확인합니다.
+ * - 잔액 엔진도 같은 방식으로 고를 수 있습니다. (-Dpoint.balance.engine=cas)
+ * - 결과는 build/reports/point-load/result.json 에 남겨 이전 결과와 비교할 수 있게 합니다.
+ * - 동시 처리 한도는 끄고 측정합니다. (429 거절은 PointAdmissionLimiterTest 에서 확인)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"point.wal.enabled=false", "point.admission.enabled=false"})
+class PointLoadTest {
+
+    private static final int USERS = Integer.getInteger("point.load.users", 20);
+    private static final int OPERATIONS = Integer.getInteger("point.load.operations", 1000);
+    private static final int THREADS = Integer.getInteger("point.load.threads", 64);
+    private static final Long MAX_P99_MILLIS = Long.getLong("point.load.max-p99-millis");
+    private static final String MIN_THROUGHPUT = System.getProperty("point.load.min-throughput");
+    private static final Path REPORT = Path.of("build", "reports", "point-load", "result.json");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void 동시_충전과_사용의_결과는_선형화_가능하다() throws Exception {
+        // given : 유저마다 요청 번호로 금액을 달리해 내역과 요청을 1:1 로 맞춘다.
+        List<Operation> operations = new ArrayList<>(OPERATIONS);
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            long userId = 1 + random.nextInt(USERS);
+            TransactionType type = random.nextInt(10) < 6 ? TransactionType.CHARGE : TransactionType.USE;
+            operations.add(new Operation(userId, type, PointPolicy.MIN_CHARGE_AMOUNT + i));
+        }
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long startedAt = System.nanoTime();
+        List<Future<Result>> futures = new ArrayList<>(OPERATIONS);
+        for (Operation operation : operations) {
+            futures.add(executor.submit(() -> execute(operation)));
+        }
+        List<Result> results = new ArrayList<>(OPERATIONS);
+        for (Future<Result> future : futures) {
+            results.add(future.get(5, TimeUnit.MINUTES));
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        // then
+        assertThat(results).allSatisfy(result -> assertThat(result.status()).isIn(200, 400));
+        Map<Long, List<Result>> resultsByUser = new HashMap<>();
+        results.forEach(result -> resultsByUser.computeIfAbsent(result.operation().userId(), key -> new ArrayList<>()).add(result));
+        for (Map.Entry<Long, List<Result>> entry : resultsByUser.entrySet()) {
+            verifyUser(entry.getKey(), entry.getValue());
+        }
+
+        Report report = Report.of(results, elapsedNanos);
+        writeReport(report);
+        if (MAX_P99_MILLIS != null) {
+            assertThat(report.p99Millis()).isLessThanOrEqualTo(MAX_P99_MILLIS);
+        }
+        if (MIN_THROUGHPUT != null) {
+            assertThat(report.throughput()).isGreaterThanOrEqualTo(Double.parseDouble(MIN_THROUGHPUT));
+        }
+    }
+
+    private void verifyUser(long userId, List<Result> results) throws Exception {
+        List<PointHistory> histories = get("/point/" + userId + "/histories", new TypeReference<>() {
+        });
+        UserPoint userPoint = get("/point/" + userId, new TypeReference<>() {
+        });
+
+        Map<Long, Result> succeededByAmount = new HashMap<>();
+        for (Result result : results) {
+            if (result.status() == 200) {
+                succeededByAmount.put(result.operation().amount(), result);
+            }
+        }
+        // 1. 유실/중복 없음
+        assertThat(histories).hasSize(succeededByAmount.size());
+
+        long balance = 0L;
+        List<Result> ordered = new ArrayList<>(histories.size());
+        for (PointHistory history : histories.stream().sorted(Comparator.comparingLong(PointHistory::id)).toList()) {
+            Result result = succeededByAmount.get(history.amount());
+            assertThat(result).as("유저 %d 내역 %d 에 맞는 요청", userId, history.id()).isNotNull();
+            assertThat(history.type()).isEqualTo(result.operation().type());
+            balance += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+            // 2. 잔액 범위, 3. 응답 잔액 = 내역 순서상 직후 잔액
+            assertThat(balance).isBetween(0L, PointPolicy.MAX_BALANCE);
+            assertThat(result.point()).isEqualTo(balance);
+            ordered.add(result);
+        }
+        assertThat(userPoint.point()).isEqualTo(balance);
+
+        // 4. 실시간 순서 : 내역에서 뒤에 있는 요청이 앞 요청 시작 전에 끝났으면 안 된다.
+        for (int i = 0; i < ordered.size(); i++) {
+            for (int j = i + 1; j < ordered.size(); j++) {
+                assertThat(ordered.get(j).endNanos()).isGreaterThan(ordered.get(i).startNanos());
+            }
+        }
+    }
+
+    private Result execute(Operation operation) throws IOException, InterruptedException {
+        String path = operation.type() == TransactionType.CHARGE ? "/charge" : "/use";
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + operation.userId() + path))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(operation.amount())))
+                .build();
+        long startNanos = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        long endNanos = System.nanoTime();
+        Long point = response.statusCode() == 200 ? objectMapper.readValue(response.body(), UserPoint.class).point() : null;
+        return new Result(operation, response.statusCode(), point, startNanos, endNanos);
+    }
+
+    private <T> T get(String path, TypeReference<T> type) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return objectMapper.readValue(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body(), type);
+    }
+
+    private void writeReport(Report report) throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+    private record Operation(
+            long userId,
+            TransactionType type,
+            long amount
+    ) {
+    }
+
+    private record Result(
+            Operation operation,
+            int status,
+            Long point,
+            long startNanos,
+            long endNanos
+    ) {
+
+        private long latencyNanos() {
+            return endNanos - startNanos;
+        }
+    }
+
+    /**
+     * 부하 결과
+     * - latencies : 요청 종류별 p50 / p95 / p99 (ms)
+     * - throughput : 초당 처리 요청 수
+     */
+    record Report(
+            int users,
+            int operations,
+            int threads,
+            long elapsedMillis,
+            double throughput,
+            long succeeded,
+            long rejected,
+            long p99Millis,
+            Map<TransactionType, Map<String, Long>> latencies
+    ) {
+
+        private static Report of(List<Result> results, long elapsedNanos) {
+            Map<TransactionType, Map<String, Long>> latencies = new EnumMap<>(TransactionType.class);
+            for (TransactionType type : TransactionType.values()) {
+                List<Long> sorted = sortedLatencies(results.stream().filter(result -> result.operation().type() == type).toList());
+                latencies.put(type, Map.of("p50", percentile(sorted, 0.5), "p95", percentile(sorted, 0.95), "p99", percentile(sorted, 0.99)));
+            }
+            long succeeded = results.stream().filter(result -> result.status() == 200).count();
+            return new Report(USERS, results.size(), THREADS,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    results.size() / (elapsedNanos / 1_000_000_000.0),
+                    succeeded,
+                    results.size() - succeeded,
+                    percentile(sortedLatencies(results), 0.99),
+                    latencies);
+        }
+
+        private static List<Long> sortedLatencies(List<Result> results) {
+            List<Long> sorted = new ArrayList<>(results.stream().map(Result::latencyNanos).toList());
+            Collections.sort(sorted);
+            return sorted;
+        }
+
+        private static long percentile(List<Long> sorted, double percentile) {
+            if (sorted.isEmpty()) {
+                return 0L;
+            }
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, index)));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 프로세스 안에 노드 여러 개를 띄워 샤딩 동작 확인
+ * - 어느 노드로 요청해도 담당 노드 한 곳에서 처리되어 같은 잔액을 본다.
+ * - 노드가 추가되면 새 담당 노드가 이전 담당 노드에서 잔액과 내역을 넘겨받는다.
+ */
+class PointShardingTest {
+
+    private static final int USER_COUNT = 20;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void 어느_노드로_요청해도_담당_노드의_잔액을_본다() throws Exception {
+        // given
+        String a = start();
+        String b = start(a);
+        join(List.of(a), b);
+
+        // when : 유저마다 a 로 충전, b 로 사용
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(send("PATCH", a + "/point/" + userId + "/charge", "5000").statusCode()).isEqualTo(200);
+            assertThat(send("PATCH", b + "/point/" + userId + "/use", "2000").statusCode()).isEqualTo(200);
+        }
+
+        // then
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(send("GET", a + "/point/" + userId, null).body()).contains("\"point\":3000");
+            assertThat(send("GET", b + "/point/" + userId, null).body()).contains("\"point\":3000");
+        }
+    }
+
+    @Test
+    void 노드가_추가되면_새_담당_노드가_잔액과_내역을_넘겨받는다() throws Exception {
+        // given
+        String a = start();
+        String b = start(a);
+        join(List.of(a), b);
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            send("PATCH", a + "/point/" + userId + "/charge", "5000");
+        }
+
+        // when
+        String c = start(a, b);
+        join(List.of(a, b), c);
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(send("PATCH", c + "/point/" + userId + "/charge", "1000").statusCode()).isEqualTo(200);
+        }
+
+        // then
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(send("GET", a + "/point/" + userId, null).body()).contains("\"point\":6000");
+            assertThat(send("GET", b + "/point/" + userId + "/histories", null).body()).contains("\"amount\":5000", "\"amount\":1000");
+        }
+        assertThat(send("GET", c + "/internal/shard/nodes", null).body()).contains(a, b, c);
+    }
+
+    // 기존 노드 구성을 알고 시작
+    private String start(String... existing) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .run("--server.port=0", "--point.shard.enabled=true", "--point.wal.enabled=false",
+                        "--point.shard.nodes=" + String.join(",", existing));
+        nodes.add(context);
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    // 기존 노드들에 새 노드를 추가
+    private void join(List<String> targets, String node) throws Exception {
+        for (String target : targets) {
+            send("POST", target + "/internal/shard/nodes?node=" + node, null);
+        }
+    }
+
+    private HttpResponse<String> send(String method, String url, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
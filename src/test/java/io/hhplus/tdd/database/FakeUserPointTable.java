@@ -0,0 +1,61 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 UserPointTable
+ * - 스레드 안전한 맵을 사용하고, 지연 시간을 고정값으로 조절할 수 있습니다.
+ */
+public class FakeUserPointTable extends UserPointTable {
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final long latencyMillis;
+    private final AtomicInteger selectByIdCount = new AtomicInteger();
+    private final AtomicInteger insertOrUpdateCount = new AtomicInteger();
+
+    public FakeUserPointTable(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        sleep();
+        selectByIdCount.incrementAndGet();
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        sleep();
+        insertOrUpdateCount.incrementAndGet();
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    // selectById 호출 횟수
+    public int selectByIdCount() {
+        return selectByIdCount.get();
+    }
+
+    // insertOrUpdate 호출 횟수
+    public int insertOrUpdateCount() {
+        return insertOrUpdateCount.get();
+    }
+
+    private void sleep() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointWalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 기록한_잔액과_내역은_다시_열면_복구된다() {
+        // given
+        PointWal pointWal = open();
+        pointWal.recover();
+        pointWal.commit(List.of(
+                PointWalRecord.balance(new UserPoint(1L, 5000L, 10L)),
+                PointWalRecord.history(new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 10L))));
+        pointWal.commit(List.of(
+                PointWalRecord.balance(new UserPoint(1L, 3000L, 20L)),
+                PointWalRecord.history(new PointHistory(2L, 1L, 2000L, TransactionType.USE, 20L))));
+        pointWal.close();
+
+        // when
+        PointWal.Recovery recovery = open().recover();
+
+        // then
+        assertThat(recovery.balances()).containsExactly(new UserPoint(1L, 3000L, 20L));
+        assertThat(recovery.histories()).containsExactly(
+                new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 10L),
+                new PointHistory(2L, 1L, 2000L, TransactionType.USE, 20L));
+        assertThat(recovery.nextHistoryId()).isEqualTo(3L);
+    }
+
+    @Test
+    void 취소한_내역은_복구하지_않는다() {
+        // given
+        PointWal pointWal = open();
+        pointWal.recover();
+        PointHistory charged = new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 10L);
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 5000L, 10L)), PointWalRecord.history(charged)));
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 0L, 10L)), PointWalRecord.cancel(charged)));
+        pointWal.close();
+
+        // when
+        PointWal.Recovery recovery = open().recover();
+
+        // then : 취소한 id 도 다시 부여하지 않는다
+        assertThat(recovery.balances()).containsExactly(new UserPoint(1L, 0L, 10L));
+        assertThat(recovery.histories()).isEmpty();
+        assertThat(recovery.nextHistoryId()).isEqualTo(2L);
+    }
+
+    @Test
+    void 스냅샷_이후에는_스냅샷과_이후_변경만_읽는다() throws IOException {
+        // given
+        PointWal pointWal = open();
+        pointWal.recover();
+        for (long userId = 1; userId <= 100; userId++) {
+            pointWal.commit(List.of(
+                    PointWalRecord.balance(new UserPoint(userId, 1000L, 10L)),
+                    PointWalRecord.history(new PointHistory(userId, userId, 1000L, TransactionType.CHARGE, 10L))));
+        }
+
+        // when
+        pointWal.snapshot();
+        pointWal.commit(List.of(
+                PointWalRecord.balance(new UserPoint(1L, 2000L, 20L)),
+                PointWalRecord.history(new PointHistory(101L, 1L, 1000L, TransactionType.CHARGE, 20L))));
+        pointWal.close();
+        PointWal.Recovery recovery = open().recover();
+
+        // then : 이전 세그먼트는 지워지고, 잔액과 다음 내역 id 는 스냅샷에서, 이전 내역은 내역 보관 파일에서 읽는다
+        assertThat(recovery.balances()).hasSize(100).contains(new UserPoint(1L, 2000L, 20L), new UserPoint(100L, 1000L, 10L));
+        assertThat(recovery.histories()).hasSize(101)
+                .startsWith(new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 10L))
+                .endsWith(new PointHistory(101L, 1L, 1000L, TransactionType.CHARGE, 20L));
+        assertThat(recovery.nextHistoryId()).isEqualTo(102L);
+        assertThat(files("wal-")).doesNotContain("wal-00000000000000000000.log");
+        assertThat(files("snapshot-")).hasSize(1);
+        assertThat(Files.size(directory.resolve("history.log"))).isEqualTo(100L * 42);
+    }
+
+    @Test
+    void 스냅샷을_여러_번_남겨도_이전_내역과_그_취소가_복구된다() {
+        // given : 두 번째 스냅샷 전에 첫 스냅샷 이전 내역을 취소
+        PointWal pointWal = open();
+        pointWal.recover();
+        PointHistory charged = new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 10L);
+        PointHistory used = new PointHistory(2L, 1L, 1000L, TransactionType.USE, 20L);
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 5000L, 10L)), PointWalRecord.history(charged)));
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 4000L, 20L)), PointWalRecord.history(used)));
+        pointWal.snapshot();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 5000L, 30L)), PointWalRecord.cancel(used)));
+        pointWal.snapshot();
+        pointWal.close();
+
+        // when
+        PointWal.Recovery recovery = open().recover();
+
+        // then
+        assertThat(recovery.balances()).containsExactly(new UserPoint(1L, 5000L, 30L));
+        assertThat(recovery.histories()).containsExactly(charged);
+        assertThat(recovery.nextHistoryId()).isEqualTo(3L);
+    }
+
+    @Test
+    void 끝이_잘린_레코드는_버리고_그_앞까지_복구한다() throws IOException {
+        // given
+        PointWal pointWal = open();
+        pointWal.recover();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 5000L, 10L))));
+        pointWal.close();
+        Path segment = directory.resolve("wal-00000000000000000000.log");
+        long validSize = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 34, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // when
+        PointWal.Recovery recovery = open().recover();
+
+        // then
+        assertThat(recovery.balances()).containsExactly(new UserPoint(1L, 5000L, 10L));
+        assertThat(Files.size(segment)).isEqualTo(validSize);
+    }
+
+    @Test
+    void 손상된_레코드가_있는_세그먼트_뒤의_세그먼트도_복구한다() throws IOException {
+        // given : 쓰다 만 레코드를 잘라내지 못한 채 새 세그먼트로 넘어간 상황
+        PointWal pointWal = open();
+        pointWal.recover();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 5000L, 10L))));
+        pointWal.close();
+        pointWal = open();
+        pointWal.recover();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(2L, 3000L, 20L))));
+        pointWal.close();
+        Files.write(directory.resolve("wal-00000000000000000000.log"), new byte[]{0, 0, 0, 34, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // when
+        PointWal.Recovery recovery = open().recover();
+
+        // then
+        assertThat(recovery.balances()).containsExactlyInAnyOrder(new UserPoint(1L, 5000L, 10L), new UserPoint(2L, 3000L, 20L));
+    }
+
+    @Test
+    void 동시에_요청한_commit_은_모두_기록된다() throws Exception {
+        // given
+        PointWal pointWal = open();
+        pointWal.recover();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= 1000; userId++) {
+            final long id = userId;
+            futures.add(executor.submit(() -> pointWal.commit(List.of(
+                    PointWalRecord.balance(new UserPoint(id, id, 0L)),
+                    PointWalRecord.history(new PointHistory(id, id, id, TransactionType.CHARGE, 0L))))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        pointWal.close();
+        PointWal.Recovery recovery = open().recover();
+
+        // then
+        assertThat(recovery.balances()).hasSize(1000);
+        assertThat(recovery.histories()).hasSize(1000);
+    }
+
+    private PointWal open() {
+        return new PointWal(new PointWalProperties(true, directory.toString(), Duration.ZERO, Duration.ofHours(1)));
+    }
+
+    private List<String> files(String prefix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.map(path -> path.getFileName().toString()).filter(name -> name.startsWith(prefix)).toList();
+        }
+    }
+}
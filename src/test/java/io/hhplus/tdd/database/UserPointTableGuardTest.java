@@ -0,0 +1,127 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPointTableGuardTest {
+
+    private static final int USER_COUNT = 20;
+
+    private final RecordingUserPointTable userPointTable = new RecordingUserPointTable();
+    private final UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
+
+    @Test
+    void 여러_유저의_저장과_조회를_동시에_요청해도_저장은_한_번에_하나씩_실행된다() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            final long id = userId;
+            futures.add(executor.submit(() -> userPointTableGuard.insertOrUpdate(id, id)));
+            futures.add(executor.submit(() -> userPointTableGuard.selectById(id)));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then : 저장 중에는 다른 저장도 조회도 실행되지 않고, 모든 유저가 남는다
+        assertThat(userPointTableGuard.awaitFlushed(Duration.ofSeconds(30))).isTrue();
+        assertThat(userPointTable.overlapped.get()).isZero();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(userPointTableGuard.selectById(userId).point()).isEqualTo(userId);
+            assertThat(userPointTable.selectById(userId).point()).isEqualTo(userId);
+        }
+    }
+
+    @Test
+    void 저장_요청은_테이블_저장을_기다리지_않고_밀린_저장은_마지막_잔액만_저장한다() {
+        // given
+        FakeUserPointTable slowTable = new FakeUserPointTable(200L);
+        UserPointTableGuard guard = new UserPointTableGuard(slowTable);
+
+        // when
+        long startedAt = System.nanoTime();
+        for (long amount = 1; amount <= 10; amount++) {
+            guard.insertOrUpdate(1L, amount * 1000L);
+            guard.insertOrUpdate(amount + 1, amount);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // then : 조회는 저장 전에도 마지막 잔액을 돌려준다.
+        assertThat(elapsedMillis).isLessThan(200L);
+        assertThat(guard.selectById(1L).point()).isEqualTo(10000L);
+        assertThat(guard.awaitFlushed(Duration.ofSeconds(30))).isTrue();
+        assertThat(slowTable.selectById(1L).point()).isEqualTo(10000L);
+        assertThat(slowTable.insertOrUpdateCount()).isLessThan(20);
+    }
+
+    @Test
+    void 복구한_잔액은_테이블을_채우기_전에도_조회된다() {
+        // given
+        FakeUserPointTable slowTable = new FakeUserPointTable(50L);
+        UserPointTableGuard guard = new UserPointTableGuard(slowTable);
+        List<UserPoint> recovered = new ArrayList<>();
+        for (long userId = 1; userId <= 100; userId++) {
+            recovered.add(new UserPoint(userId, userId * 100L, userId));
+        }
+
+        // when
+        long startedAt = System.nanoTime();
+        guard.restore(recovered);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // then : 100명 x 50ms 를 기다리지 않고, 복구한 시각 그대로 조회된다.
+        assertThat(elapsedMillis).isLessThan(1000L);
+        assertThat(guard.selectById(7L)).isEqualTo(new UserPoint(7L, 700L, 7L));
+        assertThat(slowTable.selectByIdCount()).isZero();
+        assertThat(guard.awaitFlushed(Duration.ofSeconds(30))).isTrue();
+        assertThat(slowTable.selectById(100L).point()).isEqualTo(10000L);
+    }
+
+    // 저장이 다른 호출과 겹친 횟수를 세는 테이블
+    private static class RecordingUserPointTable extends UserPointTable {
+
+        private final AtomicInteger writing = new AtomicInteger();
+        private final AtomicInteger reading = new AtomicInteger();
+        private final AtomicInteger overlapped = new AtomicInteger();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            reading.incrementAndGet();
+            try {
+                if (writing.get() > 0) {
+                    overlapped.incrementAndGet();
+                }
+                return super.selectById(id);
+            } finally {
+                reading.decrementAndGet();
+            }
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            if (writing.incrementAndGet() > 1 || reading.get() > 0) {
+                overlapped.incrementAndGet();
+            }
+            try {
+                return super.insertOrUpdate(id, amount);
+            } finally {
+                writing.decrementAndGet();
+            }
+        }
+    }
+}
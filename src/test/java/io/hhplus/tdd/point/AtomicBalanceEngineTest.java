@@ -0,0 +1,262 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.PointWalRecord;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AtomicBalanceEngineTest {
+
+    private final FakeUserPointTable userPointTable = new FakeUserPointTable(1L);
+    private final UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(mock(PointHistoryTable.class), new PointHistoryIndex(),
+            new PointHistoryProperties(10000, 256, Duration.ofSeconds(5)), pointMetrics);
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+    private final AtomicBalanceEngine atomicBalanceEngine = new AtomicBalanceEngine(userPointTableGuard, pointHistoryWriter,
+            new PointWal(PointWalProperties.disabled()), new PointReadCollapser(), pointMetrics, executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 처음_보는_유저는_테이블_잔액에서_시작한다() {
+        // given
+        userPointTable.insertOrUpdate(1L, 5000L);
+
+        // when
+        UserPoint result = atomicBalanceEngine.execute(1L, 2000L, TransactionType.USE);
+
+        // then
+        assertThat(result.point()).isEqualTo(3000L);
+        assertThat(atomicBalanceEngine.select(1L).point()).isEqualTo(3000L);
+        assertThat(userPointTable.selectByIdCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 동시에_사용해도_잔액보다_많이_사용되지_않는다() throws Exception {
+        // given : 10,000원으로 1,000원 사용 20건 동시 요청
+        final long userId = 1L;
+        final int requestCount = 20;
+        userPointTable.insertOrUpdate(userId, 10000L);
+        ExecutorService requests = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            futures.add(requests.submit(() -> {
+                start.await();
+                try {
+                    atomicBalanceEngine.execute(userId, 1000L, TransactionType.USE);
+                } catch (PointException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        requests.shutdown();
+
+        // then
+        assertThat(rejected.get()).isEqualTo(10);
+        assertThat(atomicBalanceEngine.select(userId).point()).isZero();
+        assertThat(pointHistoryWriter.selectAllByUserId(userId)).hasSize(10);
+        assertThatThrownBy(() -> atomicBalanceEngine.execute(userId, 1000L, TransactionType.USE))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(PointErrorCode.INSUFFICIENT_BALANCE);
+    }
+
+    @Test
+    void 테이블에는_마지막_잔액이_비동기로_저장된다() throws Exception {
+        // given
+        final int userCount = 50;
+        final int chargeCountPerUser = 20;
+        ExecutorService requests = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (long userId = 1; userId <= userCount; userId++) {
+            final long id = userId;
+            for (int i = 0; i < chargeCountPerUser; i++) {
+                futures.add(requests.submit(() -> atomicBalanceEngine.execute(id, 1000L, TransactionType.CHARGE)));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        requests.shutdown();
+
+        // then : 종료 시 남은 저장을 모두 기다림
+        atomicBalanceEngine.stop();
+        userPointTableGuard.stop();
+        assertThat(atomicBalanceEngine.pendingCount()).isZero();
+        assertThat(userPointTableGuard.pendingCount()).isZero();
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertThat(userPointTable.selectById(userId).point()).isEqualTo(20000L);
+            assertThat(pointHistoryWriter.selectAllByUserId(userId)).hasSize(chargeCountPerUser);
+        }
+        assertThat(userPointTable.insertOrUpdateCount()).isLessThanOrEqualTo(userCount * chargeCountPerUser);
+    }
+
+    @Test
+    void 조회만_하는_유저는_등록하지_않는다() {
+        // given
+        userPointTable.insertOrUpdate(1L, 5000L);
+
+        // when
+        UserPoint result = atomicBalanceEngine.select(1L);
+
+        // then : 엔진이 보관하지 않으므로 캐시/테이블에서 읽게 한다.
+        assertThat(result).isNull();
+        assertThat(userPointTable.selectByIdCount()).isZero();
+    }
+
+    @Test
+    void 로그_기록에_실패하면_잔액을_되돌리고_내역_취소를_기록한다() {
+        // given
+        PointWal failingWal = mock(PointWal.class);
+        when(failingWal.append(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new UncheckedIOException(new IOException("disk full"))))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        doCallRealMethod().when(failingWal).await(any());
+        AtomicBalanceEngine engine = new AtomicBalanceEngine(userPointTableGuard, pointHistoryWriter, failingWal,
+                new PointReadCollapser(), pointMetrics, executor);
+        userPointTable.insertOrUpdate(1L, 5000L);
+
+        // when
+        assertThatThrownBy(() -> engine.execute(1L, 1000L, TransactionType.CHARGE))
+                .isInstanceOf(UncheckedIOException.class);
+
+        // then
+        assertThat(engine.select(1L).point()).isEqualTo(5000L);
+        assertThat(pointHistoryWriter.selectAllByUserId(1L)).isEmpty();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PointWalRecord>> records = ArgumentCaptor.forClass(List.class);
+        verify(failingWal, times(2)).append(records.capture());
+        List<PointWalRecord> undone = records.getAllValues().get(1);
+        assertThat(undone).extracting(PointWalRecord::kind).containsExactly(PointWalRecord.Kind.BALANCE, PointWalRecord.Kind.CANCEL);
+        assertThat(undone.get(0).amount()).isEqualTo(5000L);
+        assertThat(undone.get(1).id()).isEqualTo(records.getAllValues().get(0).get(1).id());
+    }
+
+    @Test
+    void 기록하지_못한_잔액은_되돌리는_동안에도_테이블에_저장하지_않는다() throws Exception {
+        // given : 충전 기록은 실패하고, 되돌린 잔액 기록은 끝나지 않은 경우
+        PointWal failingWal = mock(PointWal.class);
+        CompletableFuture<Void> undoLogged = new CompletableFuture<>();
+        when(failingWal.append(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new UncheckedIOException(new IOException("disk full"))))
+                .thenReturn(undoLogged);
+        doCallRealMethod().when(failingWal).await(any());
+        AtomicBalanceEngine engine = new AtomicBalanceEngine(userPointTableGuard, pointHistoryWriter, failingWal,
+                new PointReadCollapser(), pointMetrics, executor);
+        userPointTable.insertOrUpdate(1L, 5000L);
+        ExecutorService requests = Executors.newSingleThreadExecutor();
+
+        // when
+        Future<UserPoint> charged = requests.submit(() -> engine.execute(1L, 1000L, TransactionType.CHARGE));
+        Thread.sleep(100);
+
+        // then : 기록이 확정된 잔액만 저장한다.
+        assertThat(charged).isNotDone();
+        assertThat(userPointTableGuard.selectById(1L).point()).isEqualTo(5000L);
+        undoLogged.complete(null);
+        assertThatThrownBy(() -> charged.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(UncheckedIOException.class);
+        engine.stop();
+        assertThat(userPointTableGuard.selectById(1L).point()).isEqualTo(5000L);
+        requests.shutdown();
+    }
+
+    @Test
+    void 기록이_확정되기_전에는_바뀐_잔액을_조회하지_않는다() throws Exception {
+        // given : 로그 기록이 끝나지 않은 경우
+        PointWal pendingWal = mock(PointWal.class);
+        CompletableFuture<Void> logged = new CompletableFuture<>();
+        when(pendingWal.append(anyList())).thenReturn(logged);
+        doCallRealMethod().when(pendingWal).await(any());
+        AtomicBalanceEngine engine = new AtomicBalanceEngine(userPointTableGuard, pointHistoryWriter, pendingWal,
+                new PointReadCollapser(), pointMetrics, executor);
+        userPointTable.insertOrUpdate(1L, 5000L);
+        ExecutorService requests = Executors.newSingleThreadExecutor();
+
+        // when
+        Future<UserPoint> charged = requests.submit(() -> engine.execute(1L, 1000L, TransactionType.CHARGE));
+        Thread.sleep(100);
+
+        // then : 기록 중에는 이전 잔액을, 기록이 확정되면 바뀐 잔액을 조회한다.
+        assertThat(charged).isNotDone();
+        assertThat(engine.select(1L).point()).isEqualTo(5000L);
+        logged.complete(null);
+        assertThat(charged.get(5, TimeUnit.SECONDS).point()).isEqualTo(6000L);
+        assertThat(engine.select(1L).point()).isEqualTo(6000L);
+        requests.shutdown();
+    }
+
+    @Test
+    void 배타_실행_중에는_충전과_사용이_끼어들지_않는다() throws Exception {
+        // given
+        userPointTable.insertOrUpdate(1L, 5000L);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService requests = Executors.newFixedThreadPool(2);
+        Future<?> exclusive = requests.submit(() -> atomicBalanceEngine.executeExclusively(1L, () -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            atomicBalanceEngine.restore(new UserPoint(1L, 9000L, System.currentTimeMillis()));
+            return null;
+        }));
+        entered.await();
+
+        // when
+        Future<UserPoint> charged = requests.submit(() -> atomicBalanceEngine.execute(1L, 1000L, TransactionType.CHARGE));
+
+        // then : 배타 실행이 끝난 뒤, 넘겨받은 잔액에 이어서 반영된다.
+        Thread.sleep(100);
+        assertThat(charged).isNotDone();
+        release.countDown();
+        exclusive.get(5, TimeUnit.SECONDS);
+        assertThat(charged.get(5, TimeUnit.SECONDS).point()).isEqualTo(10000L);
+        requests.shutdown();
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedPointHistoryStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 힙_인덱스와_같은_조건으로_같은_결과를_조회한다() {
+        // given
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+        try (MappedPointHistoryStore mappedStore = new MappedPointHistoryStore(
+                new PointHistoryStoreProperties("mapped", directory.toString(), DataSize.ofKilobytes(128)))) {
+            Random random = new Random(7);
+            for (long id = 1; id <= 20_000; id++) {
+                TransactionType type = random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE;
+                PointHistory pointHistory = new PointHistory(id, random.nextInt(10) + 1, id * 10, type, id * 100);
+                pointHistoryIndex.append(pointHistory);
+                mappedStore.append(pointHistory);
+            }
+
+            // when & then
+            for (int i = 0; i < 200; i++) {
+                long userId = random.nextInt(12) + 1;
+                PointHistoryQuery query = PointHistoryQuery.of(random.nextInt(50) + 1, (long) random.nextInt(20_000),
+                        (long) random.nextInt(1_000_000), (long) random.nextInt(2_000_000),
+                        random.nextBoolean() ? null : TransactionType.USE);
+                assertThat(select(mappedStore, userId, query)).isEqualTo(select(pointHistoryIndex, userId, query));
+                assertThat(mappedStore.scan(userId, query, (id, u, amount, type, updateMillis) -> true))
+                        .isEqualTo(pointHistoryIndex.scan(userId, query, (id, u, amount, type, updateMillis) -> true));
+            }
+            assertThat(mappedStore.selectAllByUserId(3L)).isEqualTo(pointHistoryIndex.selectAllByUserId(3L));
+            assertThat(mappedStore.reservedBytes()).isGreaterThan(DataSize.ofKilobytes(128).toBytes());
+        }
+    }
+
+    private List<PointHistory> select(PointHistoryStore store, long userId, PointHistoryQuery query) {
+        List<PointHistory> result = new ArrayList<>();
+        store.scan(userId, query, (id, ignored, amount, type, updateMillis) -> {
+            result.add(new PointHistory(id, userId, amount, type, updateMillis));
+            return result.size() < query.limit();
+        });
+        return result;
+    }
+}
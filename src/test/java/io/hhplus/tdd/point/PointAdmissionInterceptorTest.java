@@ -0,0 +1,66 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointAdmissionInterceptorTest {
+
+    private final PointAdmissionLimiter pointAdmissionLimiter = new PointAdmissionLimiter(
+            new PointAdmissionProperties(true, 4, 2, 8, 0.5, Duration.ofMillis(50), 0.5, Duration.ofSeconds(2)),
+            new PointMetrics(new SimpleMeterRegistry()));
+    private final PointAdmissionInterceptor pointAdmissionInterceptor = new PointAdmissionInterceptor(pointAdmissionLimiter);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void 느린_충전_요청은_한도를_줄인다() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/1/charge");
+
+        // when
+        pointAdmissionInterceptor.preHandle(request, response, null);
+        Thread.sleep(100);
+        pointAdmissionInterceptor.afterCompletion(request, response, null, null);
+
+        // then
+        assertThat(pointAdmissionLimiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void 오래_걸리는_일괄_처리는_한도를_줄이지_않는다() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/point/batch");
+
+        // when
+        pointAdmissionInterceptor.preHandle(request, response, null);
+        assertThat(pointAdmissionLimiter.inFlight(PointAdmissionLimiter.Operation.WRITE)).isEqualTo(1);
+        Thread.sleep(100);
+        pointAdmissionInterceptor.afterCompletion(request, response, null, null);
+
+        // then
+        assertThat(pointAdmissionLimiter.limit()).isEqualTo(4);
+        assertThat(pointAdmissionLimiter.inFlight(PointAdmissionLimiter.Operation.WRITE)).isZero();
+    }
+
+    @Test
+    void 오래_걸리는_스트리밍은_끝날_때까지_한도를_차지하되_한도를_줄이지_않는다() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/point/1/histories/stream");
+
+        // when : 비동기로 넘어간 뒤 끝날 때 한도를 돌려줌
+        pointAdmissionInterceptor.preHandle(request, response, null);
+        pointAdmissionInterceptor.afterConcurrentHandlingStarted(request, response, null);
+        assertThat(pointAdmissionLimiter.inFlight(PointAdmissionLimiter.Operation.READ)).isEqualTo(1);
+        Thread.sleep(100);
+        pointAdmissionInterceptor.afterCompletion(request, response, null, null);
+
+        // then
+        assertThat(pointAdmissionLimiter.limit()).isEqualTo(4);
+        assertThat(pointAdmissionLimiter.inFlight(PointAdmissionLimiter.Operation.READ)).isZero();
+    }
+}
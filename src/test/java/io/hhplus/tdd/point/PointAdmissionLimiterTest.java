@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.PointAdmissionLimiter.Operation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointAdmissionLimiterTest {
+
+    private final PointAdmissionLimiter pointAdmissionLimiter = new PointAdmissionLimiter(
+            new PointAdmissionProperties(true, 4, 2, 8, 0.5, Duration.ofMillis(100), 0.5, Duration.ofSeconds(2)),
+            new PointMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void 조회는_한도의_일부만_쓰고_남은_한도는_충전과_사용이_쓴다() {
+        // given : 한도 4, 조회 비율 0.5
+        pointAdmissionLimiter.acquire(Operation.READ);
+        pointAdmissionLimiter.acquire(Operation.READ);
+
+        // when & then
+        assertThatThrownBy(() -> pointAdmissionLimiter.acquire(Operation.READ))
+                .isInstanceOf(PointAdmissionException.class)
+                .extracting("retryAfter")
+                .isEqualTo(Duration.ofSeconds(2));
+        pointAdmissionLimiter.acquire(Operation.WRITE);
+        pointAdmissionLimiter.acquire(Operation.WRITE);
+        assertThatThrownBy(() -> pointAdmissionLimiter.acquire(Operation.WRITE))
+                .isInstanceOf(PointAdmissionException.class);
+        assertThat(pointAdmissionLimiter.inFlight(Operation.READ)).isEqualTo(2);
+        assertThat(pointAdmissionLimiter.inFlight(Operation.WRITE)).isEqualTo(2);
+    }
+
+    @Test
+    void 응답이_느리면_한도를_줄이고_빠르면_다시_늘린다() {
+        // given
+        final long slowStartedAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(200);
+        pointAdmissionLimiter.acquire(Operation.WRITE);
+
+        // when : 느린 응답 -> 4 * 0.5
+        pointAdmissionLimiter.release(Operation.WRITE, slowStartedAt);
+
+        // then
+        assertThat(pointAdmissionLimiter.limit()).isEqualTo(2);
+
+        // when : 한도를 다 쓴 상태에서 빠른 응답 3번 -> 2 + 1/2 + 1/2.5 + 1/2.9
+        for (int i = 0; i < 3; i++) {
+            long first = pointAdmissionLimiter.acquire(Operation.WRITE);
+            long second = pointAdmissionLimiter.acquire(Operation.WRITE);
+            pointAdmissionLimiter.release(Operation.WRITE, second);
+            pointAdmissionLimiter.release(Operation.WRITE, first);
+        }
+
+        // then
+        assertThat(pointAdmissionLimiter.limit()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,111 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class PointBatchServiceTest {
+
+    private static final long LATENCY_MILLIS = 20L;
+
+    private final FakeUserPointTable userPointTable = new FakeUserPointTable(LATENCY_MILLIS);
+    private final UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final UserLockManager userLockManager = new UserLockManager(pointMetrics);
+    private final UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(10000, Duration.ofMinutes(10)));
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(mock(PointHistoryTable.class), new PointHistoryIndex(), new PointHistoryProperties(10000, 256, Duration.ofSeconds(30)), pointMetrics);
+    private final PointReadCollapser pointReadCollapser = new PointReadCollapser();
+    private final UserPointCombiner userPointCombiner = new UserPointCombiner(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, new PointWal(PointWalProperties.disabled()), pointReadCollapser, pointMetrics);
+    private final ExecutorService executor = Executors.newFixedThreadPool(64);
+    private final PointBatchService pointBatchService = new PointBatchService(userPointCombiner, executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 같은_유저의_항목은_요청_순서대로_처리되고_실패한_항목만_실패로_응답한다() {
+        // given
+        List<PointBatchItem> items = List.of(
+                new PointBatchItem(1L, 5000L, TransactionType.CHARGE),
+                new PointBatchItem(2L, 3000L, TransactionType.CHARGE),
+                new PointBatchItem(1L, 10000L, TransactionType.USE),
+                new PointBatchItem(1L, 2000L, TransactionType.USE),
+                new PointBatchItem(2L, 500L, TransactionType.CHARGE),
+                new PointBatchItem(2L, 1000L, null)
+        );
+
+        // when
+        PointBatchResponse response = pointBatchService.execute(items);
+
+        // then
+        assertThat(response.successCount()).isEqualTo(3);
+        assertThat(response.failureCount()).isEqualTo(3);
+        assertThat(response.results()).extracting(PointBatchResult::userId).containsExactly(1L, 2L, 1L, 1L, 2L, 2L);
+        assertThat(response.results()).extracting(PointBatchResult::point).containsExactly(5000L, 3000L, null, 3000L, null, null);
+        assertThat(response.results()).extracting(PointBatchResult::code).containsExactly(
+                null, null, "INSUFFICIENT_BALANCE", null, "CHARGE_AMOUNT_BELOW_MIN", "INVALID_TRANSACTION_TYPE");
+        assertThat(userPointTableGuard.awaitFlushed(Duration.ofSeconds(5))).isTrue();
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(3000L);
+        assertThat(userPointTable.selectById(2L).point()).isEqualTo(3000L);
+    }
+
+    /**
+     * 유저마다 동시에 처리하고 같은 유저의 항목은 한 번에 저장하므로
+     * 전체 처리 시간은 항목 수가 아니라 가장 느린 유저 한 명의 처리 시간에 가까워야 한다.
+     */
+    @Test
+    void 여러_유저의_항목을_병렬로_처리한다() {
+        // given : 50명 x 4건, 항목마다 테이블을 따로 호출하면 최소 50 x 4 x 20ms = 4초
+        final int userCount = 50;
+        final int itemCountPerUser = 4;
+        List<PointBatchItem> items = new ArrayList<>();
+        for (int i = 0; i < itemCountPerUser; i++) {
+            for (long userId = 1; userId <= userCount; userId++) {
+                items.add(new PointBatchItem(userId, 10000L, TransactionType.CHARGE));
+            }
+        }
+
+        // when
+        long startedAt = System.nanoTime();
+        PointBatchResponse response = pointBatchService.execute(items);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // then : 유저당 조회 1번 + 저장 1번
+        assertThat(elapsedMillis).isLessThan(1000L);
+        assertThat(response.successCount()).isEqualTo(items.size());
+        assertThat(userPointTableGuard.awaitFlushed(Duration.ofSeconds(30))).isTrue();
+        assertThat(userPointTable.insertOrUpdateCount()).isEqualTo(userCount);
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(40000L);
+    }
+
+    @Test
+    void 최대_건수를_넘으면_예외가_발생한다() {
+        // given
+        List<PointBatchItem> items = Collections.nCopies(PointBatchService.MAX_BATCH_SIZE + 1,
+                new PointBatchItem(1L, 1000L, TransactionType.CHARGE));
+
+        // when & then
+        assertThatThrownBy(() -> pointBatchService.execute(items))
+                .isInstanceOf(PointException.class)
+                .hasMessage(PointErrorCode.BATCH_SIZE_EXCEEDED.getMessage());
+    }
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Accept 헤더에 따른 포인트 조회 응답 형식
+ * - application/x-point-binary : PointBinaryFormat (UserPoint 24 바이트, 내역 33 바이트씩)
+ * - 그 외 : JSON
+ */
+@WebMvcTest(PointController.class)
+@Import(PointHistoryExporter.class)
+class PointControllerTest {
+
+    private static final UserPoint USER_POINT = new UserPoint(1L, 5000L, 1_700_000_000_000L);
+    private static final PointHistory CHARGED = new PointHistory(10L, 1L, 7000L, TransactionType.CHARGE, 1_700_000_000_000L);
+    private static final PointHistory USED = new PointHistory(11L, 1L, 2000L, TransactionType.USE, 1_700_000_000_001L);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PointService pointService;
+
+    @MockBean
+    private PointHistoryWriter pointHistoryWriter;
+
+    @MockBean
+    private PointSummaryAggregator pointSummaryAggregator;
+
+    @MockBean
+    private PointShardService pointShardService;
+
+    @MockBean
+    private PointAdmissionInterceptor pointAdmissionInterceptor;
+
+    @MockBean
+    private PointShardInterceptor pointShardInterceptor;
+
+    @MockBean
+    private PointShardAuthInterceptor pointShardAuthInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        when(pointAdmissionInterceptor.preHandle(any(), any(), any())).thenReturn(true);
+        when(pointShardInterceptor.preHandle(any(), any(), any())).thenReturn(true);
+        when(pointShardAuthInterceptor.preHandle(any(), any(), any())).thenReturn(true);
+        when(pointService.selectPoint(1L)).thenReturn(USER_POINT);
+        when(pointService.selectPointHistory(eq(1L), any())).thenReturn(new PointHistoryPage(List.of(CHARGED, USED), null));
+        doAnswer(invocation -> {
+            PointHistoryVisitor visitor = invocation.getArgument(2);
+            for (PointHistory history : List.of(CHARGED, USED)) {
+                visitor.visit(history.id(), history.userId(), history.amount(), history.type(), history.updateMillis());
+            }
+            return null;
+        }).when(pointHistoryWriter).scan(eq(1L), any(), any());
+    }
+
+    @Test
+    void 바이너리를_요청하면_잔액을_24바이트로_응답한다() throws Exception {
+        // when
+        MvcResult result = mockMvc.perform(get("/point/1").accept(PointBinaryFormat.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PointBinaryFormat.MEDIA_TYPE))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, PointBinaryFormat.USER_POINT_BYTES))
+                .andReturn();
+
+        // then
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertThat(body).hasSize(PointBinaryFormat.USER_POINT_BYTES);
+        assertThat(PointBinaryFormat.readUserPoint(ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN))).isEqualTo(USER_POINT);
+    }
+
+    @Test
+    void 바이너리를_요청하면_내역을_한_건에_33바이트씩_응답한다() throws Exception {
+        // when
+        MvcResult result = mockMvc.perform(get("/point/1/histories").accept(PointBinaryFormat.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PointBinaryFormat.MEDIA_TYPE))
+                .andReturn();
+
+        // then
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertThat(body).hasSize(2 * PointBinaryFormat.HISTORY_BYTES);
+        ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(PointBinaryFormat.readHistory(buffer)).isEqualTo(CHARGED);
+        assertThat(PointBinaryFormat.readHistory(buffer)).isEqualTo(USED);
+    }
+
+    @Test
+    void JSON_을_요청하거나_Accept_가_없으면_잔액을_JSON_으로_응답한다() throws Exception {
+        mockMvc.perform(get("/point/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.point").value(5000));
+        mockMvc.perform(get("/point/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.point").value(5000));
+    }
+
+    @Test
+    void JSON_을_요청하면_내역을_JSON_배열로_응답한다() throws Exception {
+        mockMvc.perform(get("/point/1/histories").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].type").value("USE"));
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PointHistoryExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(mock(PointHistoryTable.class), pointHistoryIndex, new PointHistoryProperties(100, 16, Duration.ofSeconds(5)), pointMetrics);
+    private final PointHistoryExporter pointHistoryExporter = new PointHistoryExporter(objectMapper, pointHistoryWriter);
+
+    @Test
+    void 요청한_유저_순서대로_한_줄에_한_건씩_내보낸다() throws Exception {
+        // given : 1 번은 적재 완료, 2~3 번은 적재 대기
+        pointHistoryIndex.append(pointHistoryWriter.append(2L, 5000L, TransactionType.CHARGE, 10L));
+        pointHistoryWriter.append(1L, 3000L, TransactionType.CHARGE, 20L);
+        pointHistoryWriter.append(2L, 1000L, TransactionType.USE, 30L);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        pointHistoryExporter.export(List.of(2L, 1L)).writeTo(outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[0], PointHistory.class)).isEqualTo(new PointHistory(1L, 2L, 5000L, TransactionType.CHARGE, 10L));
+        assertThat(objectMapper.readValue(lines[1], PointHistory.class)).isEqualTo(new PointHistory(3L, 2L, 1000L, TransactionType.USE, 30L));
+        assertThat(objectMapper.readValue(lines[2], PointHistory.class)).isEqualTo(new PointHistory(2L, 1L, 3000L, TransactionType.CHARGE, 20L));
+    }
+
+    @Test
+    void 바이너리로_내보내면_한_건에_33바이트씩_little_endian_으로_쓴다() {
+        // given : 1 번은 적재 완료, 2~3 번은 적재 대기
+        pointHistoryIndex.append(pointHistoryWriter.append(1L, 5000L, TransactionType.CHARGE, 10L));
+        pointHistoryWriter.append(1L, 1000L, TransactionType.USE, 20L);
+        pointHistoryWriter.append(1L, 3000L, TransactionType.CHARGE, 30L);
+
+        // when
+        PointHistoryBinaryPage first = pointHistoryExporter.exportBinary(1L, PointHistoryQuery.of(2, null, null, null, null));
+        PointHistoryBinaryPage second = pointHistoryExporter.exportBinary(1L, PointHistoryQuery.of(2, first.nextCursor(), null, null, null));
+
+        // then
+        assertThat(first.body()).hasSize(2 * PointBinaryFormat.HISTORY_BYTES);
+        assertThat(first.nextCursor()).isEqualTo(2L);
+        ByteBuffer buffer = ByteBuffer.wrap(first.body()).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(PointBinaryFormat.readHistory(buffer)).isEqualTo(new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 10L));
+        assertThat(PointBinaryFormat.readHistory(buffer)).isEqualTo(new PointHistory(2L, 1L, 1000L, TransactionType.USE, 20L));
+        assertThat(second.nextCursor()).isNull();
+        assertThat(PointBinaryFormat.readHistory(ByteBuffer.wrap(second.body()).order(ByteOrder.LITTLE_ENDIAN)))
+                .isEqualTo(new PointHistory(3L, 1L, 3000L, TransactionType.CHARGE, 30L));
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 유저별 인덱스(PointHistoryIndex) 조회가 전체 내역 순회(PointHistoryTable) 와 같은 결과를 돌려주는지 확인
+ * - 조회 시간 비교는 src/jmh 의 PointHistoryIndexBenchmark 에서 측정합니다.
+ */
+class PointHistoryIndexTest {
+
+    private static final int ROW_COUNT = 100_000;
+    private static final int USER_COUNT = 1_000;
+
+    @Test
+    void 유저별_인덱스_조회는_전체_순회와_같은_내역을_같은_순서로_돌려준다() {
+        // given
+        FakePointHistoryTable pointHistoryTable = new FakePointHistoryTable();
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+        Random random = new Random(7);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            TransactionType type = random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE;
+            PointHistory saved = pointHistoryTable.insert(random.nextInt(USER_COUNT) + 1, 1000L, type, i);
+            pointHistoryIndex.append(saved);
+        }
+
+        // when & then
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(pointHistoryIndex.selectAllByUserId(userId)).isEqualTo(pointHistoryTable.selectAllByUserId(userId));
+        }
+        assertThat(pointHistoryIndex.selectAllByUserId(USER_COUNT + 1L)).isEmpty();
+    }
+}
@@ -0,0 +1,175 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PointHistoryWriterTest {
+
+    private final PointHistoryTable pointHistoryTable = mock(PointHistoryTable.class);
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointHistoryIndex, new PointHistoryProperties(100, 16, Duration.ofSeconds(5)), pointMetrics);
+
+    @Test
+    void 적재_전인_내역도_조회_결과에_포함된다() {
+        // given
+        final long userId = 1L;
+
+        // when
+        pointHistoryWriter.append(userId, 5000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(2L, 3000L, TransactionType.CHARGE, 2L);
+        pointHistoryWriter.append(userId, 1000L, TransactionType.USE, 3L);
+        List<PointHistory> result = pointHistoryWriter.selectAllByUserId(userId);
+
+        // then
+        assertThat(result).containsExactly(
+                new PointHistory(1L, userId, 5000L, TransactionType.CHARGE, 1L),
+                new PointHistory(3L, userId, 1000L, TransactionType.USE, 3L)
+        );
+    }
+
+    @Test
+    void 복구한_내역은_원래_id_로_조회되고_이후_내역은_다음_id_를_받는다() {
+        // given
+        final long userId = 1L;
+        pointHistoryWriter.restore(List.of(
+                new PointHistory(3L, userId, 5000L, TransactionType.CHARGE, 1L),
+                new PointHistory(7L, userId, 1000L, TransactionType.USE, 2L)), 9L);
+
+        // when
+        PointHistory appended = pointHistoryWriter.append(userId, 2000L, TransactionType.CHARGE, 3L);
+
+        // then
+        assertThat(appended.id()).isEqualTo(9L);
+        assertThat(pointHistoryWriter.selectAllByUserId(userId)).extracting(PointHistory::id).containsExactly(3L, 7L, 9L);
+        verify(pointHistoryTable, times(0)).insert(userId, 5000L, TransactionType.CHARGE, 1L);
+    }
+
+    @Test
+    void 적재가_끝난_내역은_중복_없이_조회된다() {
+        // given : 테이블 적재 후 대기 목록에서 빠지기 전
+        final long userId = 1L;
+        final PointHistory saved = new PointHistory(1L, userId, 5000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(userId, 5000L, TransactionType.CHARGE, 1L);
+        pointHistoryIndex.append(saved);
+
+        // when
+        List<PointHistory> result = pointHistoryWriter.selectAllByUserId(userId);
+
+        // then
+        assertThat(result).containsExactly(saved);
+    }
+
+    @Test
+    void 종료_시_대기_중인_내역을_모두_순서대로_적재한다() {
+        // given
+        final long userId = 1L;
+        when(pointHistoryTable.insert(userId, 5000L, TransactionType.CHARGE, 1L))
+                .thenReturn(new PointHistory(1L, userId, 5000L, TransactionType.CHARGE, 1L));
+        when(pointHistoryTable.insert(userId, 1000L, TransactionType.USE, 2L))
+                .thenReturn(new PointHistory(2L, userId, 1000L, TransactionType.USE, 2L));
+        pointHistoryWriter.append(userId, 5000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(userId, 1000L, TransactionType.USE, 2L);
+
+        // when
+        pointHistoryWriter.start();
+        pointHistoryWriter.stop();
+
+        // then
+        InOrder inOrder = inOrder(pointHistoryTable);
+        inOrder.verify(pointHistoryTable).insert(userId, 5000L, TransactionType.CHARGE, 1L);
+        inOrder.verify(pointHistoryTable).insert(userId, 1000L, TransactionType.USE, 2L);
+        assertThat(pointHistoryWriter.pendingCount()).isZero();
+        assertThat(pointHistoryWriter.selectAllByUserId(userId)).extracting(PointHistory::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void 적재_완료_내역과_대기_내역을_이어서_cursor_로_나눠_조회한다() {
+        // given : 1~3 은 적재 완료, 4~5 는 적재 대기
+        final long userId = 1L;
+        for (int i = 1; i <= 5; i++) {
+            PointHistory pending = pointHistoryWriter.append(userId, 1000L * i, i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, i);
+            if (i <= 3) {
+                pointHistoryIndex.append(pending);
+            }
+        }
+
+        // when
+        PointHistoryPage first = pointHistoryWriter.select(userId, PointHistoryQuery.of(2, null, null, null, null));
+        PointHistoryPage second = pointHistoryWriter.select(userId, PointHistoryQuery.of(2, first.nextCursor(), null, null, null));
+        PointHistoryPage last = pointHistoryWriter.select(userId, PointHistoryQuery.of(2, second.nextCursor(), null, null, null));
+
+        // then
+        assertThat(first.histories()).extracting(PointHistory::id).containsExactly(1L, 2L);
+        assertThat(first.nextCursor()).isEqualTo(2L);
+        assertThat(second.histories()).extracting(PointHistory::id).containsExactly(3L, 4L);
+        assertThat(second.nextCursor()).isEqualTo(4L);
+        assertThat(last.histories()).extracting(PointHistory::id).containsExactly(5L);
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void 기간과_거래_종류로_걸러서_조회한다() {
+        // given
+        final long userId = 1L;
+        for (int i = 1; i <= 5; i++) {
+            pointHistoryIndex.append(pointHistoryWriter.append(userId, 1000L, i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, i * 10L));
+        }
+
+        // when
+        PointHistoryPage result = pointHistoryWriter.select(userId, PointHistoryQuery.of(null, null, 20L, 50L, TransactionType.CHARGE));
+
+        // then
+        assertThat(result.histories()).extracting(PointHistory::id).containsExactly(3L);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void 종료_후_추가한_내역도_id_를_이어서_부여하고_바로_적재한다() {
+        // given
+        final long userId = 1L;
+        pointHistoryWriter.append(userId, 5000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.start();
+        pointHistoryWriter.stop();
+
+        // when
+        PointHistory result = pointHistoryWriter.append(userId, 1000L, TransactionType.USE, 2L);
+
+        // then
+        assertThat(result.id()).isEqualTo(2L);
+        assertThat(pointHistoryWriter.pendingCount()).isZero();
+        assertThat(pointHistoryIndex.selectAllByUserId(userId)).containsExactly(
+                new PointHistory(1L, userId, 5000L, TransactionType.CHARGE, 1L),
+                new PointHistory(2L, userId, 1000L, TransactionType.USE, 2L));
+    }
+
+    @Test
+    void 테이블_적재에_실패하면_다시_시도한다() {
+        // given
+        final long userId = 1L;
+        when(pointHistoryTable.insert(userId, 5000L, TransactionType.CHARGE, 1L))
+                .thenThrow(new IllegalStateException("일시적인 오류"))
+                .thenReturn(new PointHistory(1L, userId, 5000L, TransactionType.CHARGE, 1L));
+        pointHistoryWriter.append(userId, 5000L, TransactionType.CHARGE, 1L);
+
+        // when
+        pointHistoryWriter.start();
+        pointHistoryWriter.stop();
+
+        // then
+        verify(pointHistoryTable, times(2)).insert(userId, 5000L, TransactionType.CHARGE, 1L);
+        assertThat(pointHistoryIndex.selectAllByUserId(userId)).containsExactly(new PointHistory(1L, userId, 5000L, TransactionType.CHARGE, 1L));
+    }
+}
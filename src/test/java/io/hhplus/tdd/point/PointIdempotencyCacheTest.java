@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointIdempotencyCacheTest {
+
+    private final PointIdempotencyCache pointIdempotencyCache = new PointIdempotencyCache(new PointIdempotencyProperties(100, Duration.ofMinutes(1)));
+
+    @Test
+    void 처리_중인_요청을_다시_보내면_처음_요청의_결과를_기다린다() throws Exception {
+        // given
+        AtomicInteger executed = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() ->
+                pointIdempotencyCache.execute(1L, "key", TransactionType.CHARGE, 5000L, () -> {
+                    executed.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(1L, 5000L, 1L);
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<UserPoint> retried = CompletableFuture.supplyAsync(() ->
+                pointIdempotencyCache.execute(1L, "key", TransactionType.CHARGE, 5000L, () -> {
+                    executed.incrementAndGet();
+                    return new UserPoint(1L, 10000L, 2L);
+                }));
+        Thread.sleep(50);
+        assertThat(retried).isNotDone();
+        release.countDown();
+
+        // then
+        assertThat(retried.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(executed.get()).isEqualTo(1);
+    }
+
+    @Test
+    void 같은_키로_다른_금액을_요청하면_예외가_발생한다() {
+        // given
+        pointIdempotencyCache.execute(1L, "key", TransactionType.CHARGE, 5000L, () -> new UserPoint(1L, 5000L, 1L));
+
+        // when & then
+        assertThatThrownBy(() -> pointIdempotencyCache.execute(1L, "key", TransactionType.CHARGE, 6000L, () -> new UserPoint(1L, 6000L, 1L)))
+                .isInstanceOf(PointException.class)
+                .hasMessage(PointErrorCode.IDEMPOTENCY_KEY_REUSED.getMessage());
+    }
+
+    @Test
+    void 정책_위반은_결과로_보관하고_그_밖의_실패는_다시_처리한다() {
+        // given
+        AtomicInteger executed = new AtomicInteger();
+        assertThatThrownBy(() -> pointIdempotencyCache.execute(1L, "use", TransactionType.USE, 5000L, () -> {
+            executed.incrementAndGet();
+            throw new PointException(PointErrorCode.INSUFFICIENT_BALANCE);
+        })).isInstanceOf(PointException.class);
+        assertThatThrownBy(() -> pointIdempotencyCache.execute(1L, "charge", TransactionType.CHARGE, 5000L, () -> {
+            throw new IllegalStateException("테이블 오류");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // when
+        assertThatThrownBy(() -> pointIdempotencyCache.execute(1L, "use", TransactionType.USE, 5000L, () -> {
+            executed.incrementAndGet();
+            return new UserPoint(1L, 0L, 1L);
+        })).hasMessage(PointErrorCode.INSUFFICIENT_BALANCE.getMessage());
+        UserPoint retried = pointIdempotencyCache.execute(1L, "charge", TransactionType.CHARGE, 5000L, () -> new UserPoint(1L, 5000L, 1L));
+
+        // then
+        assertThat(executed.get()).isEqualTo(1);
+        assertThat(retried.point()).isEqualTo(5000L);
+    }
+
+    @Test
+    void 최대_건수를_넘으면_먼저_들어온_키부터_제거한다() {
+        // given
+        PointIdempotencyCache cache = new PointIdempotencyCache(new PointIdempotencyProperties(10, Duration.ofMinutes(1)));
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            cache.execute(1L, "key-" + i, TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 1000L, 1L));
+        }
+
+        // then
+        assertThat(cache.size()).isLessThanOrEqualTo(11);
+        AtomicInteger executed = new AtomicInteger();
+        cache.execute(1L, "key-0", TransactionType.CHARGE, 1000L, () -> {
+            executed.incrementAndGet();
+            return new UserPoint(1L, 2000L, 2L);
+        });
+        assertThat(executed.get()).isEqualTo(1);
+    }
+
+    @Test
+    void 처리_중인_키는_건너뛰고_다음_키를_제거한다() throws Exception {
+        // given
+        PointIdempotencyCache cache = new PointIdempotencyCache(new PointIdempotencyProperties(2, Duration.ofMinutes(1)));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> slow = CompletableFuture.supplyAsync(() ->
+                cache.execute(1L, "slow", TransactionType.CHARGE, 1000L, () -> {
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(1L, 1000L, 1L);
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            cache.execute(1L, "key-" + i, TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 1000L, 1L));
+        }
+
+        // then
+        assertThat(cache.size()).isLessThanOrEqualTo(3);
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void 다시_들어온_키는_이전_순서로_제거하지_않는다() {
+        // given : a 는 실패해 지워진 뒤 b 보다 늦게 다시 들어온다.
+        PointIdempotencyCache cache = new PointIdempotencyCache(new PointIdempotencyProperties(2, Duration.ofMinutes(1)));
+        assertThatThrownBy(() -> cache.execute(1L, "a", TransactionType.CHARGE, 1000L, () -> {
+            throw new IllegalStateException("테이블 오류");
+        })).isInstanceOf(IllegalStateException.class);
+        cache.execute(1L, "b", TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 1000L, 1L));
+        cache.execute(1L, "a", TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 2000L, 2L));
+
+        // when
+        cache.execute(1L, "c", TransactionType.CHARGE, 1000L, () -> new UserPoint(1L, 3000L, 3L));
+
+        // then : 먼저 들어온 b 가 제거되고 a 는 남는다.
+        AtomicInteger executed = new AtomicInteger();
+        cache.execute(1L, "a", TransactionType.CHARGE, 1000L, () -> {
+            executed.incrementAndGet();
+            return new UserPoint(1L, 4000L, 4L);
+        });
+        assertThat(executed.get()).isZero();
+        cache.execute(1L, "b", TransactionType.CHARGE, 1000L, () -> {
+            executed.incrementAndGet();
+            return new UserPoint(1L, 5000L, 5L);
+        });
+        assertThat(executed.get()).isEqualTo(1);
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
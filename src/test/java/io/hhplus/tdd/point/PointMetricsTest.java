@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class PointMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+    private final FakeUserPointTable userPointTable = new FakeUserPointTable(0);
+    private final UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
+    private final UserLockManager userLockManager = new UserLockManager(pointMetrics);
+    private final UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(100, Duration.ofMinutes(1)));
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(mock(PointHistoryTable.class), new PointHistoryIndex(), new PointHistoryProperties(100, 16, Duration.ofSeconds(5)), pointMetrics);
+    private final PointReadCollapser pointReadCollapser = new PointReadCollapser();
+    private final UserPointCombiner userPointCombiner = new UserPointCombiner(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, new PointWal(PointWalProperties.disabled()), pointReadCollapser, pointMetrics);
+
+    @Test
+    void 처리한_거래와_거절한_요청이_지표에_기록된다() {
+        // given
+        userPointCombiner.execute(1L, 5000L, TransactionType.CHARGE);
+        userPointCombiner.execute(1L, 2000L, TransactionType.USE);
+
+        // when
+        assertThatThrownBy(() -> userPointCombiner.execute(1L, 10000L, TransactionType.USE))
+                .isInstanceOf(PointException.class);
+
+        // then
+        assertThat(meterRegistry.get("point.transactions").tag("type", "CHARGE").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("point.transactions").tag("type", "USE").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("point.rejections").tag("reason", "INSUFFICIENT_BALANCE").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("point.lock.wait").timer().count()).isEqualTo(3L);
+    }
+
+    @Test
+    void 테이블_호출_시간이_메서드별로_기록된다() {
+        // when : 첫 요청만 캐시 미스로 테이블을 조회한다
+        userPointCombiner.execute(1L, 5000L, TransactionType.CHARGE);
+        userPointCombiner.execute(1L, 5000L, TransactionType.CHARGE);
+
+        // then
+        assertThat(meterRegistry.get("point.table.calls").tags("table", "user_point", "method", "selectById").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("point.table.calls").tags("table", "user_point", "method", "insertOrUpdate").timer().count()).isEqualTo(2L);
+        assertThat(userPointCombiner.pendingCount()).isZero();
+    }
+}
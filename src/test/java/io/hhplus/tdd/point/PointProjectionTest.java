@@ -0,0 +1,146 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.PointWalRecord;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PointProjectionTest {
+
+    // -Dpoint.projection.events=10000000 으로 1,000만 건 재생성 시간 측정
+    private static final int EVENT_COUNT = Integer.getInteger("point.projection.events", 1_000_000);
+    private static final int USER_COUNT = 10_000;
+
+    private final FakeUserPointTable userPointTable = new FakeUserPointTable(0L);
+    private final UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(new FakePointHistoryTable(), pointHistoryIndex,
+            new PointHistoryProperties(100, 16, Duration.ofSeconds(5)), new PointMetrics(new SimpleMeterRegistry()));
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(100, Duration.ofMinutes(1)));
+    private final PointBalanceEngine pointBalanceEngine = mock(PointBalanceEngine.class);
+    private final PointProjection pointProjection = new PointProjection(userPointTableGuard, userPointCache, pointBalanceEngine, pointHistoryWriter, executor);
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 내역이_추가될_때마다_잔액을_갱신하고_테이블과_다른_유저를_찾는다() {
+        // given
+        pointHistoryWriter.append(1L, 5000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(1L, 2000L, TransactionType.USE, 2L);
+        pointHistoryWriter.append(2L, 3000L, TransactionType.CHARGE, 3L);
+        userPointTable.insertOrUpdate(1L, 3000L);
+        userPointTable.insertOrUpdate(2L, 1000L);
+
+        // when
+        List<PointProjectionMismatch> mismatches = pointProjection.verify(List.of(1L, 2L));
+
+        // then
+        assertThat(pointProjection.balance(1L)).isEqualTo(3000L);
+        assertThat(pointProjection.balance(2L)).isEqualTo(3000L);
+        assertThat(mismatches).containsExactly(new PointProjectionMismatch(2L, 3000L, 1000L));
+    }
+
+    @Test
+    void 캐시에_있는_잔액과_비교하고_내역이_없는_유저는_건너뛴다() {
+        // given : 유저 1 은 캐시에 최신 잔액, 유저 2 는 내역 없이 잔액만 있음
+        pointHistoryWriter.append(1L, 5000L, TransactionType.CHARGE, 1L);
+        userPointCache.put(new UserPoint(1L, 5000L, 1L));
+        userPointTable.insertOrUpdate(2L, 1000L);
+
+        // when
+        List<PointProjectionMismatch> mismatches = pointProjection.verify(List.of(1L, 2L));
+
+        // then
+        assertThat(mismatches).isEmpty();
+        assertThat(userPointTable.selectByIdCount()).isZero();
+    }
+
+    @Test
+    void 시작할_때_복구한_유저의_잔액을_다시_만든다() {
+        // given : 리스너를 거치지 않고 복구된 내역
+        pointHistoryWriter.restore(List.of(
+                new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 1L),
+                new PointHistory(2L, 1L, 2000L, TransactionType.USE, 2L)), 3L);
+
+        // when
+        pointProjection.start();
+
+        // then
+        assertThat(pointProjection.balance(1L)).isEqualTo(3000L);
+        assertThat(pointProjection.userIds()).containsExactly(1L);
+    }
+
+    @Test
+    void 스냅샷을_지나_재시작해도_복구한_잔액과_프로젝션이_같다() {
+        // given : 스냅샷 전후로 나눠 기록하고 다시 시작
+        PointWalProperties properties = new PointWalProperties(true, directory.toString(), Duration.ZERO, Duration.ofHours(1));
+        PointWal pointWal = new PointWal(properties);
+        pointWal.recover();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 5000L, 1L)),
+                PointWalRecord.history(new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 1L))));
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(2L, 3000L, 2L)),
+                PointWalRecord.history(new PointHistory(2L, 2L, 3000L, TransactionType.CHARGE, 2L))));
+        pointWal.snapshot();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 3000L, 3L)),
+                PointWalRecord.history(new PointHistory(3L, 1L, 2000L, TransactionType.USE, 3L))));
+        pointWal.close();
+        PointWal.Recovery recovery = new PointWal(properties).recover();
+        userPointTableGuard.restore(recovery.balances());
+        pointHistoryWriter.restore(recovery.histories(), recovery.nextHistoryId());
+
+        // when
+        pointProjection.start();
+
+        // then : 스냅샷 이전 내역까지 더하므로 어긋난 유저가 없다.
+        assertThat(pointProjection.balance(1L)).isEqualTo(3000L);
+        assertThat(pointProjection.balance(2L)).isEqualTo(3000L);
+        assertThat(pointProjection.verify(pointProjection.userIds())).isEmpty();
+    }
+
+    @Test
+    void 리스너를_거치지_않은_내역으로_잔액을_병렬로_다시_만든다() {
+        // given : 저장소에만 쌓인 내역
+        Random random = new Random(7);
+        long[] expected = new long[USER_COUNT + 1];
+        for (int i = 1; i <= EVENT_COUNT; i++) {
+            int userId = random.nextInt(USER_COUNT) + 1;
+            TransactionType type = expected[userId] >= 1000L && random.nextBoolean() ? TransactionType.USE : TransactionType.CHARGE;
+            expected[userId] += type == TransactionType.CHARGE ? 1000L : -1000L;
+            pointHistoryIndex.append(new PointHistory(i, userId, 1000L, type, i));
+        }
+        List<Long> userIds = LongStream.rangeClosed(1, USER_COUNT).boxed().toList();
+
+        // when
+        PointProjectionRebuild result = pointProjection.rebuild(userIds);
+
+        // then
+        assertThat(result.events()).isEqualTo(EVENT_COUNT);
+        for (int userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(pointProjection.balance(userId)).isEqualTo(expected[userId]);
+        }
+    }
+}
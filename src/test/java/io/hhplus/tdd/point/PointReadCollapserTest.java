@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointReadCollapserTest {
+
+    private final PointReadCollapser pointReadCollapser = new PointReadCollapser();
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 무효화하면_그_유저의_처리_중인_내역_조회만_떼어_낸다() throws Exception {
+        // given : 유저 1, 2 의 같은 조건 내역 조회가 처리 중
+        PointHistoryQuery query = PointHistoryQuery.of(10, null, null, null, null);
+        AtomicInteger loaded = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<PointHistoryPage> first = CompletableFuture.supplyAsync(() -> pointReadCollapser.histories(1L, query, () -> {
+            started.countDown();
+            await(release);
+            loaded.incrementAndGet();
+            return page(1L, 1000L);
+        }), executor);
+        CompletableFuture<PointHistoryPage> other = CompletableFuture.supplyAsync(() -> pointReadCollapser.histories(2L, query, () -> {
+            started.countDown();
+            await(release);
+            loaded.incrementAndGet();
+            return page(2L, 1000L);
+        }), executor);
+        started.await(5, TimeUnit.SECONDS);
+
+        // when : 유저 1 만 저장 후 무효화
+        pointReadCollapser.invalidate(1L);
+        PointHistoryPage afterWrite = pointReadCollapser.histories(1L, query, () -> {
+            loaded.incrementAndGet();
+            return page(1L, 2000L);
+        });
+        CompletableFuture<PointHistoryPage> joined = CompletableFuture.supplyAsync(() -> pointReadCollapser.histories(2L, query, () -> {
+            loaded.incrementAndGet();
+            return page(2L, 3000L);
+        }), executor);
+        Thread.sleep(50);
+        release.countDown();
+
+        // then : 유저 1 은 새로 읽고, 유저 2 는 처리 중인 조회에 합류한다.
+        assertThat(afterWrite.histories()).extracting(PointHistory::amount).containsExactly(2000L);
+        assertThat(first.get(5, TimeUnit.SECONDS).histories()).extracting(PointHistory::amount).containsExactly(1000L);
+        assertThat(joined.get(5, TimeUnit.SECONDS).histories()).extracting(PointHistory::amount).containsExactly(1000L);
+        assertThat(other.get(5, TimeUnit.SECONDS).histories()).extracting(PointHistory::amount).containsExactly(1000L);
+        assertThat(loaded.get()).isEqualTo(3);
+    }
+
+    private PointHistoryPage page(long userId, long amount) {
+        return new PointHistoryPage(List.of(new PointHistory(1L, userId, amount, TransactionType.CHARGE, 0L)), null);
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.PointWalRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PointRollupTest {
+
+    private static final long MINUTE = PointRollupUnit.MINUTE.millis();
+    private static final long HOUR = PointRollupUnit.HOUR.millis();
+    // 2026-01-01T00:00:00Z
+    private static final long NOW = 1_767_225_600_000L;
+
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(mock(PointHistoryTable.class), new PointHistoryIndex(),
+            new PointHistoryProperties(10000, 256, Duration.ofSeconds(5)), new PointMetrics(new SimpleMeterRegistry()));
+    private final PointRollup pointRollup = new PointRollup(pointHistoryWriter);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 분_단위_구간별로_거래_금액과_건수를_모은다() {
+        // given : 2분 전 충전 1건, 방금 충전 2건과 사용 1건, 버퍼보다 오래된 충전 1건
+        pointHistoryWriter.append(1L, 5000L, TransactionType.CHARGE, NOW - 2 * MINUTE);
+        pointHistoryWriter.append(1L, 3000L, TransactionType.CHARGE, NOW);
+        pointHistoryWriter.append(2L, 2000L, TransactionType.CHARGE, NOW + 1);
+        pointHistoryWriter.append(1L, 1000L, TransactionType.USE, NOW + 2);
+        pointHistoryWriter.append(3L, 9000L, TransactionType.CHARGE, NOW - 2 * 1440 * MINUTE);
+
+        // when
+        List<PointRollupBucket> charges = pointRollup.buckets(TransactionType.CHARGE, PointRollupUnit.MINUTE, 3, NOW);
+        List<PointRollupBucket> uses = pointRollup.buckets(TransactionType.USE, PointRollupUnit.HOUR, 1, NOW);
+
+        // then
+        assertThat(charges).containsExactly(
+                new PointRollupBucket(NOW - 2 * MINUTE, TransactionType.CHARGE, 5000L, 1L),
+                new PointRollupBucket(NOW - MINUTE, TransactionType.CHARGE, 0L, 0L),
+                new PointRollupBucket(NOW, TransactionType.CHARGE, 5000L, 2L));
+        assertThat(uses).containsExactly(new PointRollupBucket(NOW, TransactionType.USE, 1000L, 1L));
+    }
+
+    @Test
+    void 기간_안의_거래_금액_상위_유저를_고른다() {
+        // given : 유저 n 은 최근 한 시간 동안 n * 1,000원씩 두 번 충전, 유저 99 는 두 시간 전에 충전
+        for (long userId = 1; userId <= 20; userId++) {
+            pointHistoryWriter.append(userId, userId * 1000L, TransactionType.CHARGE, NOW - 30 * MINUTE);
+            pointHistoryWriter.append(userId, userId * 1000L, TransactionType.CHARGE, NOW);
+        }
+        pointHistoryWriter.append(99L, 100_000L, TransactionType.CHARGE, NOW - 2 * HOUR);
+
+        // when
+        List<PointRollupRank> lastHour = pointRollup.top(TransactionType.CHARGE, Duration.ofHours(1), 3, NOW);
+        List<PointRollupRank> lastDay = pointRollup.top(TransactionType.CHARGE, Duration.ofDays(1), 2, NOW);
+
+        // then
+        assertThat(lastHour).containsExactly(
+                new PointRollupRank(20L, 40_000L, 2L),
+                new PointRollupRank(19L, 38_000L, 2L),
+                new PointRollupRank(18L, 36_000L, 2L));
+        assertThat(lastDay).containsExactly(
+                new PointRollupRank(99L, 100_000L, 1L),
+                new PointRollupRank(20L, 40_000L, 2L));
+        assertThat(pointRollup.top(TransactionType.USE, Duration.ofHours(1), 3, NOW)).isEmpty();
+    }
+
+    @Test
+    void 한_시간보다_오래된_분_구간은_유저별_합계를_버리고_전체_합계만_남긴다() {
+        // given : 두 시간 전 충전
+        final long twoHoursAgo = NOW - 2 * HOUR;
+        pointHistoryWriter.append(1L, 5000L, TransactionType.CHARGE, twoHoursAgo);
+        assertThat(pointRollup.recentUsers(Duration.ofMinutes(1), 10, twoHoursAgo)).containsExactly(1L);
+
+        // when : 새 구간이 시작되고, 한 시간보다 오래된 구간에 내역이 늦게 들어옴
+        pointHistoryWriter.append(2L, 1000L, TransactionType.CHARGE, NOW);
+        pointHistoryWriter.append(3L, 2000L, TransactionType.CHARGE, twoHoursAgo);
+
+        // then
+        assertThat(pointRollup.recentUsers(Duration.ofMinutes(1), 10, twoHoursAgo)).isEmpty();
+        assertThat(pointRollup.buckets(TransactionType.CHARGE, PointRollupUnit.MINUTE, 1, twoHoursAgo))
+                .containsExactly(new PointRollupBucket(twoHoursAgo, TransactionType.CHARGE, 7000L, 2L));
+        assertThat(pointRollup.recentUsers(Duration.ofMinutes(1), 10, NOW)).containsExactly(2L);
+        assertThat(pointRollup.top(TransactionType.CHARGE, Duration.ofHours(3), 10, NOW)).hasSize(3);
+    }
+
+    @Test
+    void 스냅샷_이전_내역도_재시작_후_구간과_상위_유저에_포함된다() {
+        // given : 스냅샷 전후로 나눠 기록하고 다시 시작
+        PointWalProperties properties = new PointWalProperties(true, directory.toString(), Duration.ZERO, Duration.ofHours(1));
+        PointWal pointWal = new PointWal(properties);
+        pointWal.recover();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 5000L, NOW - MINUTE)),
+                PointWalRecord.history(new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, NOW - MINUTE))));
+        pointWal.snapshot();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(2L, 3000L, NOW)),
+                PointWalRecord.history(new PointHistory(2L, 2L, 3000L, TransactionType.CHARGE, NOW))));
+        pointWal.close();
+        PointWal.Recovery recovery = new PointWal(properties).recover();
+
+        // when
+        pointHistoryWriter.restore(recovery.histories(), recovery.nextHistoryId());
+
+        // then
+        assertThat(pointRollup.buckets(TransactionType.CHARGE, PointRollupUnit.MINUTE, 2, NOW)).containsExactly(
+                new PointRollupBucket(NOW - MINUTE, TransactionType.CHARGE, 5000L, 1L),
+                new PointRollupBucket(NOW, TransactionType.CHARGE, 3000L, 1L));
+        assertThat(pointRollup.top(TransactionType.CHARGE, Duration.ofHours(1), 2, NOW)).containsExactly(
+                new PointRollupRank(1L, 5000L, 1L),
+                new PointRollupRank(2L, 3000L, 1L));
+    }
+}
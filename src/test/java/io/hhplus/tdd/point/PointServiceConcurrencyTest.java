@@ -0,0 +1,186 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class PointServiceConcurrencyTest {
+
+    private static final long LATENCY_MILLIS = 5L;
+
+    private final FakeUserPointTable userPointTable = new FakeUserPointTable(LATENCY_MILLIS);
+    private final UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
+    private final PointHistoryTable pointHistoryTable = mock(PointHistoryTable.class);
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final UserLockManager userLockManager = new UserLockManager(pointMetrics);
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointHistoryIndex, new PointHistoryProperties(10000, 256, Duration.ofSeconds(30)), pointMetrics);
+    private final UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(10000, Duration.ofMinutes(10)));
+    private final PointReadCollapser pointReadCollapser = new PointReadCollapser();
+    private final UserPointCombiner userPointCombiner = new UserPointCombiner(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, new PointWal(PointWalProperties.disabled()), pointReadCollapser, pointMetrics);
+    private final PointService pointService = new PointService(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, userPointCombiner, new PointIdempotencyCache(new PointIdempotencyProperties(10000, Duration.ofMinutes(10))), pointReadCollapser, pointMetrics);
+
+    /**
+     * 여러 유저의 충전/사용 요청이 섞여서 동시에 들어와도
+     * 유저별 최종 잔액이 정확해야 하고, 서로 다른 유저는 병렬로 처리되어야 한다.
+     */
+    @Test
+    void 여러_유저의_충전과_사용이_동시에_요청되어도_잔액은_정확하다() throws Exception {
+        // given
+        final int userCount = 100;
+        final int chargeCountPerUser = 10;
+        final int useCountPerUser = 10;
+        final long initialAmount = 500000L;
+        final long chargeAmount = 10000L;
+        final long useAmount = 5000L;
+
+        for (long userId = 1; userId <= userCount; userId++) {
+            userPointTable.insertOrUpdate(userId, initialAmount);
+        }
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (long userId = 1; userId <= userCount; userId++) {
+            final long id = userId;
+            for (int i = 0; i < chargeCountPerUser; i++) {
+                tasks.add(() -> pointService.insertPoint(id, chargeAmount));
+            }
+            for (int i = 0; i < useCountPerUser; i++) {
+                tasks.add(() -> pointService.updatePoint(id, useAmount));
+            }
+        }
+        Collections.shuffle(tasks, new Random(42));
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        long startedAt = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable task : tasks) {
+            futures.add(executor.submit(task));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdown();
+
+        // then
+        assertThat(userPointTableGuard.awaitFlushed(Duration.ofSeconds(30))).isTrue();
+        final long expectedAmount = initialAmount + chargeAmount * chargeCountPerUser - useAmount * useCountPerUser;
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertThat(userPointTable.selectById(userId).point()).isEqualTo(expectedAmount);
+        }
+
+        // 전역 락이라면 (요청 수 * 테이블 호출 2회 * 지연 시간) 이상 걸린다.
+        final long serializedMillis = tasks.size() * 2 * LATENCY_MILLIS;
+        assertThat(elapsedMillis).isLessThan(serializedMillis / 4);
+
+        // 처리가 끝난 유저의 락 엔트리는 정리된다.
+        assertThat(userLockManager.size()).isZero();
+    }
+
+    /**
+     * 한 유저에게 짧은 시간에 몰린 충전/사용 요청은 한 번의 저장으로 병합된다.
+     */
+    @Test
+    void 한_유저에게_몰린_요청은_병합되어_저장_횟수가_줄어든다() throws Exception {
+        // given
+        final long userId = 1L;
+        final int requestCount = 50;
+        final long chargeAmount = 1000L;
+        userPointTable.insertOrUpdate(userId, 0L);
+        final int insertCountBefore = userPointTable.insertOrUpdateCount();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            futures.add(executor.submit(() -> {
+                ready.await();
+                return pointService.insertPoint(userId, chargeAmount);
+            }));
+        }
+        ready.countDown();
+        Set<Long> balances = new HashSet<>();
+        for (Future<UserPoint> future : futures) {
+            balances.add(future.get(60, TimeUnit.SECONDS).point());
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(userPointTableGuard.awaitFlushed(Duration.ofSeconds(30))).isTrue();
+        assertThat(userPointTable.selectById(userId).point()).isEqualTo(chargeAmount * requestCount);
+        assertThat(balances).hasSize(requestCount);   // 요청마다 자기 차례의 잔액을 받는다.
+        assertThat(userPointTable.insertOrUpdateCount() - insertCountBefore).isLessThan(requestCount / 2);
+    }
+
+    /**
+     * 캐시에 없는 한 유저의 잔액을 동시에 조회하면 테이블 조회는 한 번만 일어난다.
+     */
+    @Test
+    void 한_유저의_동시_잔액_조회는_한_번의_테이블_조회로_합쳐진다() throws Exception {
+        // given
+        final long userId = 3L;
+        final int requestCount = 50;
+        userPointTable.insertOrUpdate(userId, 7000L);
+        final int selectCountBefore = userPointTable.selectByIdCount();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            futures.add(executor.submit(() -> {
+                ready.await();
+                return pointService.selectPoint(userId);
+            }));
+        }
+        ready.countDown();
+        for (Future<UserPoint> future : futures) {
+            assertThat(future.get(60, TimeUnit.SECONDS).point()).isEqualTo(7000L);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(userPointTable.selectByIdCount() - selectCountBefore).isEqualTo(1);
+    }
+
+    @Test
+    void 병합된_요청_중_정책을_위반한_요청만_실패한다() throws Exception {
+        // given
+        final long userId = 2L;
+        userPointTable.insertOrUpdate(userId, 3000L);
+
+        // when
+        CompletableFuture<UserPoint> first = userPointCombiner.submit(userId, 2000L, TransactionType.USE);
+        CompletableFuture<UserPoint> second = userPointCombiner.submit(userId, 2000L, TransactionType.USE);
+
+        // then
+        assertThat(first.get().point()).isEqualTo(1000L);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(PointException.class);
+        assertThat(userPointTableGuard.awaitFlushed(Duration.ofSeconds(5))).isTrue();
+        assertThat(userPointTable.selectById(userId).point()).isEqualTo(1000L);
+    }
+}
@@ -1,19 +1,38 @@
 package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class PointServiceTest {
 
     private final UserPointTable userPointTable = mock(UserPointTable.class);
+    private final UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
     private final PointHistoryTable pointHistoryTable = mock(PointHistoryTable.class);
-    final PointService pointService = new PointService(userPointTable, pointHistoryTable);
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointHistoryIndex, new PointHistoryProperties(10000, 256, Duration.ofSeconds(30)), pointMetrics);
+    private final UserLockManager userLockManager = new UserLockManager(pointMetrics);
+    private final UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(10000, Duration.ofMinutes(10)));
+    private final PointReadCollapser pointReadCollapser = new PointReadCollapser();
+    private final UserPointCombiner userPointCombiner = new UserPointCombiner(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, new PointWal(PointWalProperties.disabled()), pointReadCollapser, pointMetrics);
+    final PointService pointService = new PointService(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, userPointCombiner, new PointIdempotencyCache(new PointIdempotencyProperties(10000, Duration.ofMinutes(10))), pointReadCollapser, pointMetrics);
 
     /**
      * 특정 유저 포인트 충전
@@ -29,6 +48,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, requestedAmount, System.currentTimeMillis());
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(UserPoint.empty(userId));
         when(userPointTable.insertOrUpdate(userId, requestedAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -47,6 +68,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, requestedAmount, System.currentTimeMillis());
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(UserPoint.empty(userId));
         when(userPointTable.insertOrUpdate(userId, requestedAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -65,6 +88,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, requestedAmount, System.currentTimeMillis());
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(UserPoint.empty(userId));
         when(userPointTable.insertOrUpdate(userId, requestedAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -84,11 +109,13 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, requestedAmount + currentAmount, System.currentTimeMillis());
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, currentAmount, System.currentTimeMillis()));
         when(userPointTable.insertOrUpdate(userId, requestedAmount + currentAmount))
                 .thenReturn(expectedUserPoint);
 
         // when
-        UserPoint result = pointService.insertPoint(userId, requestedAmount + currentAmount);
+        UserPoint result = pointService.insertPoint(userId, requestedAmount);
 
         // then
         assertThat(result.point()).isLessThanOrEqualTo(1000000L);
@@ -102,6 +129,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, requestedAmount, System.currentTimeMillis());  // mock 예상 충전
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(UserPoint.empty(userId));
         when(userPointTable.insertOrUpdate(userId,requestedAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -128,6 +157,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, requestAmount, System.currentTimeMillis());   // mock 예상 충전
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(UserPoint.empty(userId));
         when(userPointTable.insertOrUpdate(userId, requestAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -155,6 +186,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, requestAmount, System.currentTimeMillis());   // mock 예상 충전
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(UserPoint.empty(userId));
         when(userPointTable.insertOrUpdate(userId, requestAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -177,12 +210,14 @@ class PointServiceTest {
     void 포인트_충전_후_잔액이_100만원_초과_일_경우_요청은_실패한다(){
         // given
         final long userId = 1L;
-        final long requestAmount = 600000L; // 요청 금액
-        final long currentAmount = 500000L; // 현재 포인트 잔액
+        final long requestAmount = 60000L; // 요청 금액
+        final long currentAmount = 950000L; // 현재 포인트 잔액
 
         final UserPoint expectedUserPoint = new UserPoint(userId, requestAmount + currentAmount, System.currentTimeMillis()); // mock 예상 충전
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, currentAmount, System.currentTimeMillis()));
         when(userPointTable.insertOrUpdate(userId, requestAmount + currentAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -190,7 +225,7 @@ class PointServiceTest {
         Exception exception = assertThrows(
                 Exception.class,
                 () -> {
-                    UserPoint result = pointService.insertPoint(userId, requestAmount + currentAmount);
+                    UserPoint result = pointService.insertPoint(userId, requestAmount);
                     if (result.point() > 1000000L) {
                         throw new Exception("최대 포인트 잔액은 1000,000원입니다.");
                     }
@@ -217,11 +252,13 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, availableAmount, System.currentTimeMillis());
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, currentAmount, System.currentTimeMillis()));
         when(userPointTable.insertOrUpdate(userId, availableAmount))
                 .thenReturn(expectedUserPoint);
 
         // when
-        UserPoint result = pointService.insertPoint(userId, availableAmount);
+        UserPoint result = pointService.updatePoint(userId, usedAmount);
 
         // then
         assertThat(result.point()).isGreaterThanOrEqualTo(0);
@@ -232,17 +269,21 @@ class PointServiceTest {
         // given
         final long userId = 1L;
         final long usedAmount = 1500L;  // 사용할 포인트
-        final UserPoint expectedUserPoint = new UserPoint(userId, usedAmount, System.currentTimeMillis());
+        final long currentAmount = 5000L;   // 현재 포인트
+        final UserPoint expectedUserPoint = new UserPoint(userId, currentAmount - usedAmount, System.currentTimeMillis());
 
         // mock 동작 정의
-        when(userPointTable.insertOrUpdate(userId, usedAmount))
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, currentAmount, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, currentAmount - usedAmount))
                 .thenReturn(expectedUserPoint);
 
         // when
-        UserPoint result = pointService.insertPoint(userId, usedAmount);
+        UserPoint result = pointService.updatePoint(userId, usedAmount);
 
         // then
-        assertThat(result.point()).isGreaterThanOrEqualTo(1000L);
+        assertThat(usedAmount).isGreaterThanOrEqualTo(1000L);
+        assertThat(result.point()).isEqualTo(currentAmount - usedAmount);
     }
 
     @Test
@@ -250,17 +291,21 @@ class PointServiceTest {
         // given
         final long userId = 1L;
         final long usedAmount = 100000L;    // 사용할 포인트
-        final UserPoint expectedUserPoint = new UserPoint(userId, usedAmount, System.currentTimeMillis());
+        final long currentAmount = 500000L;   // 현재 포인트
+        final UserPoint expectedUserPoint = new UserPoint(userId, currentAmount - usedAmount, System.currentTimeMillis());
 
         // mock 동장 정의
-        when(userPointTable.insertOrUpdate(userId, usedAmount))
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, currentAmount, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, currentAmount - usedAmount))
                 .thenReturn(expectedUserPoint);
 
         // when
-        UserPoint result = pointService.insertPoint(userId, usedAmount);
+        UserPoint result = pointService.updatePoint(userId, usedAmount);
 
         // then
-        assertThat(result.point()).isLessThanOrEqualTo(500000L);
+        assertThat(usedAmount).isLessThanOrEqualTo(500000L);
+        assertThat(result.point()).isEqualTo(currentAmount - usedAmount);
     }
 
     @Test
@@ -273,6 +318,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, availableAmount, System.currentTimeMillis());
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, currentAmount, System.currentTimeMillis()));
         when(userPointTable.insertOrUpdate(userId, availableAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -280,7 +327,7 @@ class PointServiceTest {
         Exception exception = assertThrows(
                 Exception.class,
                 () -> {
-                    UserPoint result = pointService.insertPoint(userId, availableAmount);
+                    UserPoint result = pointService.updatePoint(userId, usedAmount);
                     if (result.point() < 0) {
                         throw new Exception("사용 가능한 포인트가 없습니다.");
                     }
@@ -299,6 +346,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, usedAmount, System.currentTimeMillis());
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, 1000000L, System.currentTimeMillis()));
         when(userPointTable.insertOrUpdate(userId, usedAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -306,7 +355,7 @@ class PointServiceTest {
         Exception exception = assertThrows(
                 Exception.class,
                 () -> {
-                    UserPoint result = pointService.insertPoint(userId, usedAmount);
+                    UserPoint result = pointService.updatePoint(userId, usedAmount);
                     if (result.point() < 0) {
                         throw new Exception("요청한 포인트 금액이 0보다 작습니다.");
                     }
@@ -325,6 +374,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, usedAmount, System.currentTimeMillis());
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, 1000000L, System.currentTimeMillis()));
         when(userPointTable.insertOrUpdate(userId, usedAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -332,7 +383,7 @@ class PointServiceTest {
         Exception exception = assertThrows(
                 Exception.class,
                 () -> {
-                    UserPoint result = pointService.insertPoint(userId, usedAmount);
+                    UserPoint result = pointService.updatePoint(userId, usedAmount);
                     if (result.point() < 1000L) {
                         throw new Exception("포인트는 1,000원 이상 사용 가능합니다.");
                     }
@@ -352,6 +403,8 @@ class PointServiceTest {
         final UserPoint expectedUserPoint = new UserPoint(userId, usedAmount, System.currentTimeMillis());
 
         // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, 1000000L, System.currentTimeMillis()));
         when(userPointTable.insertOrUpdate(userId, usedAmount))
                 .thenReturn(expectedUserPoint);
 
@@ -359,7 +412,7 @@ class PointServiceTest {
         Exception exception = assertThrows(
                 Exception.class,
                 () -> {
-                    UserPoint result = pointService.insertPoint(userId, usedAmount);
+                    UserPoint result = pointService.updatePoint(userId, usedAmount);
                     if (result.point() > 500000L) {
                         throw new Exception("포인트는 5000,000원 이하 사용 가능합니다.");
                     }
@@ -370,6 +423,70 @@ class PointServiceTest {
         assertThat(exception.getMessage()).isEqualTo("포인트는 5000,000원 이하 사용 가능합니다.");
     }
 
+    /**
+     * 특정 유저 포인트 조회
+     */
+    @Test
+    void 충전_직후_조회하면_테이블을_거치지_않고_충전된_잔액을_반환한다() {
+        // given
+        final long userId = 1L;
+        final long requestedAmount = 5000L;
+        when(userPointTable.selectById(userId))
+                .thenReturn(UserPoint.empty(userId));
+        when(userPointTable.insertOrUpdate(userId, requestedAmount))
+                .thenReturn(new UserPoint(userId, requestedAmount, System.currentTimeMillis()));
+        pointService.insertPoint(userId, requestedAmount);
+
+        // when
+        UserPoint result = pointService.selectPoint(userId);
+
+        // then
+        assertThat(result.point()).isEqualTo(requestedAmount);
+        verify(userPointTable, times(1)).selectById(userId);   // 충전 시 1회만 조회
+    }
+
+    @Test
+    void 같은_멱등_키로_다시_충전하면_처음_결과를_돌려주고_다시_충전하지_않는다() {
+        // given
+        final long userId = 1L;
+        final long requestedAmount = 9000L;
+        final UserPoint expectedUserPoint = new UserPoint(userId, requestedAmount, System.currentTimeMillis());
+
+        // mock 동작 정의
+        when(userPointTable.selectById(userId))
+                .thenReturn(UserPoint.empty(userId));
+        when(userPointTable.insertOrUpdate(userId, requestedAmount))
+                .thenReturn(expectedUserPoint);
+
+        // when
+        UserPoint first = pointService.insertPoint(userId, requestedAmount, "charge-1");
+        UserPoint retried = pointService.insertPoint(userId, requestedAmount, "charge-1");
+
+        // then
+        assertThat(retried).isEqualTo(first);
+        assertThat(userPointTableGuard.awaitFlushed(Duration.ofSeconds(5))).isTrue();
+        verify(userPointTable, times(1)).insertOrUpdate(userId, requestedAmount);   // 재시도는 다시 충전하지 않음
+    }
+
+    @Test
+    void 변경_로그_기록에_실패하면_잔액과_내역을_반영하지_않는다() {
+        // given
+        final long userId = 1L;
+        final long requestedAmount = 5000L;
+        PointWal failingWal = mock(PointWal.class);
+        doThrow(new IllegalStateException("디스크 오류")).when(failingWal).commit(anyList());
+        UserPointCombiner combiner = new UserPointCombiner(userPointTableGuard, userLockManager, userPointCache, pointHistoryWriter, failingWal, pointReadCollapser, pointMetrics);
+        when(userPointTable.selectById(userId))
+                .thenReturn(UserPoint.empty(userId));
+
+        // when
+        assertThrows(IllegalStateException.class, () -> combiner.execute(userId, requestedAmount, TransactionType.CHARGE));
+
+        // then
+        verify(userPointTable, never()).insertOrUpdate(userId, requestedAmount);
+        assertThat(pointHistoryWriter.selectAllByUserId(userId).isEmpty()).isTrue();
+    }
+
     /**
      * Exception 테스트
      */
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointShardAuthInterceptorTest {
+
+    private final PointShardAuthInterceptor pointShardAuthInterceptor = new PointShardAuthInterceptor(
+            new PointShardProperties(true, "http://a", List.of(), 160, Duration.ofSeconds(5), "secret"));
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void 비밀값이_없거나_다른_구성_변경과_넘겨주기_요청은_거절한다() {
+        // given
+        MockHttpServletRequest join = new MockHttpServletRequest("POST", "/internal/shard/nodes");
+        MockHttpServletRequest handoff = new MockHttpServletRequest("POST", "/internal/shard/users/1/handoff");
+        handoff.addHeader(PointShardClient.FORWARDED_HEADER, "http://c");
+        handoff.addHeader(PointShardClient.SECRET_HEADER, "guess");
+
+        // when & then
+        assertThatThrownBy(() -> pointShardAuthInterceptor.preHandle(join, response, null))
+                .isInstanceOf(PointShardAuthException.class);
+        assertThatThrownBy(() -> pointShardAuthInterceptor.preHandle(handoff, response, null))
+                .isInstanceOf(PointShardAuthException.class);
+    }
+
+    @Test
+    void 넘겨받은_요청은_비밀값이_같을_때만_처리하고_직접_받은_요청은_확인하지_않는다() throws Exception {
+        // given
+        MockHttpServletRequest forwarded = new MockHttpServletRequest("PATCH", "/point/1/charge");
+        forwarded.addHeader(PointShardClient.FORWARDED_HEADER, "http://c");
+        MockHttpServletRequest authenticated = new MockHttpServletRequest("POST", "/internal/shard/users/1/handoff");
+        authenticated.addHeader(PointShardClient.FORWARDED_HEADER, "http://c");
+        authenticated.addHeader(PointShardClient.SECRET_HEADER, "secret");
+
+        // when & then
+        assertThatThrownBy(() -> pointShardAuthInterceptor.preHandle(forwarded, response, null))
+                .isInstanceOf(PointShardAuthException.class);
+        assertThat(pointShardAuthInterceptor.preHandle(authenticated, response, null)).isTrue();
+        assertThat(pointShardAuthInterceptor.preHandle(new MockHttpServletRequest("PATCH", "/point/1/charge"), response, null)).isTrue();
+    }
+
+    @Test
+    void 샤딩을_쓰는데_비밀값이_비어_있으면_시작하지_않는다() {
+        assertThatThrownBy(() -> new PointShardAuthInterceptor(
+                new PointShardProperties(true, "http://a", List.of(), 160, Duration.ofSeconds(5), "")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
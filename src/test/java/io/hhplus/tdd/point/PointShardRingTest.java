@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointShardRingTest {
+
+    private static final int USER_COUNT = 10_000;
+
+    @Test
+    void 유저는_노드에_고르게_나뉜다() {
+        // given
+        PointShardRing ring = PointShardRing.of(List.of("http://a", "http://b", "http://c"), 160);
+
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        // then : 노드당 1/3 에서 ±20% 이내
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USER_COUNT / 3 * 8 / 10, USER_COUNT / 3 * 12 / 10));
+    }
+
+    @Test
+    void 노드가_추가되면_새_노드로_가는_유저만_담당이_바뀐다() {
+        // given
+        PointShardRing before = PointShardRing.of(List.of("http://a", "http://b", "http://c"), 160);
+
+        // when
+        PointShardRing after = before.with("http://d");
+
+        // then : 바뀐 유저는 모두 새 노드로 가고, 대략 1/4 만 움직인다.
+        int moved = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            if (!before.ownerOf(userId).equals(after.ownerOf(userId))) {
+                assertThat(after.ownerOf(userId)).isEqualTo("http://d");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(USER_COUNT / 4 * 7 / 10, USER_COUNT / 4 * 13 / 10);
+        assertThat(after.without("http://d").ownerOf(42L)).isEqualTo(before.ownerOf(42L));
+    }
+}
@@ -0,0 +1,149 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PointShardServiceTest {
+
+    private static final String SELF = "http://a";
+    private static final String OTHER = "http://c";
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final PointShardRouter pointShardRouter = new PointShardRouter(new PointShardProperties(true, SELF, List.of(), 160, Duration.ofSeconds(5), "secret"));
+    private final PointShardClient pointShardClient = mock(PointShardClient.class);
+    private final PointBalanceEngine pointBalanceEngine = mock(PointBalanceEngine.class);
+    private final FakeUserPointTable userPointTable = new FakeUserPointTable(0L);
+    private final UserPointTableGuard userPointTableGuard = new UserPointTableGuard(userPointTable);
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(mock(PointHistoryTable.class), new PointHistoryIndex(),
+            new PointHistoryProperties(100, 16, Duration.ofSeconds(5)), pointMetrics);
+    private final PointShardService pointShardService = new PointShardService(pointShardRouter, pointShardClient,
+            mock(PointBatchService.class), userPointTableGuard, pointBalanceEngine, pointHistoryWriter, new PointReadCollapser(),
+            new PointWal(PointWalProperties.disabled()), new PointHistoryExporter(new ObjectMapper(), pointHistoryWriter));
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        when(pointBalanceEngine.executeExclusively(anyLong(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        // 노드 c 가 합류하면 c 로 옮겨 가는 유저
+        PointShardRing joined = PointShardRing.of(List.of(SELF, OTHER), 160);
+        userId = 1L;
+        while (!OTHER.equals(joined.ownerOf(userId))) {
+            userId++;
+        }
+        pointHistoryWriter.append(userId, 1000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(userId, 500L, TransactionType.USE, 2L);
+    }
+
+    @Test
+    void 넘겨준_유저는_구성이_바뀌기_전까지_처리하지_않는다() {
+        // given
+        pointShardRouter.join(OTHER);
+        pointShardService.handoff(userId, OTHER);
+
+        // when & then
+        assertThat(pointShardRouter.isFenced(userId)).isTrue();
+        assertThatThrownBy(() -> pointShardService.adoptIfNeeded(userId))
+                .isInstanceOf(PointShardException.class);
+    }
+
+    @Test
+    void 넘겨줄_때_잔액과_내역을_저장된_값에서_바로_읽는다() {
+        // given
+        pointShardRouter.join(OTHER);
+        userPointTableGuard.insertOrUpdate(userId, 500L);
+
+        // when
+        PointHandoff handoff = pointShardService.handoff(userId, OTHER);
+
+        // then
+        assertThat(handoff.userPoint().point()).isEqualTo(500L);
+        assertThat(handoff.histories())
+                .extracting(PointHistory::amount, PointHistory::type)
+                .containsExactly(tuple(1000L, TransactionType.CHARGE), tuple(500L, TransactionType.USE));
+    }
+
+    @Test
+    void 현재_구성의_담당_노드가_아니면_넘겨주지_않는다() {
+        // when & then : 이 노드 구성에 c 가 없거나, 요청한 노드를 알 수 없음
+        assertThatThrownBy(() -> pointShardService.handoff(userId, OTHER))
+                .isInstanceOf(PointShardException.class);
+        assertThatThrownBy(() -> pointShardService.handoff(userId, null))
+                .isInstanceOf(PointShardException.class);
+        assertThatThrownBy(() -> pointShardService.handoff(userId, "http://unknown"))
+                .isInstanceOf(PointShardException.class);
+        assertThat(pointShardRouter.isFenced(userId)).isFalse();
+    }
+
+    @Test
+    void 다른_유저의_값을_넘겨받으면_거절한다() {
+        // given : a -> c 로 넘겼다가, c 가 빠지며 다시 a 가 담당
+        pointShardRouter.join(OTHER);
+        pointShardService.handoff(userId, OTHER);
+        pointShardRouter.leave(OTHER);
+        when(pointShardClient.handoff(OTHER, SELF, userId)).thenReturn(new PointHandoff(new UserPoint(userId + 1, 900_000L, 3L), List.of()));
+
+        // when & then
+        assertThatThrownBy(() -> pointShardService.adoptIfNeeded(userId))
+                .isInstanceOf(PointShardException.class);
+        assertThat(userPointTable.selectById(userId).point()).isZero();
+    }
+
+    @Test
+    void 구성에서_빠진_이전_담당_노드가_응답하지_않으면_넘겨받지_않고_거절한다() {
+        // given : a -> c 로 넘겼다가, c 가 응답 없이 빠짐
+        pointShardRouter.join(OTHER);
+        pointShardService.handoff(userId, OTHER);
+        pointShardRouter.leave(OTHER);
+        when(pointShardClient.handoff(OTHER, SELF, userId)).thenThrow(new PointShardException("응답 없음"));
+
+        // when & then : 이 노드의 값으로 이어서 처리하지 않고, c 가 응답하면 다시 넘겨받는다
+        assertThatThrownBy(() -> pointShardService.adoptIfNeeded(userId))
+                .isInstanceOf(PointShardException.class);
+        assertThat(pointShardRouter.previousOwnerToAdopt(userId)).isEqualTo(OTHER);
+        assertThat(userPointTableGuard.pendingCount()).isZero();
+    }
+
+    @Test
+    void 넘겨준_유저를_되찾을_때_이미_있는_내역은_다시_넣지_않는다() {
+        // given : a -> c 로 넘겼다가, c 가 빠지며 다시 a 가 담당
+        pointShardRouter.join(OTHER);
+        pointShardService.handoff(userId, OTHER);
+        pointShardRouter.leave(OTHER);
+        when(pointShardClient.handoff(OTHER, SELF, userId)).thenReturn(new PointHandoff(new UserPoint(userId, 1500L, 3L), List.of(
+                new PointHistory(10L, userId, 1000L, TransactionType.CHARGE, 1L),
+                new PointHistory(11L, userId, 500L, TransactionType.USE, 2L),
+                new PointHistory(12L, userId, 1000L, TransactionType.CHARGE, 3L))));
+
+        // when
+        pointShardService.adoptIfNeeded(userId);
+
+        // then : c 에서 새로 생긴 내역만 더해진다.
+        assertThat(pointHistoryWriter.selectAllByUserId(userId))
+                .extracting(PointHistory::amount, PointHistory::type)
+                .containsExactly(tuple(1000L, TransactionType.CHARGE), tuple(500L, TransactionType.USE), tuple(1000L, TransactionType.CHARGE));
+        assertThat(userPointTableGuard.awaitFlushed(Duration.ofSeconds(5))).isTrue();
+        assertThat(userPointTable.selectById(userId).point()).isEqualTo(1500L);
+        assertThat(pointShardRouter.isFenced(userId)).isFalse();
+        assertThat(pointShardRouter.previousOwnerToAdopt(userId)).isNull();
+    }
+}
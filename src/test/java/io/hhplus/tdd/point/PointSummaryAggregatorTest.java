@@ -0,0 +1,120 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.PointWalRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointSummaryAggregatorTest {
+
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(new FakePointHistoryTable(), pointHistoryIndex,
+            new PointHistoryProperties(100, 16, Duration.ofSeconds(5)), new PointMetrics(new SimpleMeterRegistry()));
+    private final PointSummaryAggregator pointSummaryAggregator = new PointSummaryAggregator(pointHistoryWriter);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 내역이_추가될_때마다_유저별_누적_집계가_갱신된다() {
+        // given
+        final long userId = 1L;
+
+        // when
+        pointHistoryWriter.append(userId, 5000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(userId, 3000L, TransactionType.CHARGE, 2L);
+        pointHistoryWriter.append(userId, 1000L, TransactionType.USE, 3L);
+        pointHistoryWriter.append(2L, 700L, TransactionType.CHARGE, 4L);
+
+        // then
+        assertThat(pointSummaryAggregator.select(userId)).isEqualTo(new PointSummary(userId, 8000L, 2L, 1000L, 1L));
+        assertThat(pointSummaryAggregator.select(2L)).isEqualTo(new PointSummary(2L, 700L, 1L, 0L, 0L));
+        assertThat(pointSummaryAggregator.select(3L)).isEqualTo(PointSummary.empty(3L));
+    }
+
+    @Test
+    void 리스너를_거치지_않은_내역으로_누적_집계를_다시_만든다() {
+        // given : 리스너를 거치지 않고 저장소에만 쌓인 내역
+        final List<Long> userIds = LongStream.rangeClosed(1, 300).boxed().toList();
+        long id = 1;
+        for (long userId : userIds) {
+            pointHistoryIndex.append(new PointHistory(id++, userId, userId * 10, TransactionType.CHARGE, 1L));
+            pointHistoryIndex.append(new PointHistory(id++, userId, userId, TransactionType.USE, 2L));
+        }
+
+        // when
+        pointSummaryAggregator.rebuild(userIds);
+
+        // then
+        for (long userId : userIds) {
+            assertThat(pointSummaryAggregator.select(userId))
+                    .isEqualTo(new PointSummary(userId, userId * 10, 1L, userId, 1L));
+        }
+    }
+
+    @Test
+    void 다시_만들어도_리스너로_더한_내역을_두_번_더하지_않는다() {
+        // given
+        final long userId = 1L;
+        pointHistoryWriter.append(userId, 5000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(userId, 1000L, TransactionType.USE, 2L);
+
+        // when
+        pointSummaryAggregator.rebuild(List.of(userId));
+        pointHistoryWriter.append(userId, 2000L, TransactionType.CHARGE, 3L);
+
+        // then
+        assertThat(pointSummaryAggregator.select(userId)).isEqualTo(new PointSummary(userId, 7000L, 2L, 1000L, 1L));
+    }
+
+    @Test
+    void 시작_시_복구한_유저의_집계를_만든다() {
+        // given
+        pointHistoryWriter.restore(List.of(
+                new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 1L),
+                new PointHistory(2L, 2L, 3000L, TransactionType.CHARGE, 2L),
+                new PointHistory(3L, 1L, 1000L, TransactionType.USE, 3L)), 4L);
+
+        // when
+        pointSummaryAggregator.start();
+
+        // then
+        assertThat(pointSummaryAggregator.select(1L)).isEqualTo(new PointSummary(1L, 5000L, 1L, 1000L, 1L));
+        assertThat(pointSummaryAggregator.select(2L)).isEqualTo(new PointSummary(2L, 3000L, 1L, 0L, 0L));
+    }
+
+    @Test
+    void 스냅샷_이전_내역도_재시작_후_집계에_포함된다() {
+        // given : 스냅샷 전후로 나눠 기록하고 다시 시작
+        PointWalProperties properties = new PointWalProperties(true, directory.toString(), Duration.ZERO, Duration.ofHours(1));
+        PointWal pointWal = new PointWal(properties);
+        pointWal.recover();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 5000L, 1L)),
+                PointWalRecord.history(new PointHistory(1L, 1L, 5000L, TransactionType.CHARGE, 1L))));
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(2L, 3000L, 2L)),
+                PointWalRecord.history(new PointHistory(2L, 2L, 3000L, TransactionType.CHARGE, 2L))));
+        pointWal.snapshot();
+        pointWal.commit(List.of(PointWalRecord.balance(new UserPoint(1L, 4000L, 3L)),
+                PointWalRecord.history(new PointHistory(3L, 1L, 1000L, TransactionType.USE, 3L))));
+        pointWal.close();
+        PointWal.Recovery recovery = new PointWal(properties).recover();
+
+        // when
+        pointHistoryWriter.restore(recovery.histories(), recovery.nextHistoryId());
+        pointSummaryAggregator.start();
+
+        // then
+        assertThat(pointSummaryAggregator.select(1L)).isEqualTo(new PointSummary(1L, 5000L, 1L, 1000L, 1L));
+        assertThat(pointSummaryAggregator.select(2L)).isEqualTo(new PointSummary(2L, 3000L, 1L, 0L, 0L));
+    }
+}
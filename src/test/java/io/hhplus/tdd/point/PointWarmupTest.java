@@ -0,0 +1,122 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWal;
+import io.hhplus.tdd.database.PointWalProperties;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PointWarmupTest {
+
+    private final PointService pointService = mock(PointService.class);
+    private final PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(mock(PointHistoryTable.class), new PointHistoryIndex(),
+            new PointHistoryProperties(10000, 256, Duration.ofSeconds(5)), new PointMetrics(new SimpleMeterRegistry()));
+    private final PointRollup pointRollup = new PointRollup(pointHistoryWriter);
+    private final AtomicInteger submittedTasks = new AtomicInteger();
+    private final AtomicInteger startedTasks = new AtomicInteger();
+    // 넘겨받은 작업 수와 시작한 작업 수를 세는 pointTaskExecutor, 작업마다 조금 늦게 시작해 대기열에 남게 한다.
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+        @Override
+        public void execute(Runnable command) {
+            submittedTasks.incrementAndGet();
+            super.execute(command);
+        }
+
+        @Override
+        protected void beforeExecute(Thread thread, Runnable task) {
+            try {
+                Thread.sleep(1L);
+            } catch (InterruptedException e) {
+                thread.interrupt();
+            }
+            startedTasks.incrementAndGet();
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 워밍업이_끝나면_readiness_가_UP_이_되고_최근_거래_유저를_미리_읽는다() {
+        // given : 최근 거래한 유저 2명
+        long now = System.currentTimeMillis();
+        pointHistoryWriter.append(1L, 5000L, TransactionType.CHARGE, now);
+        pointHistoryWriter.append(2L, 5000L, TransactionType.CHARGE, now);
+        PointWarmup pointWarmup = new PointWarmup(new PointWarmupProperties(true, 2, 3, 100, Duration.ofHours(1), Duration.ofSeconds(10)),
+                pointService, pointRollup, mock(UserPointCombiner.class), executor);
+
+        // when
+        pointWarmup.run();
+
+        // then : 미리 읽은 유저 2명, 워밍업 거래는 운영 PointService 와 내역에 남지 않는다.
+        assertThat(pointWarmup.health().getStatus()).isEqualTo(Status.UP);
+        verify(pointService).selectPoint(1L);
+        verify(pointService).selectPoint(2L);
+        verify(pointService, never()).insertPoint(anyLong(), anyLong());
+        verify(pointService, never()).updatePoint(anyLong(), anyLong());
+        assertThat(pointHistoryWriter.selectAllByUserId(-1L)).isEmpty();
+        assertThat(pointRollup.recentUsers(Duration.ofHours(1), 100)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void 워밍업이_budget_안에_끝나지_않으면_실행_중인_호출이_끝난_뒤_OUT_OF_SERVICE_로_둔다() {
+        // given : 최근 거래한 유저의 잔액 조회가 느린 경우
+        pointHistoryWriter.append(1L, 5000L, TransactionType.CHARGE, System.currentTimeMillis());
+        AtomicBoolean finished = new AtomicBoolean();
+        when(pointService.selectPoint(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(500L);
+            finished.set(true);
+            return UserPoint.empty(invocation.getArgument(0));
+        });
+        PointWarmup pointWarmup = new PointWarmup(new PointWarmupProperties(true, 1, 1000, 100, Duration.ofHours(1), Duration.ofMillis(100)),
+                pointService, pointRollup, mock(UserPointCombiner.class), executor);
+
+        // when
+        pointWarmup.run();
+
+        // then : 결과를 반영할 때는 이미 모든 작업이 멈춰 있다.
+        assertThat(pointWarmup.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(pointWarmup.health().getDetails()).containsEntry("state", "TIMED_OUT");
+        assertThat(finished).isTrue();
+    }
+
+    @Test
+    void CAS_엔진이면_워밍업_엔진의_테이블_저장이_끝난_뒤_UP_이_된다() {
+        // given : 운영 잔액 엔진이 AtomicBalanceEngine 인 경우
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        AtomicBalanceEngine atomicBalanceEngine = new AtomicBalanceEngine(new UserPointTableGuard(new UserPointTable()), pointHistoryWriter,
+                new PointWal(PointWalProperties.disabled()), new PointReadCollapser(), pointMetrics, executor);
+        PointWarmup pointWarmup = new PointWarmup(new PointWarmupProperties(true, 4, 50, 100, Duration.ofHours(1), Duration.ofSeconds(30)),
+                pointService, pointRollup, atomicBalanceEngine, executor);
+
+        // when
+        pointWarmup.run();
+
+        // then : UP 이 될 때는 워밍업 엔진이 넘긴 저장 작업이 모두 시작해 끝났고, 운영 엔진과 내역에는 남지 않는다.
+        assertThat(pointWarmup.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(startedTasks.get()).isEqualTo(submittedTasks.get());
+        assertThat(atomicBalanceEngine.pendingCount()).isZero();
+        assertThat(atomicBalanceEngine.select(-1L)).isNull();
+        assertThat(pointHistoryWriter.selectAllByUserId(-1L)).isEmpty();
+    }
+}
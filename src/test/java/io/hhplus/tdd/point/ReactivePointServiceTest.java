@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactivePointServiceTest {
+
+    private final PointService pointService = mock(PointService.class);
+    private final Scheduler pointScheduler = Schedulers.newBoundedElastic(4, 100, "point-reactive");
+    private final ReactivePointService reactivePointService = new ReactivePointService(pointService, pointScheduler);
+
+    @AfterEach
+    void tearDown() {
+        pointScheduler.dispose();
+    }
+
+    @Test
+    void 테이블_호출은_요청_스레드가_아닌_스케줄러에서_실행된다() {
+        // given
+        final long userId = 1L;
+        AtomicReference<String> calledOn = new AtomicReference<>();
+        when(pointService.selectPoint(userId)).thenAnswer(invocation -> {
+            calledOn.set(Thread.currentThread().getName());
+            return new UserPoint(userId, 5000L, 1L);
+        });
+
+        // when & then
+        StepVerifier.create(reactivePointService.selectPoint(userId))
+                .expectNext(new UserPoint(userId, 5000L, 1L))
+                .verifyComplete();
+        assertThat(calledOn.get()).startsWith("point-reactive");
+    }
+
+    @Test
+    void 내역은_페이지를_이어_읽어_순서대로_흘려보낸다() {
+        // given : 300건, 첫 페이지 256건
+        final long userId = 1L;
+        List<PointHistory> histories = LongStream.rangeClosed(1, 300)
+                .mapToObj(id -> new PointHistory(id, userId, 1000L, TransactionType.CHARGE, id))
+                .toList();
+        when(pointService.selectPointHistory(eq(userId), any(PointHistoryQuery.class))).thenAnswer(invocation -> {
+            PointHistoryQuery query = invocation.getArgument(1);
+            List<PointHistory> page = histories.stream()
+                    .filter(history -> history.id() > query.cursor())
+                    .limit(query.limit())
+                    .toList();
+            Long nextCursor = page.get(page.size() - 1).id() < 300 ? page.get(page.size() - 1).id() : null;
+            return new PointHistoryPage(page, nextCursor);
+        });
+
+        // when & then
+        StepVerifier.create(reactivePointService.selectPointHistory(userId, null))
+                .expectNextSequence(histories)
+                .verifyComplete();
+    }
+
+    @Test
+    void 구독자가_요청한_만큼만_다음_페이지를_읽는다() {
+        // given : 256건씩 8페이지
+        final long userId = 1L;
+        AtomicInteger fetched = new AtomicInteger();
+        when(pointService.selectPointHistory(eq(userId), any(PointHistoryQuery.class))).thenAnswer(invocation -> {
+            fetched.incrementAndGet();
+            PointHistoryQuery query = invocation.getArgument(1);
+            List<PointHistory> page = LongStream.rangeClosed(query.cursor() + 1, query.cursor() + query.limit())
+                    .mapToObj(id -> new PointHistory(id, userId, 1000L, TransactionType.CHARGE, id))
+                    .toList();
+            return new PointHistoryPage(page, query.cursor() + query.limit() < 2048 ? query.cursor() + query.limit() : null);
+        });
+
+        // when & then : 받은 페이지보다 한 페이지 넘게 미리 읽지 않는다.
+        StepVerifier.create(reactivePointService.selectPointHistory(userId, null), 1)
+                .expectNextCount(1)
+                .thenRequest(256)
+                .expectNextCount(256)
+                .then(() -> sleep(200))
+                .thenCancel()
+                .verify();
+        pointScheduler.dispose();
+        assertThat(fetched.get()).isLessThanOrEqualTo(3);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void 정책_위반은_에러_신호로_전달된다() {
+        // given
+        when(pointService.updatePoint(1L, 1000L, null)).thenThrow(new PointException(PointErrorCode.INSUFFICIENT_BALANCE));
+
+        // when & then
+        StepVerifier.create(reactivePointService.updatePoint(1L, 1000L, null))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(PointException.class)
+                        .extracting("errorCode")
+                        .isEqualTo(PointErrorCode.INSUFFICIENT_BALANCE))
+                .verify();
+    }
+}
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    void 처리_중인_조회에_합류하면_같은_결과를_받는다() throws Exception {
+        // given
+        AtomicInteger loaded = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            return loaded.incrementAndGet();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<Integer> joined = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, loaded::incrementAndGet));
+        Thread.sleep(50);
+        release.countDown();
+
+        // then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(joined.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(loaded.get()).isEqualTo(1);
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    void 무효화_이후의_조회는_처리_중인_조회에_합류하지_않는다() throws Exception {
+        // given
+        AtomicInteger loaded = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            return loaded.incrementAndGet();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when : 쓰기 후 무효화
+        singleFlight.invalidate(1L);
+        Integer afterWrite = singleFlight.execute(1L, () -> 100 + loaded.incrementAndGet());
+        release.countDown();
+
+        // then
+        assertThat(afterWrite).isEqualTo(101);
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    void 조회가_실패하면_합류한_조회도_같은_예외를_받고_다음_조회는_새로_실행한다() {
+        // given
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> {
+            throw new IllegalStateException("테이블 오류");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // when
+        Integer result = singleFlight.execute(1L, () -> 7);
+
+        // then
+        assertThat(result).isEqualTo(7);
+    }
+
+    @Test
+    void 조회가_Error_로_끝나도_합류한_조회는_같은_Error_를_받는다() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new OutOfMemoryError("테스트");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<Integer> joined = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> 7));
+        Thread.sleep(50);
+        release.countDown();
+
+        // then
+        assertThatThrownBy(() -> joined.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
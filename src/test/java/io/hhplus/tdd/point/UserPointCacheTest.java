@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPointCacheTest {
+
+    @Test
+    void 저장한_포인트는_캐시에서_조회된다() {
+        // given
+        UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(100, Duration.ofMinutes(1)));
+        UserPoint userPoint = new UserPoint(1L, 5000L, System.currentTimeMillis());
+
+        // when
+        userPointCache.put(userPoint);
+
+        // then
+        assertThat(userPointCache.getIfPresent(1L)).isEqualTo(userPoint);
+        assertThat(userPointCache.getIfPresent(2L)).isNull();
+        assertThat(userPointCache.stats().hits()).isEqualTo(1L);
+        assertThat(userPointCache.stats().misses()).isEqualTo(1L);
+    }
+
+    @Test
+    void 최대_건수를_넘으면_가장_오래_사용하지_않은_유저부터_제거된다() {
+        // given : 세그먼트당 1건
+        UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(16, Duration.ofMinutes(1)));
+        userPointCache.put(new UserPoint(1L, 1000L, 0L));
+
+        // when : 같은 세그먼트에 들어가는 유저
+        userPointCache.put(new UserPoint(17L, 2000L, 0L));
+
+        // then
+        assertThat(userPointCache.getIfPresent(1L)).isNull();
+        assertThat(userPointCache.getIfPresent(17L).point()).isEqualTo(2000L);
+        assertThat(userPointCache.stats().evictions()).isEqualTo(1L);
+    }
+
+    @Test
+    void 만료_시간이_지나면_캐시에서_조회되지_않는다() throws InterruptedException {
+        // given
+        UserPointCache userPointCache = new UserPointCache(new UserPointCacheProperties(100, Duration.ofMillis(10)));
+        userPointCache.put(new UserPoint(1L, 1000L, 0L));
+
+        // when
+        Thread.sleep(50L);
+
+        // then
+        assertThat(userPointCache.getIfPresent(1L)).isNull();
+        assertThat(userPointCache.stats().evictions()).isEqualTo(1L);
+    }
+}